@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.BufferChangedEvent;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+
+/**
+ * Caches the resolved ASTs of the most recently used open documents, so
+ * switching between documents, e.g. hovering or highlighting in a document
+ * after editing another one, doesn't parse and resolve them again.
+ * {@link CoreASTProvider} only keeps the AST of the active document.
+ *
+ * An AST is keyed by the version of its document, bumped whenever its buffer
+ * changes, and is discarded when the Java model changes in a way which may
+ * change its bindings, i.e. unless only the bodies of the methods change. The
+ * cache is bounded both in number of ASTs and in estimated heap size, the least
+ * recently used ASTs being evicted first, and the ASTs are softly referenced so
+ * the garbage collector reclaims them under memory pressure.
+ */
+public final class ASTCache implements IElementChangedListener, IBufferChangedListener {
+
+	/**
+	 * The maximum number of ASTs, set by the
+	 * <code>java.lsp.ast.cacheSize</code> system property.
+	 */
+	private static final int MAX_ENTRIES = Integer.getInteger("java.lsp.ast.cacheSize", 8);
+
+	/**
+	 * The maximum estimated size of the ASTs, in megabytes, set by the
+	 * <code>java.lsp.ast.cacheMemory</code> system property. An eighth of the
+	 * maximum heap size by default.
+	 */
+	private static final long MAX_SIZE = Long.getLong("java.lsp.ast.cacheMemory", Runtime.getRuntime().maxMemory() / 8 / 1024 / 1024) * 1024 * 1024;
+
+	/**
+	 * The rough size of a resolved AST, its nodes and bindings, per character of
+	 * source.
+	 */
+	private static final int BYTES_PER_CHARACTER = 64;
+
+	private static volatile ASTCache instance;
+
+	private final int maxEntries;
+	private final long maxSize;
+	// guarded by this, keyed by the working copies, which are equal only when they have the same owner
+	private final LinkedHashMap<ICompilationUnit, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<ICompilationUnit, Document> documents = new HashMap<>();
+	private long generation;
+	private long size;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long collections;
+	private long invalidations;
+
+	private ASTCache(int maxEntries, long maxSize) {
+		this.maxEntries = maxEntries;
+		this.maxSize = maxSize;
+	}
+
+	private static ASTCache getInstance() {
+		ASTCache cache = instance;
+		if (cache == null) {
+			synchronized (ASTCache.class) {
+				cache = instance;
+				if (cache == null) {
+					cache = new ASTCache(MAX_ENTRIES, MAX_SIZE);
+					JavaCore.addElementChangedListener(cache, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+					instance = cache;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns the resolved AST of the given type root, from the cache if the
+	 * type root is an open document which didn't change since its AST was
+	 * created.
+	 *
+	 * @param typeRoot
+	 *            the type root
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the AST, or <code>null</code>
+	 */
+	public static CompilationUnit getAST(ITypeRoot typeRoot, IProgressMonitor monitor) {
+		if (!(typeRoot instanceof ICompilationUnit unit) || !unit.isWorkingCopy() || MAX_ENTRIES <= 0) {
+			return createAST(typeRoot, monitor);
+		}
+		return getInstance().get(unit, monitor);
+	}
+
+	/**
+	 * Returns the statistics of the AST cache.
+	 */
+	public static CacheStatistics getStatistics() {
+		ASTCache cache = instance;
+		if (cache == null) {
+			return new CacheStatistics(0, 0, 0, 0, 0, 0, 0);
+		}
+		synchronized (cache) {
+			return new CacheStatistics(cache.entries.size(), cache.size, cache.hits, cache.misses, cache.evictions, cache.collections, cache.invalidations);
+		}
+	}
+
+	private CompilationUnit get(ICompilationUnit unit, IProgressMonitor monitor) {
+		long version;
+		long expectedGeneration;
+		Document document;
+		synchronized (this) {
+			document = documents.get(unit);
+			if (document != null) {
+				Entry entry = entries.get(unit);
+				if (entry != null && entry.version == document.version && entry.generation == generation) {
+					CompilationUnit root = entry.ast.get();
+					if (root != null) {
+						hits++;
+						return root;
+					}
+					remove(unit);
+					collections++;
+				}
+			}
+			misses++;
+			expectedGeneration = generation;
+		}
+		if (document == null) {
+			IBuffer buffer;
+			try {
+				buffer = unit.getBuffer();
+			} catch (JavaModelException e) {
+				return createAST(unit, monitor);
+			}
+			if (buffer == null) {
+				return createAST(unit, monitor);
+			}
+			// the buffer is listened to before the AST is created, so a concurrent change isn't missed
+			buffer.addBufferChangedListener(this);
+			synchronized (this) {
+				document = documents.computeIfAbsent(unit, k -> new Document(buffer));
+			}
+		}
+		synchronized (this) {
+			version = document.version;
+		}
+		CompilationUnit root = createAST(unit, monitor);
+		if (root != null && (monitor == null || !monitor.isCanceled())) {
+			put(unit, document, version, expectedGeneration, root);
+		}
+		return root;
+	}
+
+	/**
+	 * Gets the AST from {@link CoreASTProvider}. After getting the AST, it will
+	 * check if the buffer size is equal to the AST's length. If it's not -
+	 * indicating that the AST is out-of-date. The AST will be disposed and
+	 * request CoreASTProvider to get a new one.
+	 *
+	 * <p>
+	 * Such inconsistency will happen when a thread is calling getAST(), at the
+	 * meantime, the document has been changed. Though the disposeAST() will be
+	 * called when document change event comes, there is a chance when
+	 * disposeAST() finishes before getAST(). In that case, an out-of-date AST
+	 * will be cached and be used by other threads.
+	 * </p>
+	 */
+	private static CompilationUnit createAST(ITypeRoot typeRoot, IProgressMonitor monitor) {
+		CompilationUnit root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
+		if (root == null) {
+			return null;
+		}
+		IJavaElement element = root.getJavaElement();
+		if (element instanceof ICompilationUnit cu) {
+			try {
+				if (cu.getBuffer().getLength() != root.getLength()) {
+					CoreASTProvider.getInstance().disposeAST();
+					root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.log(e);
+			}
+		}
+		return root;
+	}
+
+	private synchronized void put(ICompilationUnit unit, Document document, long version, long expectedGeneration, CompilationUnit root) {
+		// the document changed or was closed, or the bindings may have changed, while the AST was created
+		if (documents.get(unit) != document || document.version != version || generation != expectedGeneration) {
+			return;
+		}
+		Entry entry = new Entry(new SoftReference<>(root), version, expectedGeneration, (long) BYTES_PER_CHARACTER * root.getLength());
+		Entry previous = entries.put(unit, entry);
+		if (previous != null) {
+			size -= previous.size;
+		}
+		size += entry.size;
+		Iterator<Entry> iterator = entries.values().iterator();
+		// keep the latest AST, even when too large
+		while (entries.size() > 1 && (entries.size() > maxEntries || size > maxSize) && iterator.hasNext()) {
+			size -= iterator.next().size;
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	private void remove(ICompilationUnit unit) {
+		Entry entry = entries.remove(unit);
+		if (entry != null) {
+			size -= entry.size;
+		}
+	}
+
+	@Override
+	public void bufferChanged(BufferChangedEvent event) {
+		IBuffer buffer = event.getBuffer();
+		IOpenable owner = buffer.getOwner();
+		if (!(owner instanceof ICompilationUnit unit)) {
+			return;
+		}
+		boolean closed = buffer.isClosed();
+		synchronized (this) {
+			Document document = documents.get(unit);
+			if (document == null || document.buffer != buffer) {
+				return;
+			}
+			document.version++;
+			remove(unit);
+			if (closed) {
+				documents.remove(unit);
+			}
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (entries.isEmpty()) {
+				return;
+			}
+		}
+		if (affectsBindings(event.getDelta())) {
+			synchronized (this) {
+				generation++;
+				invalidations += entries.size();
+				entries.clear();
+				size = 0;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given delta may change the bindings of the other
+	 * compilation units, i.e. unless it only changes the content of compilation
+	 * units without changing their structure, e.g. the bodies of methods, or the
+	 * underlying resources of the open documents.
+	 */
+	private static boolean affectsBindings(IJavaElementDelta delta) {
+		int flags = delta.getFlags();
+		switch (delta.getElement().getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & ~IJavaElementDelta.F_CHILDREN) != 0) {
+					return true;
+				}
+				return affectsBindings(delta.getAffectedChildren());
+			case IJavaElement.COMPILATION_UNIT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & ~(IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0) {
+					return true;
+				}
+				// the open documents are resolved from their buffers, not from their resources
+				if ((flags & IJavaElementDelta.F_PRIMARY_RESOURCE) != 0 && !((ICompilationUnit) delta.getElement()).isWorkingCopy()) {
+					return true;
+				}
+				// the structural changes are the affected children of a fine grained delta
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & (IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_PRIMARY_RESOURCE)) == 0) {
+					return true;
+				}
+				return affectsBindings(delta.getAffectedChildren());
+			case IJavaElement.TYPE:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || flags != IJavaElementDelta.F_CHILDREN) {
+					return true;
+				}
+				return affectsBindings(delta.getAffectedChildren());
+			default:
+				return true;
+		}
+	}
+
+	private static boolean affectsBindings(IJavaElementDelta[] deltas) {
+		for (IJavaElementDelta delta : deltas) {
+			if (affectsBindings(delta)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class Document {
+		private final IBuffer buffer;
+		// guarded by the cache
+		private long version;
+
+		private Document(IBuffer buffer) {
+			this.buffer = buffer;
+		}
+	}
+
+	private record Entry(SoftReference<CompilationUnit> ast, long version, long generation, long size) {
+	}
+
+	/**
+	 * Point in time statistics of the AST cache.
+	 */
+	public record CacheStatistics(int entries, long size, long hits, long misses, long evictions, long collections, long invalidations) {
+	}
+}
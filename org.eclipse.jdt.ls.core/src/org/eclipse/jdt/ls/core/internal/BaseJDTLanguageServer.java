@@ -21,6 +21,7 @@ import java.util.function.Function;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.RequestScheduler.Lane;
 import org.eclipse.lsp4j.Registration;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.Unregistration;
@@ -36,6 +37,7 @@ public class BaseJDTLanguageServer {
 	protected JavaClientConnection client;
 	protected boolean shutdownReceived = false;
 	private Set<String> registeredCapabilities = new HashSet<>(3);
+	protected final RequestScheduler requestScheduler = new RequestScheduler();
 
 	public void connectClient(JavaLanguageClient client) {
 		this.client = new JavaClientConnection(client);
@@ -45,6 +47,10 @@ public class BaseJDTLanguageServer {
 		return client;
 	}
 
+	public RequestScheduler getRequestScheduler() {
+		return requestScheduler;
+	}
+
 	public LanguageServerWorkingCopyOwner getWorkingCopyOwner() {
 		return null;
 	}
@@ -84,7 +90,11 @@ public class BaseJDTLanguageServer {
 	}
 
 	protected <R> CompletableFuture<R> computeAsync(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync(cc -> code.apply(toMonitor(cc)));
+		return computeAsync(Lane.INTERACTIVE, code);
+	}
+
+	protected <R> CompletableFuture<R> computeAsync(Lane lane, Function<IProgressMonitor, R> code) {
+		return CompletableFutures.computeAsync(requestScheduler.getExecutor(lane), cc -> code.apply(toMonitor(cc)));
 	}
 
 	protected IProgressMonitor toMonitor(CancelChecker checker) {
@@ -21,10 +21,12 @@ import java.net.StandardProtocolFamily;
 import java.net.UnixDomainSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -40,6 +42,10 @@ import org.eclipse.core.runtime.Platform;
  */
 public class ConnectionStreamFactory {
 
+	public static final String PIPE_BUFFER_SIZE_PROPERTY = "java.lsp.pipe.bufferSize";
+	private static final int DEFAULT_PIPE_BUFFER_SIZE = 64 * 1024;
+	private static final int MIN_PIPE_BUFFER_SIZE = 1024;
+
 	protected interface StreamProvider {
 		InputStream getInputStream() throws IOException;
 
@@ -145,41 +151,106 @@ public class ConnectionStreamFactory {
 
 	}
 
+	/**
+	 * Returns the size of the buffers used by the named pipe streams, which can
+	 * be configured through the <code>java.lsp.pipe.bufferSize</code> system
+	 * property.
+	 */
+	static int getPipeBufferSize() {
+		Integer size = Integer.getInteger(PIPE_BUFFER_SIZE_PROPERTY);
+		return size == null || size < MIN_PIPE_BUFFER_SIZE ? DEFAULT_PIPE_BUFFER_SIZE : size;
+	}
+
+	private static ByteBuffer allocatePipeBuffer(int bufferSize) {
+		return ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_PIPE_BUFFER_SIZE));
+	}
+
 	public class NamedPipeInputStream extends InputStream {
 
 		private ReadableByteChannel unixChannel;
 		private AsynchronousFileChannel winChannel;
-		private ByteBuffer buffer = ByteBuffer.allocate(1024);
-		private int readyBytes = 0;
+		private final ByteBuffer buffer;
 
 		public NamedPipeInputStream(ReadableByteChannel channel) {
+			this(channel, getPipeBufferSize());
+		}
+
+		public NamedPipeInputStream(ReadableByteChannel channel, int bufferSize) {
 			this.unixChannel = channel;
+			this.buffer = allocatePipeBuffer(bufferSize);
+			// nothing to read yet
+			this.buffer.flip();
 		}
 
 		public NamedPipeInputStream(AsynchronousFileChannel channel) {
+			this(channel, getPipeBufferSize());
+		}
+
+		public NamedPipeInputStream(AsynchronousFileChannel channel, int bufferSize) {
 			this.winChannel = channel;
+			this.buffer = allocatePipeBuffer(bufferSize);
+			// nothing to read yet
+			this.buffer.flip();
 		}
 
 		@Override
 		public int read() throws IOException {
-			if (buffer.position() < readyBytes) {
-				return buffer.get() & 0xFF;
+			if (!buffer.hasRemaining() && fill() == -1) {
+				return -1; // EOF
 			}
-			try {
-				buffer.clear();
-				if (winChannel != null) {
-					readyBytes = winChannel.read(buffer, 0).get();
-				} else {
-					readyBytes = unixChannel.read(buffer);
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				if (len >= buffer.capacity()) {
+					// large reads bypass the buffer
+					return readFromChannel(ByteBuffer.wrap(b, off, len));
 				}
-				if (readyBytes == -1) {
+				if (fill() == -1) {
 					return -1; // EOF
 				}
+			}
+			int count = Math.min(len, buffer.remaining());
+			buffer.get(b, off, count);
+			return count;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return buffer.remaining();
+		}
+
+		private int fill() throws IOException {
+			buffer.clear();
+			int readyBytes;
+			try {
+				readyBytes = readFromChannel(buffer);
+			} finally {
 				buffer.flip();
-				return buffer.get() & 0xFF;
-			} catch (InterruptedException | ExecutionException e) {
-				throw new IOException(e);
 			}
+			return readyBytes;
+		}
+
+		private int readFromChannel(ByteBuffer target) throws IOException {
+			int readyBytes;
+			do {
+				if (winChannel != null) {
+					try {
+						readyBytes = winChannel.read(target, 0).get();
+					} catch (InterruptedException | ExecutionException e) {
+						throw new IOException(e);
+					}
+				} else {
+					readyBytes = unixChannel.read(target);
+				}
+			} while (readyBytes == 0);
+			return readyBytes;
 		}
 	}
 
@@ -187,55 +258,95 @@ public class ConnectionStreamFactory {
 
 		private WritableByteChannel unixChannel;
 		private AsynchronousFileChannel winChannel;
-		private ByteBuffer buffer = ByteBuffer.allocate(1);
+		private final ByteBuffer buffer;
 
 		public NamedPipeOutputStream(WritableByteChannel channel) {
+			this(channel, getPipeBufferSize());
+		}
+
+		public NamedPipeOutputStream(WritableByteChannel channel, int bufferSize) {
 			this.unixChannel = channel;
+			this.buffer = allocatePipeBuffer(bufferSize);
 		}
 
 		public NamedPipeOutputStream(AsynchronousFileChannel channel) {
+			this(channel, getPipeBufferSize());
+		}
+
+		public NamedPipeOutputStream(AsynchronousFileChannel channel, int bufferSize) {
 			this.winChannel = channel;
+			this.buffer = allocatePipeBuffer(bufferSize);
 		}
 
 		@Override
 		public void write(int b) throws IOException {
-			buffer.clear();
+			if (!buffer.hasRemaining()) {
+				flushBuffer();
+			}
 			buffer.put((byte) b);
-			buffer.position(0);
-			if (winChannel != null) {
-				Future<Integer> result = winChannel.write(buffer, 0);
-				try {
-					result.get();
-				} catch (Exception e) {
-					throw new IOException(e);
-				}
-			} else {
-				unixChannel.write(buffer);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			if (len <= buffer.remaining()) {
+				buffer.put(b, off, len);
+				return;
 			}
+			// the pending bytes and the payload are sent together, without copying the payload
+			buffer.flip();
+			try {
+				writeToChannel(buffer, ByteBuffer.wrap(b, off, len));
+			} finally {
+				buffer.clear();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			flushBuffer();
 		}
 
 		@Override
-		public void write(byte[] b) throws IOException {
-			final int BUFFER_SIZE = 1024;
-			int blocks = b.length / BUFFER_SIZE;
-			int writeBytes = 0;
-			for (int i = 0; i <= blocks; i++) {
-				int offset = i * BUFFER_SIZE;
-				int length = Math.min(b.length - writeBytes, BUFFER_SIZE);
-				if (length <= 0) {
-					break;
+		public void close() throws IOException {
+			flushBuffer();
+		}
+
+		private void flushBuffer() throws IOException {
+			if (buffer.position() == 0) {
+				return;
+			}
+			buffer.flip();
+			try {
+				writeToChannel(buffer);
+			} finally {
+				buffer.clear();
+			}
+		}
+
+		private void writeToChannel(ByteBuffer... buffers) throws IOException {
+			if (unixChannel instanceof GatheringByteChannel channel) {
+				long remaining = 0;
+				for (ByteBuffer b : buffers) {
+					remaining += b.remaining();
 				}
-				writeBytes += length;
-				ByteBuffer buffer = ByteBuffer.wrap(b, offset, length);
-				if (winChannel != null) {
-					Future<Integer> result = winChannel.write(buffer, 0);
-					try {
-						result.get();
-					} catch (Exception e) {
-						throw new IOException(e);
+				while (remaining > 0) {
+					remaining -= channel.write(buffers);
+				}
+				return;
+			}
+			for (ByteBuffer b : buffers) {
+				while (b.hasRemaining()) {
+					if (winChannel != null) {
+						Future<Integer> result = winChannel.write(b, 0);
+						try {
+							result.get();
+						} catch (Exception e) {
+							throw new IOException(e);
+						}
+					} else {
+						unixChannel.write(b);
 					}
-				} else {
-					unixChannel.write(buffer);
 				}
 			}
 		}
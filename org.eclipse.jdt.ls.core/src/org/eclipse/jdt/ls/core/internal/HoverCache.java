@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IClasspathAttribute;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.lsp4j.MarkedString;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Caches the hovers of the library elements, e.g. of the JDK members, so
+ * hovering them again doesn't compute their signature and convert their
+ * Javadoc again.
+ *
+ * A hover is keyed by the handle of its element and by the fingerprint of the
+ * library, i.e. the size and time stamp of the archive and of its source
+ * attachment and the Javadoc location, so it is computed again when the
+ * library or its sources change. The cache is bounded both in number of hovers
+ * and in estimated size, the least recently used hovers being evicted first.
+ */
+public final class HoverCache {
+
+	/**
+	 * The maximum number of hovers, set by the
+	 * <code>java.lsp.hover.cacheSize</code> system property.
+	 */
+	private static final int MAX_ENTRIES = Integer.getInteger("java.lsp.hover.cacheSize", 1000);
+
+	/**
+	 * The maximum estimated size of the hovers, in megabytes, set by the
+	 * <code>java.lsp.hover.cacheMemory</code> system property.
+	 */
+	private static final long MAX_SIZE = Long.getLong("java.lsp.hover.cacheMemory", 8L) * 1024 * 1024;
+
+	private static final HoverCache instance = new HoverCache(MAX_ENTRIES, MAX_SIZE);
+
+	private final int maxEntries;
+	private final long maxSize;
+	// guarded by this
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long size;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	private HoverCache(int maxEntries, long maxSize) {
+		this.maxEntries = maxEntries;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the key of the hover of the given element.
+	 *
+	 * @param element
+	 *            the hovered element
+	 * @return the key, or <code>null</code> if the hover of the element is not
+	 *         cached, i.e. if it's not in an archive
+	 */
+	static String getKey(IJavaElement element) {
+		if (!(element instanceof IMember || element instanceof ITypeParameter || element instanceof IPackageFragment)) {
+			return null;
+		}
+		IPackageFragmentRoot root = (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root == null || !root.isArchive()) {
+			return null;
+		}
+		StringBuilder key = new StringBuilder(element.getHandleIdentifier());
+		try {
+			appendFingerprint(key, root.getPath());
+			appendFingerprint(key, root.getSourceAttachmentPath());
+			IClasspathEntry entry = root.getResolvedClasspathEntry();
+			if (entry != null) {
+				for (IClasspathAttribute attribute : entry.getExtraAttributes()) {
+					if (IClasspathAttribute.JAVADOC_LOCATION_ATTRIBUTE_NAME.equals(attribute.getName())) {
+						key.append('|').append(attribute.getValue());
+					}
+				}
+			}
+		} catch (JavaModelException e) {
+			return null;
+		}
+		// the default values of the annotation members depend on the client
+		PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
+		if (preferenceManager != null && preferenceManager.getClientPreferences() != null) {
+			key.append('|').append(preferenceManager.getClientPreferences().isSupportsCompletionDocumentationMarkdown());
+		}
+		return key.toString();
+	}
+
+	private static void appendFingerprint(StringBuilder key, IPath path) {
+		key.append('|');
+		if (path != null) {
+			File file = path.toFile();
+			key.append(path.toPortableString()).append(':').append(file.length()).append(':').append(file.lastModified());
+		}
+	}
+
+	/**
+	 * Returns the cached hover.
+	 *
+	 * @param key
+	 *            the key of the hover
+	 * @return the hover contents, or <code>null</code> if not cached
+	 */
+	static List<Either<String, MarkedString>> get(String key) {
+		return instance.doGet(key);
+	}
+
+	/**
+	 * Caches the given hover, which was just computed.
+	 *
+	 * @param key
+	 *            the key of the hover
+	 * @param contents
+	 *            the hover contents
+	 */
+	static void put(String key, List<Either<String, MarkedString>> contents) {
+		instance.doPut(key, contents);
+	}
+
+	/**
+	 * Returns the statistics of the hover cache.
+	 */
+	public static CacheStatistics getStatistics() {
+		synchronized (instance) {
+			return new CacheStatistics(instance.entries.size(), instance.size, instance.hits, instance.misses, instance.evictions);
+		}
+	}
+
+	private synchronized List<Either<String, MarkedString>> doGet(String key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return new ArrayList<>(entry.contents);
+	}
+
+	private synchronized void doPut(String key, List<Either<String, MarkedString>> contents) {
+		Entry entry = new Entry(List.copyOf(contents), getSize(key, contents));
+		Entry previous = entries.put(key, entry);
+		if (previous != null) {
+			size -= previous.size;
+		}
+		size += entry.size;
+		Iterator<Entry> iterator = entries.values().iterator();
+		while ((entries.size() > maxEntries || size > maxSize) && iterator.hasNext()) {
+			size -= iterator.next().size;
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	private static long getSize(String key, List<Either<String, MarkedString>> contents) {
+		long size = 64 + 2L * key.length();
+		for (Either<String, MarkedString> content : contents) {
+			String value = content.isLeft() ? content.getLeft() : content.getRight().getValue();
+			size += 32 + (value == null ? 0 : 2L * value.length());
+		}
+		return size;
+	}
+
+	private record Entry(List<Either<String, MarkedString>> contents, long size) {
+	}
+
+	public record CacheStatistics(int entries, long size, long hits, long misses, long evictions) {
+	}
+}
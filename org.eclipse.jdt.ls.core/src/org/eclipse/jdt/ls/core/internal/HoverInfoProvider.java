@@ -38,6 +38,11 @@ import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.SourceRange;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
@@ -48,6 +53,7 @@ import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.internal.core.BinaryMember;
 import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResolveHandler;
+import org.eclipse.jdt.ls.core.internal.handlers.JsonRpcHelpers;
 import org.eclipse.jdt.ls.core.internal.javadoc.JavadocContentAccess2;
 import org.eclipse.jdt.ls.core.internal.managers.IBuildSupport;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -125,7 +131,14 @@ public class HoverInfoProvider {
 			if (monitor.isCanceled()) {
 				return cancelled(res);
 			}
-			if (JDTEnvironmentUtils.isSyntaxServer() || isResolved(curr, monitor)) {
+			if (JDTEnvironmentUtils.isSyntaxServer() || isResolved(curr, line, column, monitor)) {
+				String key = HoverCache.getKey(curr);
+				if (key != null) {
+					List<Either<String, MarkedString>> cached = HoverCache.get(key);
+					if (cached != null) {
+						return cached;
+					}
+				}
 				IBuffer buffer = curr.getOpenable().getBuffer();
 				if (buffer == null && curr instanceof BinaryMember binaryMember) {
 					IClassFile classFile = binaryMember.getClassFile();
@@ -152,6 +165,9 @@ public class HoverInfoProvider {
 					value = fixSnippet(value);
 					res.add(Either.forLeft(value));
 				}
+				if (key != null && !monitor.isCanceled()) {
+					HoverCache.put(key, res);
+				}
 			}
 		} catch (Exception e) {
 			JavaLanguageServerPlugin.logException("Error computing hover", e);
@@ -196,7 +212,7 @@ public class HoverInfoProvider {
 		return res;
 	}
 
-	private boolean isResolved(IJavaElement element, IProgressMonitor monitor) throws CoreException {
+	private boolean isResolved(IJavaElement element, int line, int column, IProgressMonitor monitor) throws CoreException {
 		if (!(unit instanceof ICompilationUnit)) {
 			return true;
 		}
@@ -209,6 +225,20 @@ public class HoverInfoProvider {
 		if (unit.getResource() != null && !unit.getResource().exists()) {
 			return true;
 		}
+		// the binding of the hovered name tells whether it's resolved, without searching the type
+		CompilationUnit ast = JDTUtils.getAst(unit, monitor);
+		int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), line, column);
+		if (ast != null && offset > -1 && NodeFinder.perform(ast, offset, 0) instanceof Name name) {
+			IBinding binding = name.resolveBinding();
+			if (binding instanceof ITypeBinding typeBinding) {
+				if (typeBinding.isRecovered()) {
+					return false;
+				}
+				if (element.equals(typeBinding.getErasure().getJavaElement())) {
+					return true;
+				}
+			}
+		}
 		SearchPattern pattern = SearchPattern.createPattern(element, IJavaSearchConstants.ALL_OCCURRENCES);
 		final boolean[] res = new boolean[1];
 		res[0] = false;
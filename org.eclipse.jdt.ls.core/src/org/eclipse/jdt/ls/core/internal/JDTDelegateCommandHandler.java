@@ -33,6 +33,7 @@ import org.eclipse.jdt.ls.core.internal.commands.ProjectCommand;
 import org.eclipse.jdt.ls.core.internal.commands.ProjectCommand.ClasspathOptions;
 import org.eclipse.jdt.ls.core.internal.commands.ProjectCommand.GetAllProjectOptions;
 import org.eclipse.jdt.ls.core.internal.commands.SourceAttachmentCommand;
+import org.eclipse.jdt.ls.core.internal.commands.StatisticsCommand;
 import org.eclipse.jdt.ls.core.internal.commands.TypeHierarchyCommand;
 import org.eclipse.jdt.ls.core.internal.commands.VmCommand;
 import org.eclipse.jdt.ls.core.internal.framework.protobuf.ProtobufSupport;
@@ -213,6 +214,8 @@ public class JDTDelegateCommandHandler implements IDelegateCommandHandler {
 					return new SmartDetectionHandler(smartDetectionParams).getLocation(monitor);
 				case VmCommand.GET_ALL_INSTALL_COMMAND_ID:
 					return VmCommand.getAllVmInstalls();
+				case StatisticsCommand.GET_STATISTICS_COMMAND_ID:
+					return StatisticsCommand.getStatistics();
 				case "java.project.resolveText":
 					return PasteEventHandler.handleFilePasteEvent((String) arguments.get(0), (String) arguments.get(1), monitor);
 				default:
@@ -108,7 +108,6 @@ import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 import org.eclipse.jdt.core.dom.Type;
 
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
@@ -1937,35 +1936,16 @@ public final class JDTUtils {
 	}
 
 	/**
-	 * Get the AST from CoreASTProvider. After getting the AST, it will check if the buffer size is equal to
-	 * the AST's length. If it's not - indicating that the AST is out-of-date. The AST will be disposed and
-	 * request CoreASTProvider to get a new one.
-	 *
-	 * <p>
-	 * Such inconsistency will happen when a thread is calling getAST(), at the meantime, the
-	 * document has been changed. Though the disposeAST() will be called when document change event
-	 * comes, there is a chance when disposeAST() finishes before getAST(). In that case, an out-of-date
-	 * AST will be cached and be used by other threads.
-	 * </p>
+	 * Get the resolved AST of the type root. The ASTs of the open documents are
+	 * cached by {@link ASTCache}, the other ones are got from CoreASTProvider.
+	 * After getting the AST, it will check if the buffer size is equal to the
+	 * AST's length. If it's not - indicating that the AST is out-of-date. The
+	 * AST will be disposed and request CoreASTProvider to get a new one.
 	 *
+	 * @see ASTCache#getAST(ITypeRoot, IProgressMonitor)
 	 */
 	public static CompilationUnit getAst(ITypeRoot typeRoot, IProgressMonitor monitor) {
-		CompilationUnit root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
-		if (root == null) {
-			return null;
-		}
-		IJavaElement element = root.getJavaElement();
-		if (element instanceof ICompilationUnit cu) {
-			try {
-				if (cu.getBuffer().getLength() != root.getLength()) {
-					CoreASTProvider.getInstance().disposeAST();
-					root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
-				}
-			} catch (JavaModelException e) {
-				JavaLanguageServerPlugin.log(e);
-			}
-		}
-		return root;
+		return ASTCache.getAST(typeRoot, monitor);
 	}
 
 }
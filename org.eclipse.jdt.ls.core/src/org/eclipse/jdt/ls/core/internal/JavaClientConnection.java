@@ -15,20 +15,25 @@ package org.eclipse.jdt.ls.core.internal;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.eclipse.jdt.ls.core.internal.handlers.PullDiagnosticsHandler;
 import org.eclipse.jdt.ls.core.internal.lsp.ExecuteCommandProposedClient;
 import org.eclipse.lsp4j.ApplyWorkspaceEditParams;
 import org.eclipse.lsp4j.ApplyWorkspaceEditResponse;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.ConfigurationParams;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.ExecuteCommandParams;
 import org.eclipse.lsp4j.MessageActionItem;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.ShowMessageRequestParams;
@@ -76,6 +81,7 @@ public class JavaClientConnection {
 	}
 
 	final JavaLanguageClient client;
+	private final Map<String, List<Diagnostic>> publishedDiagnostics = new ConcurrentHashMap<>();
 
 	public JavaClientConnection(JavaLanguageClient client) {
 		this.client = client;
@@ -170,9 +176,36 @@ public class JavaClientConnection {
 	}
 
 	public void publishDiagnostics(PublishDiagnosticsParams diagnostics){
+		if (PullDiagnosticsHandler.isEnabled()) {
+			// the client pulls the diagnostics
+			PullDiagnosticsHandler.update(diagnostics);
+			return;
+		}
+		List<Diagnostic> items = diagnostics.getDiagnostics();
+		if (items == null || items.isEmpty()) {
+			// only the documents which had diagnostics are known to be cleared
+			publishedDiagnostics.computeIfPresent(diagnostics.getUri(), (uri, published) -> List.of());
+		} else {
+			publishedDiagnostics.put(diagnostics.getUri(), List.copyOf(items));
+		}
 		client.publishDiagnostics(diagnostics);
 	}
 
+	/**
+	 * Returns whether the given diagnostics are the ones last published for
+	 * their document, i.e. publishing them again would not change anything.
+	 * The documents without recorded diagnostics may still have diagnostics
+	 * to clear, e.g. published by a previous session, so clearing them is
+	 * never skipped.
+	 */
+	public boolean isPublished(PublishDiagnosticsParams diagnostics) {
+		if (PullDiagnosticsHandler.isEnabled()) {
+			// the snapshots of the pulled diagnostics tell the changes
+			return false;
+		}
+		List<Diagnostic> published = publishedDiagnostics.get(diagnostics.getUri());
+		return published != null && published.equals(diagnostics.getDiagnostics());
+	}
 
 	/**
 	 * Sends a message to client to apply the given workspace edit.
@@ -217,6 +250,20 @@ public class JavaClientConnection {
 		return this.client.refreshInlayHints();
 	}
 
+	/**
+	 * @see {@link LanguageClient#refreshDiagnostics()}
+	 */
+	public CompletableFuture<Void> refreshDiagnostics() {
+		return this.client.refreshDiagnostics();
+	}
+
+	/**
+	 * @see {@link LanguageClient#notifyProgress(ProgressParams)}
+	 */
+	public void notifyProgress(ProgressParams params) {
+		client.notifyProgress(params);
+	}
+
 	public void telemetryEvent(Object object) {
 		if (JavaLanguageServerPlugin.getPreferencesManager() != null
 			&& JavaLanguageServerPlugin.getPreferencesManager().getPreferences().isTelemetryEnabled()) {
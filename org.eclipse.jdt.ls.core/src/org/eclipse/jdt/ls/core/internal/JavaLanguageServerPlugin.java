@@ -418,6 +418,12 @@ public class JavaLanguageServerPlugin extends Plugin {
 		JavaLanguageServerPlugin.pluginInstance = null;
 		JavaLanguageServerPlugin.context = null;
 		ResourcesPlugin.getWorkspace().removeSaveParticipant(IConstants.PLUGIN_ID);
+		if (digestStore != null) {
+			digestStore.flush();
+		}
+		if (protocol != null) {
+			protocol.getRequestScheduler().shutdown();
+		}
 		projectsManager = null;
 		contentProviderManager = null;
 		languageServer = null;
@@ -527,6 +533,14 @@ public class JavaLanguageServerPlugin extends Plugin {
 		return null;
 	}
 
+	/**
+	 * @return the scheduler of the requests of the language server, or
+	 *         <code>null</code> if the server isn't started
+	 */
+	public RequestScheduler getRequestScheduler() {
+		return protocol == null ? null : protocol.getRequestScheduler();
+	}
+
 	public void unregisterCapability(String id, String method) {
 		if (protocol != null) {
 			protocol.unregisterCapability(id, method);
@@ -49,7 +49,6 @@ public final class JobHelpers {
 		//no instantiation
 	}
 
-	private static final int POLLING_DELAY = 10;
 	public static final int MAX_TIME_MILLIS = 300000;
 
 	public static void waitForJobsToComplete() {
@@ -186,34 +185,24 @@ public final class JobHelpers {
 	}
 
 	public static void waitForJobs(IJobMatcher matcher, int maxWaitMillis) {
-		final long limit = System.currentTimeMillis() + maxWaitMillis;
-		while(true) {
-			Job job = getJob(matcher);
-			if(job == null) {
-				return;
-			}
-			boolean timeout = System.currentTimeMillis() > limit;
-			if (timeout) {
-				JavaLanguageServerPlugin.logInfo("Timeout while waiting for completion of job: " + job);
-				break;
-			}
-			job.wakeUp();
-			try {
-				Thread.sleep(POLLING_DELAY);
-			} catch(InterruptedException e) {
-				// ignore and keep waiting
-			}
-		}
+		waitForJobs(matcher, maxWaitMillis, null);
 	}
 
-	private static Job getJob(IJobMatcher matcher) {
-		Job[] jobs = Job.getJobManager().find(null);
-		for(Job job : jobs) {
-			if(matcher.matches(job)) {
-				return job;
-			}
+	/**
+	 * Waits until no job matching the given matcher is scheduled or running.
+	 * The time spent waiting is tracked per matcher, see
+	 * {@link LatencyTracker#getStatistics()}.
+	 *
+	 * @param monitor
+	 *            the monitor to cancel the wait, can be <code>null</code>
+	 */
+	public static void waitForJobs(IJobMatcher matcher, int maxWaitMillis, IProgressMonitor monitor) {
+		long start = System.currentTimeMillis();
+		Job job = JobTracker.getInstance().waitForJobs(matcher, maxWaitMillis, monitor);
+		if (job != null && (monitor == null || !monitor.isCanceled())) {
+			JavaLanguageServerPlugin.logInfo("Timeout while waiting for completion of job: " + job);
 		}
-		return null;
+		LatencyTracker.get("jobWait." + matcher.getClass().getSimpleName(), 0).update(System.currentTimeMillis() - start);
 	}
 
 	public static void waitForJobs(String jobFamily, IProgressMonitor monitor) {
@@ -263,7 +252,7 @@ public final class JobHelpers {
 		}
 	}
 
-	interface IJobMatcher {
+	public interface IJobMatcher {
 
 		boolean matches(Job job);
 
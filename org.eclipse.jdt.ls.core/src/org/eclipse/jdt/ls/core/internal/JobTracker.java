@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jdt.ls.core.internal.JobHelpers.IJobMatcher;
+
+/**
+ * Tracks the scheduled jobs through job change events, so that waiting for
+ * jobs to complete doesn't require polling the job manager. Waiters are woken
+ * up whenever a job is done.
+ */
+public final class JobTracker extends JobChangeAdapter {
+
+	/**
+	 * The maximum time a waiter sleeps without checking for cancellation, and
+	 * for jobs scheduled while it was checking the others.
+	 */
+	private static final long CHECK_INTERVAL_MILLIS = 100;
+
+	private static volatile JobTracker instance;
+
+	private final Set<Job> jobs = ConcurrentHashMap.newKeySet();
+	private final Object lock = new Object();
+
+	private JobTracker() {
+	}
+
+	public static JobTracker getInstance() {
+		JobTracker tracker = instance;
+		if (tracker == null) {
+			synchronized (JobTracker.class) {
+				tracker = instance;
+				if (tracker == null) {
+					tracker = new JobTracker();
+					IJobManager jobManager = Job.getJobManager();
+					jobManager.addJobChangeListener(tracker);
+					// the jobs scheduled before the listener was added
+					for (Job job : jobManager.find(null)) {
+						tracker.jobs.add(job);
+					}
+					instance = tracker;
+				}
+			}
+		}
+		return tracker;
+	}
+
+	@Override
+	public void scheduled(IJobChangeEvent event) {
+		jobs.add(event.getJob());
+	}
+
+	@Override
+	public void done(IJobChangeEvent event) {
+		Job job = event.getJob();
+		// a job rescheduled while running stays tracked
+		if (job.getState() == Job.NONE) {
+			jobs.remove(job);
+		}
+		synchronized (lock) {
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Waits until no job matching the given matcher is scheduled or running.
+	 *
+	 * @param matcher
+	 *            the jobs to wait for
+	 * @param maxWaitMillis
+	 *            the maximum time to wait
+	 * @param monitor
+	 *            the monitor to cancel the wait, can be <code>null</code>
+	 * @return the job still running when the wait timed out or was canceled,
+	 *         <code>null</code> if all the jobs completed
+	 */
+	public Job waitForJobs(IJobMatcher matcher, long maxWaitMillis, IProgressMonitor monitor) {
+		long limit = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+		boolean interrupted = false;
+		try {
+			while (true) {
+				Job job = findJob(matcher);
+				if (job == null) {
+					return null;
+				}
+				long remaining = limit - System.nanoTime();
+				if (remaining <= 0 || (monitor != null && monitor.isCanceled())) {
+					return job;
+				}
+				job.wakeUp();
+				synchronized (lock) {
+					// the job may have completed since it was found
+					if (job.getState() == Job.NONE) {
+						continue;
+					}
+					try {
+						lock.wait(Math.max(1, Math.min(CHECK_INTERVAL_MILLIS, TimeUnit.NANOSECONDS.toMillis(remaining))));
+					} catch (InterruptedException e) {
+						// keep waiting, as the callers expect the jobs to be completed
+						interrupted = true;
+					}
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private Job findJob(IJobMatcher matcher) {
+		for (Job job : jobs) {
+			// listeners are notified that a job is scheduled before its state changes
+			if (job.getState() != Job.NONE && matcher.matches(job)) {
+				return job;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the recent durations of a kind of job, in milliseconds.
+ *
+ * It maintains an exponentially weighted moving average, which follows the
+ * latest durations, and a window of the last {@link #WINDOW_SIZE} durations to
+ * compute percentiles. Unlike a cumulative average, a slow first run, e.g.
+ * while the workspace is still building, is forgotten after a few runs.
+ *
+ * Updates are lock-free and can be made from any thread.
+ */
+public class LatencyTracker {
+
+	public static final int WINDOW_SIZE = 64;
+
+	/**
+	 * The weight of a new duration in the moving average.
+	 */
+	private static final double ALPHA = 0.25;
+
+	private static final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+
+	private final AtomicLong ewma;
+	private final AtomicLongArray window = new AtomicLongArray(WINDOW_SIZE);
+	private final AtomicLong count = new AtomicLong();
+
+	/**
+	 * @param initValue
+	 *            the estimate used until a duration is recorded
+	 */
+	public LatencyTracker(long initValue) {
+		this.ewma = new AtomicLong(Double.doubleToLongBits(initValue));
+	}
+
+	/**
+	 * Returns the tracker registered under the given name, creating it if
+	 * needed. Registered trackers are reported by {@link #getStatistics()}.
+	 */
+	public static LatencyTracker get(String name, long initValue) {
+		return trackers.computeIfAbsent(name, n -> new LatencyTracker(initValue));
+	}
+
+	/**
+	 * Records the duration of a run.
+	 *
+	 * @param millis
+	 *            the duration in milliseconds
+	 * @return the <code>LatencyTracker</code> instance
+	 */
+	public LatencyTracker update(long millis) {
+		long value = Math.max(0, millis);
+		long index = count.getAndIncrement();
+		window.set((int) (index % WINDOW_SIZE), value);
+		ewma.getAndUpdate(bits -> {
+			double average = index == 0 ? value : Double.longBitsToDouble(bits) + ALPHA * (value - Double.longBitsToDouble(bits));
+			return Double.doubleToLongBits(average);
+		});
+		return this;
+	}
+
+	public long getAverage() {
+		return Math.round(Double.longBitsToDouble(ewma.get()));
+	}
+
+	/**
+	 * Returns the given percentile of the recorded durations in the window, or
+	 * the average if none was recorded.
+	 *
+	 * @param percentile
+	 *            a value between 0 and 100
+	 */
+	public long getPercentile(int percentile) {
+		long[] values = getWindow();
+		if (values.length == 0) {
+			return getAverage();
+		}
+		Arrays.sort(values);
+		int rank = (int) Math.ceil(percentile / 100.0 * values.length);
+		return values[Math.max(0, Math.min(values.length, rank) - 1)];
+	}
+
+	/**
+	 * Returns the expected duration of the next run: the moving average,
+	 * bounded by the 95th percentile of the window so that a single outlier
+	 * doesn't inflate it.
+	 */
+	public long estimate() {
+		return Math.min(getAverage(), getPercentile(95));
+	}
+
+	private long[] getWindow() {
+		int size = (int) Math.min(count.get(), WINDOW_SIZE);
+		long[] values = new long[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = window.get(i);
+		}
+		return values;
+	}
+
+	public LatencyStatistics getLatencyStatistics() {
+		return new LatencyStatistics(count.get(), getAverage(), getPercentile(50), getPercentile(95), estimate());
+	}
+
+	/**
+	 * Returns the statistics of the registered trackers, keyed by name.
+	 */
+	public static Map<String, LatencyStatistics> getStatistics() {
+		Map<String, LatencyStatistics> statistics = new TreeMap<>();
+		trackers.forEach((name, tracker) -> statistics.put(name, tracker.getLatencyStatistics()));
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/**
+	 * Point in time statistics of a tracker, in milliseconds.
+	 */
+	public record LatencyStatistics(long count, long average, long p50, long p95, long estimate) {
+	}
+}
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+
+/**
+ * The lexical tokens of the source of a type root, comments included, shared by
+ * the requests which only need the tokens, e.g. the folding ranges and the
+ * document symbols, so the source is scanned once per change rather than once
+ * per request.
+ *
+ * The tokens of the most recently used documents are cached, keyed by their
+ * handle and checked against their current source and compiler options. They
+ * are immutable, so they can be read concurrently; the scanners they are built
+ * with are per thread.
+ */
+public final class LexicalTokens {
+
+	/**
+	 * The maximum number of documents whose tokens are cached, set by the
+	 * <code>java.lsp.lexicalTokens.cacheSize</code> system property.
+	 */
+	private static final int MAX_ENTRIES = Integer.getInteger("java.lsp.lexicalTokens.cacheSize", 16);
+
+	private static final ThreadLocal<Map<String, IScanner>> scanners = ThreadLocal.withInitial(HashMap::new);
+
+	// guarded by itself
+	private static final LinkedHashMap<String, LexicalTokens> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final String source;
+	private final String options;
+	private final int[] tokens;
+	private final int[] starts;
+	private final int[] ends;
+	private final int[] lineEnds;
+
+	private LexicalTokens(String source, String options, int[] tokens, int[] starts, int[] ends, int[] lineEnds) {
+		this.source = source;
+		this.options = options;
+		this.tokens = tokens;
+		this.starts = starts;
+		this.ends = ends;
+		this.lineEnds = lineEnds;
+	}
+
+	/**
+	 * Returns the tokens of the current source of the given type root, scanning
+	 * it if it changed since it was last scanned.
+	 *
+	 * @param typeRoot
+	 *            the type root
+	 * @return the tokens, or <code>null</code> if the type root has no source
+	 * @throws JavaModelException
+	 *             if the source can't be read
+	 */
+	public static LexicalTokens get(ITypeRoot typeRoot) throws JavaModelException {
+		String source = typeRoot.getSource();
+		if (source == null) {
+			return null;
+		}
+		String options = getOptions(typeRoot.getJavaProject());
+		String key = typeRoot.getHandleIdentifier();
+		synchronized (cache) {
+			LexicalTokens tokens = cache.get(key);
+			if (tokens != null && tokens.options.equals(options) && tokens.source.equals(source)) {
+				return tokens;
+			}
+		}
+		LexicalTokens tokens = scan(source, options);
+		if (MAX_ENTRIES > 0) {
+			synchronized (cache) {
+				cache.put(key, tokens);
+				Iterator<LexicalTokens> iterator = cache.values().iterator();
+				while (cache.size() > MAX_ENTRIES && iterator.hasNext()) {
+					iterator.next();
+					iterator.remove();
+				}
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Returns the compiler options the tokens depend on, i.e. the source and
+	 * compliance levels and whether the preview features are enabled.
+	 */
+	private static String getOptions(IJavaProject project) {
+		if (project == null) {
+			String level = JavaCore.latestSupportedJavaVersion();
+			return level + "|" + level + "|" + false;
+		}
+		return project.getOption(JavaCore.COMPILER_SOURCE, true) + "|" + project.getOption(JavaCore.COMPILER_COMPLIANCE, true) + "|"
+				+ JavaCore.ENABLED.equals(project.getOption(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES, true));
+	}
+
+	private static LexicalTokens scan(String source, String options) {
+		IScanner scanner = scanners.get().computeIfAbsent(options, k -> {
+			String[] levels = k.split("\\|");
+			return ToolFactory.createScanner(true, false, true, levels[0], levels[1], Boolean.parseBoolean(levels[2]));
+		});
+		char[] contents = source.toCharArray();
+		scanner.setSource(contents);
+		int capacity = Math.max(16, contents.length / 4);
+		int[] tokens = new int[capacity];
+		int[] starts = new int[capacity];
+		int[] ends = new int[capacity];
+		int size = 0;
+		while (true) {
+			int token;
+			try {
+				token = scanner.getNextToken();
+			} catch (InvalidInputException e) {
+				// skip the invalid input, as the scanner moved past it
+				continue;
+			}
+			if (token == ITerminalSymbols.TokenNameEOF) {
+				break;
+			}
+			if (size == tokens.length) {
+				capacity = size * 2;
+				tokens = Arrays.copyOf(tokens, capacity);
+				starts = Arrays.copyOf(starts, capacity);
+				ends = Arrays.copyOf(ends, capacity);
+			}
+			tokens[size] = token;
+			starts[size] = scanner.getCurrentTokenStartPosition();
+			ends[size] = scanner.getCurrentTokenEndPosition();
+			size++;
+		}
+		int[] lineEnds = scanner.getLineEnds();
+		// the scanner is reused by the thread, don't keep the source alive
+		scanner.setSource(new char[0]);
+		return new LexicalTokens(source, options, Arrays.copyOf(tokens, size), Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), lineEnds);
+	}
+
+	/**
+	 * Returns the scanned source.
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * Returns the number of tokens.
+	 */
+	public int size() {
+		return tokens.length;
+	}
+
+	/**
+	 * Returns the token at the given index, one of the
+	 * {@link ITerminalSymbols} constants.
+	 */
+	public int getToken(int index) {
+		return tokens[index];
+	}
+
+	/**
+	 * Returns the start position of the token at the given index.
+	 */
+	public int getStartPosition(int index) {
+		return starts[index];
+	}
+
+	/**
+	 * Returns the end position, inclusive, of the token at the given index.
+	 */
+	public int getEndPosition(int index) {
+		return ends[index];
+	}
+
+	/**
+	 * Returns the source of the token at the given index.
+	 */
+	public String getTokenSource(int index) {
+		return source.substring(starts[index], ends[index] + 1);
+	}
+
+	/**
+	 * Returns the index of the first token starting at or after the given
+	 * position.
+	 *
+	 * @param position
+	 *            the position
+	 * @return the index of the token, or {@link #size()} if there is none
+	 */
+	public int indexOf(int position) {
+		int index = Arrays.binarySearch(starts, position);
+		return index < 0 ? -index - 1 : index;
+	}
+
+	/**
+	 * Returns the line number, starting at 1, of the given position, as
+	 * {@link IScanner#getLineNumber(int)}.
+	 */
+	public int getLineNumber(int position) {
+		if (lineEnds.length == 0) {
+			return 1;
+		}
+		int index = Arrays.binarySearch(lineEnds, position);
+		// a line end belongs to its line
+		return index < 0 ? -index : index + 1;
+	}
+}
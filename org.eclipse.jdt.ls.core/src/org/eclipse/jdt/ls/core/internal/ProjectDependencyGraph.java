@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The dependency graph of the Java projects of the workspace, computed from
+ * their resolved classpaths. It tells which projects can see the source
+ * elements of a project, i.e. the projects that can reference them.
+ *
+ * The graph is computed on demand, and discarded whenever the classpath of a
+ * project changes.
+ */
+public final class ProjectDependencyGraph {
+
+	private static final Object lock = new Object();
+	// guarded by lock
+	private static Map<String, Set<String>> dependents;
+	private static long version;
+	private static boolean listening;
+
+	private ProjectDependencyGraph() {
+	}
+
+	/**
+	 * Returns the projects whose sources can reference the given element: the
+	 * project declaring a source element and the projects depending on it,
+	 * directly or not, or all the Java projects for the other elements, e.g.
+	 * the elements of a library shared by several projects.
+	 *
+	 * @param element
+	 *            the element to search the references of, can be
+	 *            <code>null</code>
+	 * @return the projects to search
+	 */
+	public static IJavaProject[] getReferencingProjects(IJavaElement element) throws JavaModelException {
+		IJavaModel model = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot());
+		IPackageFragmentRoot root = element == null ? null : (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		if (root == null || root.getKind() != IPackageFragmentRoot.K_SOURCE || root.getJavaProject() == null) {
+			return model.getJavaProjects();
+		}
+		Set<String> names = getDependentProjects(root.getJavaProject().getElementName());
+		return names.stream().map(model::getJavaProject).filter(IJavaProject::exists).toArray(IJavaProject[]::new);
+	}
+
+	/**
+	 * Returns the names of the given project and of the projects depending on
+	 * it, directly or not.
+	 */
+	public static Set<String> getDependentProjects(String projectName) throws JavaModelException {
+		Map<String, Set<String>> graph = getGraph();
+		Set<String> result = new LinkedHashSet<>();
+		Deque<String> queue = new ArrayDeque<>();
+		queue.add(projectName);
+		while (!queue.isEmpty()) {
+			String name = queue.poll();
+			if (result.add(name)) {
+				queue.addAll(graph.getOrDefault(name, Collections.emptySet()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the graph, so that it is computed again when needed.
+	 */
+	public static void invalidate() {
+		synchronized (lock) {
+			dependents = null;
+			version++;
+		}
+	}
+
+	private static Map<String, Set<String>> getGraph() throws JavaModelException {
+		long computedVersion;
+		synchronized (lock) {
+			if (!listening) {
+				JavaCore.addElementChangedListener(ProjectDependencyGraph::elementChanged, ElementChangedEvent.POST_CHANGE);
+				listening = true;
+			}
+			if (dependents != null) {
+				return dependents;
+			}
+			computedVersion = version;
+		}
+		Map<String, Set<String>> graph = new HashMap<>();
+		for (IJavaProject project : JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects()) {
+			for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+				if (entry.getEntryKind() == IClasspathEntry.CPE_PROJECT) {
+					graph.computeIfAbsent(entry.getPath().lastSegment(), name -> new HashSet<>()).add(project.getElementName());
+				}
+			}
+		}
+		synchronized (lock) {
+			// the classpaths may have changed in the meantime
+			if (version == computedVersion) {
+				dependents = graph;
+			}
+		}
+		return graph;
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		for (IJavaElementDelta delta : event.getDelta().getAffectedChildren()) {
+			if (delta.getElement().getElementType() != IJavaElement.JAVA_PROJECT) {
+				continue;
+			}
+			int flags = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+			if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & flags) != 0) {
+				invalidate();
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatches language server requests to dedicated executors, one per
+ * {@link Lane}, so that long running requests (e.g. references) can't starve
+ * latency critical ones (e.g. hover) the way a shared pool would.
+ *
+ * Each lane can be configured with the following system properties, where
+ * <code>&lt;lane&gt;</code> is one of <code>latency</code>,
+ * <code>interactive</code> or <code>bulk</code>:
+ * <ul>
+ * <li><code>java.lsp.scheduler.&lt;lane&gt;.concurrency</code>: the maximum
+ * number of requests of that lane running at the same time</li>
+ * <li><code>java.lsp.scheduler.&lt;lane&gt;.virtualThreads</code>: whether the
+ * lane runs its requests on virtual threads. Defaults to the value of
+ * <code>java.lsp.scheduler.virtualThreads</code></li>
+ * </ul>
+ */
+public class RequestScheduler {
+
+	public static final String PROPERTY_PREFIX = "java.lsp.scheduler.";
+	public static final String VIRTUAL_THREADS_PROPERTY = PROPERTY_PREFIX + "virtualThreads";
+
+	private static final int CPUS = Runtime.getRuntime().availableProcessors();
+
+	public enum Lane {
+		/**
+		 * Requests the user is actively waiting on while typing, e.g. hover,
+		 * signature help or semantic tokens.
+		 */
+		LATENCY_CRITICAL("latency", Math.max(2, CPUS)),
+		/**
+		 * Requests triggered by an explicit user action, e.g. code actions or
+		 * navigation. This is the default lane.
+		 */
+		INTERACTIVE("interactive", Math.max(2, CPUS / 2)),
+		/**
+		 * Requests that may scan the whole workspace, e.g. references, rename or
+		 * workspace symbols.
+		 */
+		BULK("bulk", Math.max(1, CPUS / 4));
+
+		private final String id;
+		private final int defaultConcurrency;
+
+		Lane(String id, int defaultConcurrency) {
+			this.id = id;
+			this.defaultConcurrency = defaultConcurrency;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public int getConcurrency() {
+			Integer concurrency = Integer.getInteger(PROPERTY_PREFIX + id + ".concurrency");
+			return concurrency == null || concurrency < 1 ? defaultConcurrency : concurrency;
+		}
+
+		public boolean useVirtualThreads() {
+			String value = System.getProperty(PROPERTY_PREFIX + id + ".virtualThreads");
+			return value == null ? Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY) : Boolean.parseBoolean(value);
+		}
+	}
+
+	private final Map<Lane, LaneExecutor> executors = new EnumMap<>(Lane.class);
+
+	public RequestScheduler() {
+		for (Lane lane : Lane.values()) {
+			executors.put(lane, new LaneExecutor(lane, lane.getConcurrency(), lane.useVirtualThreads()));
+		}
+	}
+
+	/**
+	 * Returns the executor running the requests of the given lane.
+	 *
+	 * @param lane
+	 *            the request lane
+	 * @return the executor of the lane, never <code>null</code>
+	 */
+	public Executor getExecutor(Lane lane) {
+		return executors.get(lane == null ? Lane.INTERACTIVE : lane);
+	}
+
+	/**
+	 * Returns a snapshot of the statistics of every lane, keyed by lane id.
+	 */
+	public Map<String, LaneStatistics> getStatistics() {
+		Map<String, LaneStatistics> statistics = new LinkedHashMap<>();
+		executors.forEach((lane, executor) -> statistics.put(lane.getId(), executor.getStatistics()));
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	public void shutdown() {
+		executors.values().forEach(executor -> executor.pool.shutdownNow());
+	}
+
+	/**
+	 * Point in time statistics of a lane. Wait times are measured from the
+	 * submission of a request to the moment a worker picks it up.
+	 */
+	public record LaneStatistics(int concurrency, boolean virtualThreads, int queueDepth, int active, long completed, long averageWaitMillis, long maxWaitMillis) {
+	}
+
+	private static final class LaneExecutor implements Executor {
+
+		private final ThreadPoolExecutor pool;
+		private final int concurrency;
+		private final boolean virtualThreads;
+		private final AtomicInteger queued = new AtomicInteger();
+		private final AtomicInteger active = new AtomicInteger();
+		private final LongAdder completed = new LongAdder();
+		private final LongAdder totalWaitNanos = new LongAdder();
+		private final AtomicLong maxWaitNanos = new AtomicLong();
+
+		LaneExecutor(Lane lane, int concurrency, boolean virtualThreads) {
+			this.concurrency = concurrency;
+			this.virtualThreads = virtualThreads;
+			String prefix = "jdt.ls-request-" + lane.getId() + "-";
+			ThreadFactory factory;
+			if (virtualThreads) {
+				factory = Thread.ofVirtual().name(prefix, 0).factory();
+			} else {
+				factory = Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+			}
+			this.pool = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+			this.pool.allowCoreThreadTimeOut(true);
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			long submitted = System.nanoTime();
+			queued.incrementAndGet();
+			try {
+				pool.execute(() -> {
+					long wait = System.nanoTime() - submitted;
+					queued.decrementAndGet();
+					active.incrementAndGet();
+					totalWaitNanos.add(wait);
+					maxWaitNanos.accumulateAndGet(wait, Math::max);
+					try {
+						command.run();
+					} finally {
+						active.decrementAndGet();
+						completed.increment();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				queued.decrementAndGet();
+				throw e;
+			}
+		}
+
+		LaneStatistics getStatistics() {
+			long count = completed.sum() + active.get();
+			long averageWait = count == 0 ? 0 : totalWaitNanos.sum() / count;
+			return new LaneStatistics(concurrency, virtualThreads, queued.get(), active.get(), completed.sum(), TimeUnit.NANOSECONDS.toMillis(averageWait), TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+		}
+	}
+}
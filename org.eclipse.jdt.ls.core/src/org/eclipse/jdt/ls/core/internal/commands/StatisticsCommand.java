@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal.commands;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.ls.core.internal.ASTCache;
+import org.eclipse.jdt.ls.core.internal.HoverCache;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.LatencyTracker;
+import org.eclipse.jdt.ls.core.internal.RequestScheduler;
+import org.eclipse.jdt.ls.core.internal.handlers.CallHierarchyCache;
+import org.eclipse.jdt.ls.core.internal.handlers.PartialResultReporter;
+
+public class StatisticsCommand {
+	private StatisticsCommand() {}
+
+	public static final String GET_STATISTICS_COMMAND_ID = "java.server.getStatistics";
+
+	/**
+	 * Returns the live performance statistics of the server: the request
+	 * lanes, the latencies of the requests streaming partial results, the
+	 * durations the document validation debounce is derived from and the usage
+	 * of the call hierarchy, hover and AST caches.
+	 */
+	public static Map<String, Object> getStatistics() {
+		Map<String, Object> statistics = new LinkedHashMap<>();
+		JavaLanguageServerPlugin plugin = JavaLanguageServerPlugin.getInstance();
+		RequestScheduler scheduler = plugin == null ? null : plugin.getRequestScheduler();
+		statistics.put("requestLanes", scheduler == null ? Collections.emptyMap() : scheduler.getStatistics());
+		statistics.put("partialResults", PartialResultReporter.getStatistics());
+		statistics.put("latencies", LatencyTracker.getStatistics());
+		statistics.put("callHierarchyCache", CallHierarchyCache.getStatistics());
+		statistics.put("hoverCache", HoverCache.getStatistics());
+		statistics.put("astCache", ASTCache.getStatistics());
+		return statistics;
+	}
+}
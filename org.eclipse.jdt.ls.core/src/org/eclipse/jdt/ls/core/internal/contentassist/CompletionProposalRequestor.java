@@ -14,13 +14,14 @@ package org.eclipse.jdt.ls.core.internal.contentassist;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.Assert;
@@ -259,6 +260,22 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	}
 
 	public List<CompletionItem> getCompletionItems(IProgressMonitor monitor) {
+		return getCompletionItems(monitor, null);
+	}
+
+	/**
+	 * Converts the ranked proposals to completion items.
+	 *
+	 * @param monitor
+	 *            the progress monitor
+	 * @param itemListener
+	 *            notified of every completion item as soon as it is converted,
+	 *            in ranking order, can be <code>null</code>. The completion
+	 *            list defaults and {@link #isComplete()} are known before the
+	 *            first item is converted.
+	 * @return the completion items
+	 */
+	public List<CompletionItem> getCompletionItems(IProgressMonitor monitor, Consumer<CompletionItem> itemListener) {
 		CompletionRankingAggregation[] aggregatedRanks = getAggregatedRankingResult(monitor);
 		for (int i = 0; i < proposals.size(); i++) {
 			CompletionProposal proposal = proposals.get(i);
@@ -276,16 +293,53 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		proposals.sort(new ProposalComparator(proposals.size()));
 		int maxCompletions = preferenceManager.getPreferences().getMaxCompletionResults();
 		int limit = Math.min(proposals.size(), maxCompletions);
-		List<CompletionItem> completionItems = new ArrayList<>(limit);
+		List<CompletionItem> completionItems = Collections.synchronizedList(new ArrayList<>(limit));
 
 		if (!proposals.isEmpty()){
 			initializeCompletionListItemDefaults(proposals.get(0));
 		}
+		// see https://github.com/eclipse/eclipse.jdt.ls/issues/2669
+		// the defaults are checked before converting the proposals, since the items depend on them
+		Either<Range, InsertReplaceRange> editRange = itemDefaults.getEditRange();
+		if (editRange != null) {
+			Range range;
+			if (editRange.getLeft() != null) {
+				range = editRange.getLeft();
+			} else if (editRange.getRight() != null) {
+				range = editRange.getRight().getInsert() != null ? editRange.getRight().getInsert() : editRange.getRight().getReplace();
+			} else {
+				range = null;
+			}
+			int line = -1;
+			if (range != null) {
+				int offset = response.getOffset();
+				try {
+					Range offsetRange = JDTUtils.toRange(unit, offset, 0);
+					line = offsetRange.getStart().getLine();
+				} catch (JavaModelException e) {
+					// ignore
+				}
+			}
+			if (range != null && range.getStart().getLine() != line) {
+				itemDefaults.setEditRange(null);
+				itemDefaults.setInsertTextFormat(null);
+			}
+		}
 
-		List<Map<String, String>> contributedData = new LinkedList<>();
+		if (proposals.size() > limit) {
+			isComplete = false;
+		}
+
+		List<Map<String, String>> contributedData = Collections.synchronizedList(new ArrayList<>());
 		int pId = 0; // store the index of the completion item in the list
 		int proposalIndex = 0; // to iterate through proposals
-		List<CompletionProposal> proposalsToBeCached = new LinkedList<>();
+		List<CompletionProposal> proposalsToBeCached = Collections.synchronizedList(new ArrayList<>(limit));
+		// the items may be resolved while the next ones are converted, when streamed
+		response.setProposals(proposalsToBeCached);
+		response.setItems(completionItems);
+		response.setCommonData(CompletionResolveHandler.DATA_FIELD_URI, uri);
+		response.setCompletionItemData(contributedData);
+		CompletionResponses.store(response);
 		for (; pId < limit && proposalIndex < proposals.size(); proposalIndex++) {
 			CompletionProposal proposal = proposals.get(proposalIndex);
 			try {
@@ -307,6 +361,9 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 				completionItems.add(item);
 				proposalsToBeCached.add(proposal);
 				pId++;
+				if (itemListener != null) {
+					itemListener.accept(item);
+				}
 			} catch (Exception e) {
 				JavaLanguageServerPlugin.logException(
 					"Failed to convert completion proposal to completion item",
@@ -314,42 +371,10 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 				);
 			}
 		}
-		// see https://github.com/eclipse/eclipse.jdt.ls/issues/2669
-		Either<Range, InsertReplaceRange> editRange = itemDefaults.getEditRange();
-		if (editRange != null) {
-			Range range;
-			if (editRange.getLeft() != null) {
-				range = editRange.getLeft();
-			} else if (editRange.getRight() != null) {
-				range = editRange.getRight().getInsert() != null ? editRange.getRight().getInsert() : editRange.getRight().getReplace();
-			} else {
-				range = null;
-			}
-			int line = -1;
-			if (range != null) {
-				int offset = response.getOffset();
-				try {
-					Range offsetRange = JDTUtils.toRange(unit, offset, 0);
-					line = offsetRange.getStart().getLine();
-				} catch (JavaModelException e) {
-					// ignore
-				}
-			}
-			if (range != null && range.getStart().getLine() != line) {
-				itemDefaults.setEditRange(null);
-				itemDefaults.setInsertTextFormat(null);
-			}
-		}
-
 		if (proposals.size() > proposalIndex) {
 			//we keep receiving completions past our capacity so that makes the whole result incomplete
 			isComplete = false;
 		}
-		response.setProposals(proposalsToBeCached);
-		response.setItems(completionItems);
-		response.setCommonData(CompletionResolveHandler.DATA_FIELD_URI, uri);
-		response.setCompletionItemData(contributedData);
-		CompletionResponses.store(response);
 
 		return completionItems;
 	}
@@ -0,0 +1,501 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.contentassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.core.CompletionContext;
+import org.eclipse.jdt.core.CompletionProposal;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.codeassist.RelevanceConstants;
+import org.eclipse.jdt.internal.corext.template.java.SignatureUtil;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionResolveHandler;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponse;
+import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponses;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemDefaults;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.InsertReplaceEdit;
+import org.eclipse.lsp4j.InsertReplaceRange;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * The completion items sent for a completion location, kept to answer the
+ * next completion requests while the user keeps typing the identifier being
+ * completed.
+ *
+ * As long as the only change to the document is the insertion of identifier
+ * characters at the completion offset, the items of a longer prefix are a
+ * subset of the cached items. They are refiltered and re-ranked for the new
+ * prefix, and their edits are extended over the inserted characters, without
+ * running the completion engine again.
+ *
+ * The session only keeps the data of the items. The refiltered items still
+ * refer to the {@link CompletionResponse} of the request that computed them,
+ * which is left in {@link CompletionResponses} to resolve them, as it would be
+ * until the next completion request.
+ *
+ * The session is discarded when the document is changed in any other way,
+ * when completion is requested at another location, when the completion
+ * settings change, or when the classpath changes, see {@link #invalidate()}.
+ */
+public final class CompletionSession {
+
+	private static final AtomicReference<CompletionSession> current = new AtomicReference<>();
+
+	private final ICompilationUnit unit;
+	private final Preferences preferences;
+	private final Settings settings;
+	private final long responseId;
+	private final char[] originalToken;
+	private final int originalOffset;
+	private final Position originalPosition;
+	private final List<Entry> entries;
+	/**
+	 * The names of the proposals left out of the items by the result limit.
+	 */
+	private final List<char[]> truncatedNames;
+	private final CompletionItemDefaults itemDefaults;
+	private int offset;
+	private String contents;
+
+	private CompletionSession(ICompilationUnit unit, Preferences preferences, Settings settings, long responseId, char[] token, int offset, Position position, List<Entry> entries, List<char[]> truncatedNames,
+			CompletionItemDefaults itemDefaults, String contents) {
+		this.unit = unit;
+		this.preferences = preferences;
+		this.settings = settings;
+		this.responseId = responseId;
+		this.originalToken = token;
+		this.originalOffset = offset;
+		this.originalPosition = position;
+		this.entries = entries;
+		this.truncatedNames = truncatedNames;
+		this.itemDefaults = itemDefaults;
+		this.offset = offset;
+		this.contents = contents;
+	}
+
+	/**
+	 * A cached item, with the name matched against the completion token and
+	 * the relevance this match gave to the item, or {@link CaseMatching#NO_MATCH}
+	 * when the item was not matched by name.
+	 */
+	private record Entry(CompletionItem item, char[] name, int originalMatch) {
+	}
+
+	/**
+	 * The settings of the completion engine, which must not change during a
+	 * session since the cached items depend on them.
+	 */
+	private record Settings(Map<String, String> options, List<String> favorites, List<String> filteredTypes) {
+
+		static Settings of(ICompilationUnit unit, Preferences preferences, String[] favorites) {
+			return new Settings(unit.getJavaProject().getOptions(true), Arrays.asList(favorites), Arrays.asList(preferences.getFilteredTypes()));
+		}
+	}
+
+	/**
+	 * Starts a new session from the completion list computed at the given
+	 * offset. Nothing is cached when the items can't be reused for a longer
+	 * prefix, in particular when the prefix is empty, since the completion
+	 * engine doesn't search the indexed types then.
+	 *
+	 * @param unit
+	 *            the compilation unit
+	 * @param offset
+	 *            the completion offset
+	 * @param position
+	 *            the completion position
+	 * @param collector
+	 *            the requestor which computed the items
+	 * @param list
+	 *            the completion list, made of the items of the requestor only
+	 * @param preferences
+	 *            the preferences used to compute the items
+	 * @param favorites
+	 *            the favorite static members used to compute the items
+	 */
+	public static void start(ICompilationUnit unit, int offset, Position position, CompletionProposalRequestor collector, CompletionList list, Preferences preferences, String[] favorites) {
+		current.set(null);
+		CompletionContext context = collector.getContext();
+		if (context == null || context.getTokenKind() != CompletionContext.TOKEN_KIND_NAME || context.isInJavadoc() || context.getToken() == null || context.getToken().length == 0
+				|| context.getTokenStart() + context.getToken().length != offset || list.getItems().isEmpty()) {
+			return;
+		}
+		Long responseId = getResponseId(list.getItems().get(0));
+		CompletionResponse response = responseId == null ? null : CompletionResponses.get(responseId);
+		if (response == null || response.getProposals() == null) {
+			return;
+		}
+		char[] token = context.getToken();
+		CaseMatching matching = new CaseMatching(unit);
+		List<Entry> entries = new ArrayList<>(list.getItems().size());
+		Set<CompletionProposal> converted = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (CompletionItem item : list.getItems()) {
+			CompletionProposal proposal = getProposal(item, responseId, response);
+			// the getters and setters of a potential method declaration depend on the prefix
+			if (proposal == null || proposal.getKind() == CompletionProposal.POTENTIAL_METHOD_DECLARATION) {
+				return;
+			}
+			converted.add(proposal);
+			char[] name = getMatchName(proposal);
+			int match = name == null || name.length == 0 ? CaseMatching.NO_MATCH : matching.getRelevance(token, name);
+			entries.add(new Entry(item, name, match));
+		}
+		List<char[]> truncatedNames = new ArrayList<>();
+		if (list.isIncomplete()) {
+			// the proposals left out by the result limit must not match a longer prefix
+			for (CompletionProposal proposal : collector.getProposals()) {
+				if (!converted.contains(proposal)) {
+					char[] name = getMatchName(proposal);
+					if (name == null || name.length == 0 || matching.getRelevance(token, name) == CaseMatching.NO_MATCH) {
+						return;
+					}
+					truncatedNames.add(name);
+				}
+			}
+			if (truncatedNames.isEmpty()) {
+				// incomplete for another reason
+				return;
+			}
+		}
+		String contents = getContents(unit);
+		if (contents != null) {
+			current.set(new CompletionSession(unit, preferences, Settings.of(unit, preferences, favorites), responseId, token, offset, position, entries, truncatedNames, list.getItemDefaults(), contents));
+		}
+	}
+
+	/**
+	 * Refilters the items of the current session, if the session can answer a
+	 * completion request at the given offset.
+	 *
+	 * @param unit
+	 *            the compilation unit
+	 * @param offset
+	 *            the completion offset
+	 * @param preferences
+	 *            the current preferences
+	 * @param favorites
+	 *            the current favorite static members
+	 * @return the refiltered completion list, or <code>null</code> if the
+	 *         completion engine must be run
+	 */
+	public static CompletionList replay(ICompilationUnit unit, int offset, Preferences preferences, String[] favorites) {
+		// a session is used by one request at a time
+		CompletionSession session = current.getAndSet(null);
+		if (session == null || !session.unit.equals(unit) || session.preferences != preferences || offset < session.offset) {
+			return null;
+		}
+		String contents = getContents(unit);
+		if (contents == null || !session.isPrefixExtendedBy(contents, offset) || !session.settings.equals(Settings.of(unit, preferences, favorites))) {
+			return null;
+		}
+		CompletionResponse response = CompletionResponses.get(session.responseId);
+		if (response == null) {
+			return null;
+		}
+		CompletionList list = session.replay(response, offset, contents);
+		if (list != null) {
+			current.compareAndSet(null, session);
+		}
+		return list;
+	}
+
+	/**
+	 * Discards the current session.
+	 */
+	public static void invalidate() {
+		current.set(null);
+	}
+
+	/**
+	 * Returns whether the given contents are the contents of the session with
+	 * identifier characters inserted at the completion offset, up to the
+	 * given offset.
+	 */
+	private boolean isPrefixExtendedBy(String newContents, int newOffset) {
+		int inserted = newOffset - offset;
+		if (newContents.length() != contents.length() + inserted) {
+			return false;
+		}
+		if (!newContents.regionMatches(0, contents, 0, offset) || !newContents.regionMatches(newOffset, contents, offset, contents.length() - offset)) {
+			return false;
+		}
+		for (int i = offset; i < newOffset; i++) {
+			if (!Character.isJavaIdentifierPart(newContents.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private CompletionList replay(CompletionResponse response, int newOffset, String newContents) {
+		int tokenStart = originalOffset - originalToken.length;
+		char[] token = newContents.substring(tokenStart, newOffset).toCharArray();
+		CaseMatching matching = new CaseMatching(unit);
+		for (char[] name : truncatedNames) {
+			if (matching.getRelevance(token, name) != CaseMatching.NO_MATCH) {
+				return null;
+			}
+		}
+		// the proposals are resolved against the current contents
+		for (CompletionProposal proposal : response.getProposals()) {
+			shift(proposal, newOffset - offset);
+		}
+		response.setOffset(newOffset);
+		int inserted = newOffset - originalOffset;
+		offset = newOffset;
+		contents = newContents;
+		List<CompletionItem> items = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			CompletionItem item = copy(entry.item(), inserted);
+			if (entry.originalMatch() != CaseMatching.NO_MATCH) {
+				int match = matching.getRelevance(token, entry.name());
+				if (match == CaseMatching.NO_MATCH) {
+					continue;
+				}
+				item.setSortText(rerank(item.getSortText(), match - entry.originalMatch()));
+			}
+			// else the item was not matched by name, leave it to the client
+			items.add(item);
+		}
+		CompletionList list = new CompletionList(items);
+		list.setIsIncomplete(false);
+		if (itemDefaults != null) {
+			list.setItemDefaults(copy(itemDefaults, inserted));
+		}
+		return list;
+	}
+
+	/**
+	 * Moves the end of the ranges of a proposal ending at the previous
+	 * completion offset, or after it, by the number of inserted characters.
+	 */
+	private void shift(CompletionProposal proposal, int inserted) {
+		proposal.setReplaceRange(shift(proposal.getReplaceStart(), inserted, false), shift(proposal.getReplaceEnd(), inserted, true));
+		proposal.setTokenRange(shift(proposal.getTokenStart(), inserted, false), shift(proposal.getTokenEnd(), inserted, true));
+		CompletionProposal[] requiredProposals = proposal.getRequiredProposals();
+		if (requiredProposals != null) {
+			for (CompletionProposal requiredProposal : requiredProposals) {
+				shift(requiredProposal, inserted);
+			}
+		}
+	}
+
+	private int shift(int position, int inserted, boolean end) {
+		return position > offset || (end && position == offset) ? position + inserted : position;
+	}
+
+	/**
+	 * The sort text is computed from the relevance of the proposal, see
+	 * {@link SortTextHelper#computeSortText(CompletionProposal)}.
+	 */
+	private static String rerank(String sortText, int relevance) {
+		try {
+			return String.valueOf(Integer.parseInt(sortText) - relevance * 16);
+		} catch (NumberFormatException e) {
+			return sortText;
+		}
+	}
+
+	private CompletionItem copy(CompletionItem item, int inserted) {
+		CompletionItem copy = new CompletionItem(item.getLabel());
+		copy.setLabelDetails(item.getLabelDetails());
+		copy.setKind(item.getKind());
+		copy.setTags(item.getTags());
+		copy.setDetail(item.getDetail());
+		copy.setDocumentation(item.getDocumentation());
+		copy.setDeprecated(item.getDeprecated());
+		copy.setPreselect(item.getPreselect());
+		copy.setSortText(item.getSortText());
+		copy.setFilterText(item.getFilterText());
+		copy.setInsertText(item.getInsertText());
+		copy.setInsertTextFormat(item.getInsertTextFormat());
+		copy.setInsertTextMode(item.getInsertTextMode());
+		copy.setTextEditText(item.getTextEditText());
+		copy.setCommitCharacters(item.getCommitCharacters());
+		copy.setCommand(item.getCommand());
+		copy.setData(item.getData());
+		Either<TextEdit, InsertReplaceEdit> textEdit = item.getTextEdit();
+		if (textEdit != null && textEdit.isLeft()) {
+			copy.setTextEdit(Either.forLeft(shift(textEdit.getLeft(), inserted)));
+		} else if (textEdit != null && textEdit.isRight()) {
+			InsertReplaceEdit edit = textEdit.getRight();
+			copy.setTextEdit(Either.forRight(new InsertReplaceEdit(edit.getNewText(), shift(edit.getInsert(), inserted), shift(edit.getReplace(), inserted))));
+		}
+		if (item.getAdditionalTextEdits() != null) {
+			copy.setAdditionalTextEdits(item.getAdditionalTextEdits().stream().map(edit -> shift(edit, inserted)).toList());
+		}
+		return copy;
+	}
+
+	private CompletionItemDefaults copy(CompletionItemDefaults defaults, int inserted) {
+		CompletionItemDefaults copy = new CompletionItemDefaults();
+		copy.setCommitCharacters(defaults.getCommitCharacters());
+		copy.setInsertTextFormat(defaults.getInsertTextFormat());
+		copy.setInsertTextMode(defaults.getInsertTextMode());
+		copy.setData(defaults.getData());
+		Either<Range, InsertReplaceRange> editRange = defaults.getEditRange();
+		if (editRange != null && editRange.isLeft()) {
+			copy.setEditRange(Either.forLeft(shift(editRange.getLeft(), inserted)));
+		} else if (editRange != null && editRange.isRight()) {
+			InsertReplaceRange range = editRange.getRight();
+			copy.setEditRange(Either.forRight(new InsertReplaceRange(shift(range.getInsert(), inserted), shift(range.getReplace(), inserted))));
+		}
+		return copy;
+	}
+
+	private TextEdit shift(TextEdit edit, int inserted) {
+		return new TextEdit(shift(edit.getRange(), inserted), edit.getNewText());
+	}
+
+	/**
+	 * Returns a copy of the given range, whose end is moved by the number of
+	 * inserted characters when it is at the original completion position, or
+	 * after it on the same line.
+	 */
+	private Range shift(Range range, int inserted) {
+		return range == null ? null : new Range(shift(range.getStart(), inserted, false), shift(range.getEnd(), inserted, true));
+	}
+
+	private Position shift(Position position, int inserted, boolean end) {
+		if (position.getLine() == originalPosition.getLine()
+				&& (position.getCharacter() > originalPosition.getCharacter() || (end && position.getCharacter() == originalPosition.getCharacter()))) {
+			return new Position(position.getLine(), position.getCharacter() + inserted);
+		}
+		return new Position(position.getLine(), position.getCharacter());
+	}
+
+	private static Long getResponseId(CompletionItem item) {
+		if (item.getData() instanceof Map<?, ?> data && data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID) instanceof String requestId) {
+			try {
+				return Long.valueOf(requestId);
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the proposal of the given item, or <code>null</code> if the item
+	 * doesn't come from the given response.
+	 */
+	private static CompletionProposal getProposal(CompletionItem item, long responseId, CompletionResponse response) {
+		if (!Long.valueOf(responseId).equals(getResponseId(item)) || !(item.getData() instanceof Map<?, ?> data)
+				|| !(data.get(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID) instanceof String proposalId)) {
+			return null;
+		}
+		try {
+			int index = Integer.parseInt(proposalId);
+			return index < response.getProposals().size() ? response.getProposals().get(index) : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the name the completion engine matches against the completion
+	 * token for the given proposal.
+	 */
+	static char[] getMatchName(CompletionProposal proposal) {
+		switch (proposal.getKind()) {
+			case CompletionProposal.TYPE_REF:
+			case CompletionProposal.JAVADOC_TYPE_REF:
+				return SignatureUtil.getSimpleTypeName(proposal).toCharArray();
+			case CompletionProposal.CONSTRUCTOR_INVOCATION:
+			case CompletionProposal.ANONYMOUS_CLASS_CONSTRUCTOR_INVOCATION:
+			case CompletionProposal.ANONYMOUS_CLASS_DECLARATION:
+				char[] declaration = proposal.getDeclarationSignature();
+				return declaration == null ? null : Signature.getSignatureSimpleName(declaration);
+			case CompletionProposal.PACKAGE_REF:
+			case CompletionProposal.MODULE_REF:
+			case CompletionProposal.MODULE_DECLARATION:
+				// matched against qualified names
+				return null;
+			default:
+				return proposal.getName() != null ? proposal.getName() : proposal.getCompletion();
+		}
+	}
+
+	/**
+	 * Mirrors the relevance the completion engine gives to a name, depending on
+	 * how it matches the completion token.
+	 */
+	static final class CaseMatching {
+
+		static final int NO_MATCH = Integer.MIN_VALUE;
+
+		private final boolean camelCase;
+		private final boolean substring;
+		private final boolean subword;
+
+		CaseMatching(ICompilationUnit unit) {
+			this(isEnabled(unit, JavaCore.CODEASSIST_CAMEL_CASE_MATCH), isEnabled(unit, JavaCore.CODEASSIST_SUBSTRING_MATCH), isEnabled(unit, JavaCore.CODEASSIST_SUBWORD_MATCH));
+		}
+
+		CaseMatching(boolean camelCase, boolean substring, boolean subword) {
+			this.camelCase = camelCase;
+			this.substring = substring;
+			this.subword = subword;
+		}
+
+		int getRelevance(char[] token, char[] name) {
+			if (CharOperation.equals(token, name, true)) {
+				return RelevanceConstants.R_EXACT_NAME + RelevanceConstants.R_CASE;
+			}
+			if (CharOperation.equals(token, name, false)) {
+				return RelevanceConstants.R_EXACT_NAME;
+			}
+			if (CharOperation.prefixEquals(token, name, false)) {
+				return CharOperation.prefixEquals(token, name, true) ? RelevanceConstants.R_CASE : 0;
+			}
+			if (camelCase && CharOperation.camelCaseMatch(token, name)) {
+				return RelevanceConstants.R_CAMEL_CASE;
+			}
+			if (substring && CharOperation.substringMatch(token, name)) {
+				return RelevanceConstants.R_SUBSTRING;
+			}
+			if (subword && CharOperation.subWordMatch(token, name)) {
+				return RelevanceConstants.R_SUBWORD;
+			}
+			return NO_MATCH;
+		}
+
+		private static boolean isEnabled(ICompilationUnit unit, String option) {
+			return JavaCore.ENABLED.equals(unit.getJavaProject().getOption(option, true));
+		}
+	}
+
+	private static String getContents(ICompilationUnit unit) {
+		try {
+			return unit.getBuffer() == null ? null : unit.getBuffer().getContents();
+		} catch (Exception e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,435 @@
+/*******************************************************************************
+* Copyright (c) 2026 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License 2.0
+* which accompanies this distribution, and is available at
+* https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal.decompiler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.DecompilerResult;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Caches the decompiled classes.
+ * <p>
+ * The results are kept in memory within a number of entries and an estimated
+ * size, and are written to a folder, named after the content of the class file,
+ * so they are reused after a restart. The folder is kept within a size, the
+ * least recently used files being removed at startup and whenever it grows
+ * beyond it. A class is decompiled once at a time, concurrent requests for it
+ * waiting for the result, while the requests for other classes proceed.
+ * </p>
+ */
+public final class DecompilerCache {
+
+	/**
+	 * The maximum number of results kept in memory, 100 by default.
+	 */
+	static final String CACHE_SIZE_PROPERTY = "java.lsp.decompiler.cacheSize";
+	/**
+	 * The maximum estimated size of the results kept in memory, in megabytes,
+	 * 32 by default.
+	 */
+	static final String CACHE_MEMORY_PROPERTY = "java.lsp.decompiler.cacheMemory";
+	/**
+	 * Whether the results are written to disk, <code>true</code> by default.
+	 */
+	static final String DISK_CACHE_PROPERTY = "java.lsp.decompiler.diskCache";
+	/**
+	 * The maximum size of the results written to disk, in megabytes, 256 by
+	 * default.
+	 */
+	static final String DISK_CACHE_SIZE_PROPERTY = "java.lsp.decompiler.diskCacheSize";
+
+	private static final int FORMAT = 1;
+
+	@FunctionalInterface
+	public interface Decompiler {
+		DecompilerResult decompile() throws CoreException;
+	}
+
+	@FunctionalInterface
+	public interface ClassContent {
+		/**
+		 * @return the bytes of the class file, or <code>null</code> if they can't
+		 *         be read
+		 */
+		byte[] getBytes();
+	}
+
+	private final int maxEntries;
+	private final long maxSize;
+	private final Path folder;
+	private final long maxDiskSize;
+	private final String version;
+	// guarded by itself
+	private final LinkedHashMap<String, DecompilerResult> results = new LinkedHashMap<>(16, .75F, true);
+	private long size;
+	private final Map<String, CompletableFuture<DecompilerResult>> decompiling = new ConcurrentHashMap<>();
+	// the estimated size of the folder, since it was last pruned
+	private final AtomicLong diskSize = new AtomicLong();
+	private final Job pruneJob = new Job("Prune decompiled classes") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			prune();
+			return Status.OK_STATUS;
+		}
+	};
+
+	static DecompilerCache create(DecompilerType type) {
+		Path folder = null;
+		if (Boolean.parseBoolean(System.getProperty(DISK_CACHE_PROPERTY, "true")) && JavaLanguageServerPlugin.getInstance() != null) {
+			folder = JavaLanguageServerPlugin.getInstance().getStateLocation().append("decompiled").append(type.name().toLowerCase()).toPath();
+		}
+		// the decompiler is embedded, its version and options follow the server ones
+		String version = type.name() + "/" + JavaLanguageServerPlugin.getVersion() + "/" + Boolean.getBoolean("jdt.ls.debug");
+		DecompilerCache cache = new DecompilerCache(Integer.getInteger(CACHE_SIZE_PROPERTY, 100), Long.getLong(CACHE_MEMORY_PROPERTY, 32L) * 1024 * 1024, folder,
+				Long.getLong(DISK_CACHE_SIZE_PROPERTY, 256L) * 1024 * 1024, version);
+		if (folder != null) {
+			cache.pruneJob.schedule();
+		}
+		return cache;
+	}
+
+	public DecompilerCache(int maxEntries, long maxSize, Path folder, String version) {
+		this(maxEntries, maxSize, folder, Long.MAX_VALUE, version);
+	}
+
+	public DecompilerCache(int maxEntries, long maxSize, Path folder, long maxDiskSize, String version) {
+		this.maxEntries = Math.max(1, maxEntries);
+		this.maxSize = Math.max(0, maxSize);
+		this.folder = folder;
+		this.maxDiskSize = Math.max(0, maxDiskSize);
+		this.version = version;
+		pruneJob.setSystem(true);
+		pruneJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Returns the decompiled class, decompiling it if it's not cached.
+	 *
+	 * @param key
+	 *            the key of the class in memory
+	 * @param name
+	 *            the name of the class file
+	 * @param content
+	 *            the content of the class file, read when the class is not in
+	 *            memory
+	 * @param decompiler
+	 *            decompiles the class
+	 * @param monitor
+	 *            the progress monitor of the decompiler, also cancels waiting
+	 *            for the class being decompiled by another request
+	 * @return the result, or <code>null</code> if the class can't be decompiled
+	 */
+	public DecompilerResult get(String key, String name, ClassContent content, Decompiler decompiler, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			synchronized (results) {
+				DecompilerResult result = results.get(key);
+				if (result != null) {
+					return result;
+				}
+			}
+			CompletableFuture<DecompilerResult> future = new CompletableFuture<>();
+			CompletableFuture<DecompilerResult> running = decompiling.putIfAbsent(key, future);
+			if (running == null) {
+				return decompile(key, name, content, decompiler, monitor, future);
+			}
+			try {
+				return await(running, monitor);
+			} catch (OperationCanceledException e) {
+				if (isCanceled(monitor) || Thread.currentThread().isInterrupted()) {
+					throw e;
+				}
+				// the request decompiling the class was cancelled, decompile it with this one
+			}
+		}
+	}
+
+	private DecompilerResult decompile(String key, String name, ClassContent content, Decompiler decompiler, IProgressMonitor monitor, CompletableFuture<DecompilerResult> future) throws CoreException {
+		try {
+			DecompilerResult result = load(name, content, decompiler, monitor);
+			if (isCanceled(monitor)) {
+				// the decompiler may have given up, the waiting requests don't share the result
+				throw new OperationCanceledException();
+			}
+			if (result != null) {
+				put(key, result);
+			}
+			future.complete(result);
+			return result;
+		} catch (CoreException | RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			decompiling.remove(key, future);
+		}
+	}
+
+	private DecompilerResult load(String name, ClassContent content, Decompiler decompiler, IProgressMonitor monitor) throws CoreException {
+		Path file = null;
+		if (folder != null) {
+			byte[] bytes = content.getBytes();
+			if (bytes != null) {
+				file = folder.resolve(getDigest(name, bytes));
+				DecompilerResult result = read(file);
+				if (result != null) {
+					touch(file);
+					return result;
+				}
+			}
+		}
+		DecompilerResult result = decompiler.decompile();
+		if (result != null && result.getContent() != null && file != null && !isCanceled(monitor)) {
+			long written = write(file, result);
+			if (diskSize.addAndGet(written) > maxDiskSize) {
+				int state = pruneJob.getState();
+				if (state == Job.NONE || state == Job.RUNNING) {
+					pruneJob.schedule();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the least recently used files from the folder until it fits in
+	 * its maximum size.
+	 */
+	public void prune() {
+		if (folder == null || !Files.isDirectory(folder)) {
+			return;
+		}
+		record CachedFile(Path path, long size, FileTime lastModified) {
+		}
+		List<CachedFile> files = new ArrayList<>();
+		long total = 0;
+		try (Stream<Path> paths = Files.list(folder)) {
+			for (Path path : (Iterable<Path>) paths::iterator) {
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+					if (attributes.isRegularFile()) {
+						files.add(new CachedFile(path, attributes.size(), attributes.lastModifiedTime()));
+						total += attributes.size();
+					}
+				} catch (IOException e) {
+					// removed meanwhile
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			JavaLanguageServerPlugin.logException("Failed to list the decompiled classes in " + folder, e);
+			return;
+		}
+		if (total > maxDiskSize) {
+			files.sort(Comparator.comparing(CachedFile::lastModified));
+			for (CachedFile file : files) {
+				if (total <= maxDiskSize) {
+					break;
+				}
+				try {
+					Files.deleteIfExists(file.path());
+					total -= file.size();
+				} catch (IOException e) {
+					JavaLanguageServerPlugin.logException("Failed to delete the decompiled class " + file.path(), e);
+				}
+			}
+		}
+		diskSize.set(total);
+	}
+
+	private static boolean isCanceled(IProgressMonitor monitor) {
+		return monitor != null && monitor.isCanceled();
+	}
+
+	private static void touch(Path file) {
+		try {
+			// the modification time orders the files to prune
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			// pruned earlier than needed
+		}
+	}
+
+	private void put(String key, DecompilerResult result) {
+		synchronized (results) {
+			DecompilerResult previous = results.put(key, result);
+			if (previous != null) {
+				size -= getSize(previous);
+			}
+			size += getSize(result);
+			var iterator = results.values().iterator();
+			// keep the latest result, even when too large
+			while (results.size() > 1 && (results.size() > maxEntries || size > maxSize)) {
+				size -= getSize(iterator.next());
+				iterator.remove();
+			}
+		}
+	}
+
+	private static DecompilerResult await(CompletableFuture<DecompilerResult> future, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			if (isCanceled(monitor)) {
+				throw new OperationCanceledException();
+			}
+			try {
+				return future.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check the cancellation again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof CoreException coreException) {
+					throw coreException;
+				}
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	private static long getSize(DecompilerResult result) {
+		long size = 64;
+		if (result.getContent() != null) {
+			size += 2L * result.getContent().length();
+		}
+		if (result.getOriginalLineMappings() != null) {
+			size += 4L * result.getOriginalLineMappings().length;
+		}
+		if (result.getDecompiledLineMappings() != null) {
+			size += 4L * result.getDecompiledLineMappings().length;
+		}
+		return size;
+	}
+
+	private String getDigest(String name, byte[] bytes) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(version.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(name.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(bytes);
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static DecompilerResult read(Path file) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FORMAT) {
+				return null;
+			}
+			int length = in.readInt();
+			if (length < 0 || length > Files.size(file)) {
+				return null;
+			}
+			byte[] content = new byte[length];
+			in.readFully(content);
+			int[] originalLineMappings = readLineMappings(in);
+			int[] decompiledLineMappings = readLineMappings(in);
+			return new DecompilerResult(new String(content, StandardCharsets.UTF_8), originalLineMappings, decompiledLineMappings);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			JavaLanguageServerPlugin.logException("Failed to read the decompiled class " + file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return the size of the written file, or 0 if it can't be written
+	 */
+	private static long write(Path file, DecompilerResult result) {
+		try {
+			Files.createDirectories(file.getParent());
+			// written aside then moved, so a concurrent server never reads a partial file
+			Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+					out.writeInt(FORMAT);
+					byte[] content = result.getContent().getBytes(StandardCharsets.UTF_8);
+					out.writeInt(content.length);
+					out.write(content);
+					writeLineMappings(out, result.getOriginalLineMappings());
+					writeLineMappings(out, result.getDecompiledLineMappings());
+				}
+				long size = Files.size(temp);
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				return size;
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException | RuntimeException e) {
+			JavaLanguageServerPlugin.logException("Failed to write the decompiled class " + file, e);
+			return 0;
+		}
+	}
+
+	private static int[] readLineMappings(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		int[] mappings = new int[length];
+		for (int i = 0; i < length; i++) {
+			mappings[i] = in.readInt();
+		}
+		return mappings;
+	}
+
+	private static void writeLineMappings(DataOutputStream out, int[] mappings) throws IOException {
+		if (mappings == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(mappings.length);
+		for (int mapping : mappings) {
+			out.writeInt(mapping);
+		}
+	}
+}
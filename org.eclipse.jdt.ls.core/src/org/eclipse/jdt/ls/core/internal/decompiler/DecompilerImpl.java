@@ -13,45 +13,34 @@
 
 package org.eclipse.jdt.ls.core.internal.decompiler;
 
+import java.io.IOException;
 import java.net.URI;
-import java.util.Collections;
-import java.util.EnumMap;
-import java.util.LinkedHashMap;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.DecompilerResult;
 import org.eclipse.jdt.ls.core.internal.IDecompiler;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 
 public abstract class DecompilerImpl implements IDecompiler {
-	private static Map<DecompilerType, Map<String, DecompilerResult>> decompilerCache = 
-			Collections.synchronizedMap(new EnumMap<>(DecompilerType.class));
-	private static final int CACHE_SIZE = 100;
-
-	private static Map<String, DecompilerResult> getLRUCache(int maxEntries) {
-		Map<String, DecompilerResult> map = new LinkedHashMap<>(maxEntries + 1, .75F, true) {
-			@Override
-			public boolean removeEldestEntry(Map.Entry eldest) {
-				return size() > maxEntries;
-			}
-		};
-		return Collections.synchronizedMap(map);
-	}
+	private static Map<DecompilerType, DecompilerCache> decompilerCache = new ConcurrentHashMap<>();
 
-	private static Map<String, DecompilerResult> getCache(DecompilerType type) {
-		return decompilerCache.computeIfAbsent(type, key -> {
-			return getLRUCache(CACHE_SIZE);
-		});
+	private static DecompilerCache getCache(DecompilerType type) {
+		return decompilerCache.computeIfAbsent(type, DecompilerCache::create);
 	}
 
 	@Override
 	public String getContent(URI uri, IProgressMonitor monitor) throws CoreException {
-		Map<String, DecompilerResult> cache = getCache(getDecompilerType());
-		String cacheKey = uri.toString();
-		DecompilerResult result = cache.computeIfAbsent(cacheKey, (key) -> {
+		DecompilerCache cache = getCache(getDecompilerType());
+		DecompilerResult result = cache.get(uri.toString(), getName(uri), () -> getBytes(uri), () -> {
 			try {
 				return decompileContent(uri, monitor);
 			} catch (CoreException e) {
@@ -59,7 +48,7 @@ public abstract class DecompilerImpl implements IDecompiler {
 			}
 
 			return null;
-		});
+		}, monitor);
 
 		return result == null ? null : result.getContent();
 	}
@@ -72,9 +61,8 @@ public abstract class DecompilerImpl implements IDecompiler {
 
 	@Override
 	public DecompilerResult getDecompiledSource(IClassFile classFile, IProgressMonitor monitor) throws CoreException {
-		Map<String, DecompilerResult> cache = getCache(getDecompilerType());
-		String cacheKey = classFile.getHandleIdentifier();
-		return cache.computeIfAbsent(cacheKey, (key) -> {
+		DecompilerCache cache = getCache(getDecompilerType());
+		return cache.get(classFile.getHandleIdentifier(), getName(classFile), () -> getBytes(classFile), () -> {
 			try {
 				return decompileContent(classFile, monitor);
 			} catch (CoreException e) {
@@ -82,7 +70,40 @@ public abstract class DecompilerImpl implements IDecompiler {
 			}
 
 			return null;
-		});
+		}, monitor);
+	}
+
+	private static String getName(IClassFile classFile) {
+		return classFile.getParent().getElementName() + "/" + classFile.getElementName();
+	}
+
+	private static String getName(URI uri) {
+		IClassFile classFile = JDTUtils.resolveClassFile(uri);
+		if (classFile != null) {
+			return getName(classFile);
+		}
+		return String.valueOf(uri.getPath());
+	}
+
+	private static byte[] getBytes(IClassFile classFile) {
+		try {
+			return classFile.getBytes();
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+
+	private static byte[] getBytes(URI uri) {
+		IClassFile classFile = JDTUtils.resolveClassFile(uri);
+		if (classFile != null) {
+			return getBytes(classFile);
+		}
+		try {
+			Path path = Paths.get(uri);
+			return Files.readAllBytes(path);
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
 	}
 
 	protected abstract DecompilerResult decompileContent(URI uri, IProgressMonitor monitor) throws CoreException;
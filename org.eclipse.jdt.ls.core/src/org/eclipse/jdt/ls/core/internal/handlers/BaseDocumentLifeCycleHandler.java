@@ -16,6 +16,7 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,6 +27,12 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.eclipse.core.internal.resources.Workspace;
@@ -42,6 +49,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
@@ -66,10 +74,9 @@ import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
-import org.eclipse.jdt.ls.core.internal.MovingAverage;
+import org.eclipse.jdt.ls.core.internal.LatencyTracker;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalUtils;
-import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
 import org.eclipse.jdt.ls.core.internal.managers.InvisibleProjectImporter;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -79,20 +86,12 @@ import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
-import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.RenameFile;
-import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
 import org.eclipse.osgi.util.NLS;
-import org.eclipse.text.edits.DeleteEdit;
-import org.eclipse.text.edits.InsertEdit;
-import org.eclipse.text.edits.MalformedTreeException;
-import org.eclipse.text.edits.ReplaceEdit;
-import org.eclipse.text.edits.TextEdit;
 
 public abstract class BaseDocumentLifeCycleHandler {
 
@@ -115,6 +114,21 @@ public abstract class BaseDocumentLifeCycleHandler {
 	 */
 	private static final long PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE = 2000; /*ms*/
 
+	/**
+	 * The upper bounds, in characters, of the document size buckets. Durations
+	 * are tracked per bucket since large documents take longer to validate.
+	 */
+	private static final int[] SIZE_BUCKETS = { 10_000, 100_000 };
+	private static final String[] SIZE_BUCKET_NAMES = { "small", "medium", "large" };
+
+	/**
+	 * The number of units validated in parallel, set by the
+	 * <code>java.lsp.reconcile.parallelism</code> system property.
+	 */
+	private static final int RECONCILE_PARALLELISM = Integer.getInteger("java.lsp.reconcile.parallelism", Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+
+	private static ExecutorService reconcileExecutor;
+
 	private CoreASTProvider sharedASTProvider;
 	private Job validationTimer;
 	private Job publishDiagnosticsJob;
@@ -122,26 +136,32 @@ public abstract class BaseDocumentLifeCycleHandler {
 	private Set<ICompilationUnit> toValidate = ConcurrentHashMap.newKeySet();
 	private Map<String, Integer> documentVersions = new HashMap<>();
 	private Map<String, Integer> lastSyncedDocumentLengths = new ConcurrentHashMap<>();
-	private MovingAverage movingAverageForValidation = new MovingAverage(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE);
-	private MovingAverage movingAverageForDiagnostics = new MovingAverage(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE);
+	private final LatencyTracker[] validationLatencies = createLatencyTrackers("validation", DOCUMENT_LIFECYCLE_MAX_DEBOUNCE);
+	private final LatencyTracker[] diagnosticsLatencies = createLatencyTrackers("publishDiagnostics", PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE);
 	protected final PreferenceManager preferenceManager;
-	private Object reconcileLock = new Object();
+	/**
+	 * Locks preventing a unit from being reconciled by several threads at once,
+	 * striped by unit so that different units are reconciled in parallel.
+	 */
+	private final Object[] reconcileLocks = new Object[64];
+	/**
+	 * The monitors of the units being validated, used to cancel the validation
+	 * of a unit changed in the meantime.
+	 */
+	private final Map<ICompilationUnit, IProgressMonitor> validationMonitors = new ConcurrentHashMap<>();
 
 	public BaseDocumentLifeCycleHandler(PreferenceManager preferenceManager, boolean delayValidation) {
 		this.preferenceManager = preferenceManager;
 		this.sharedASTProvider = CoreASTProvider.getInstance();
+		for (int i = 0; i < reconcileLocks.length; i++) {
+			reconcileLocks[i] = new Object();
+		}
 		if (delayValidation) {
 			this.validationTimer = new Job("Validate documents") {
 				@Override
 				protected IStatus run(IProgressMonitor monitor) {
 					try {
-						long startTime = System.nanoTime();
-						IStatus status = performValidation(monitor);
-						if (status.getSeverity() != IStatus.CANCEL) {
-							long elapsedTime = System.nanoTime() - startTime;
-							movingAverageForValidation.update(elapsedTime / 1_000_000);
-						}
-						return status;
+						return performValidation(monitor);
 					} catch (JavaModelException e) {
 						return e.getStatus();
 					}
@@ -166,7 +186,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 	public abstract ICompilationUnit resolveCompilationUnit(String uri);
 
 	protected void triggerValidation(ICompilationUnit cu) throws JavaModelException {
-		triggerValidation(cu, getDocumentLifecycleDelay());
+		triggerValidation(cu, getDocumentLifecycleDelay(cu));
 	}
 
 	protected void triggerValidation(ICompilationUnit cu, long delay) throws JavaModelException {
@@ -177,6 +197,11 @@ public abstract class BaseDocumentLifeCycleHandler {
 			}
 			sharedASTProvider.setActiveJavaElement(cu);
 		}
+		IProgressMonitor validationMonitor = validationMonitors.get(cu);
+		if (validationMonitor != null) {
+			// the unit will be validated again with its new content
+			validationMonitor.setCanceled(true);
+		}
 		if (validationTimer != null) {
 			validationTimer.cancel();
 			if (publishDiagnosticsJob != null) {
@@ -189,8 +214,9 @@ public abstract class BaseDocumentLifeCycleHandler {
 		}
 	}
 
-	private long getDocumentLifecycleDelay() {
-		return Math.min(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE, Math.round(1.5 * movingAverageForValidation.value));
+	private long getDocumentLifecycleDelay(ICompilationUnit cu) {
+		long estimate = validationLatencies[getSizeBucket(List.of(cu))].estimate();
+		return Math.min(DOCUMENT_LIFECYCLE_MAX_DEBOUNCE, Math.round(1.5 * estimate));
 	}
 
 	/**
@@ -198,12 +224,43 @@ public abstract class BaseDocumentLifeCycleHandler {
 	 * ({@link #PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE}, {@link #PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE}) ms.
 	 */
 	private long getPublishDiagnosticsDelay() {
+		long estimate = diagnosticsLatencies[getSizeBucket(toValidate)].estimate();
 		return Math.min(
-			Math.max(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE, Math.round(1.5 * movingAverageForDiagnostics.value)),
+			Math.max(PUBLISH_DIAGNOSTICS_MIN_DEBOUNCE, Math.round(1.5 * estimate)),
 			PUBLISH_DIAGNOSTICS_MAX_DEBOUNCE
 		);
 	}
 
+	private static LatencyTracker[] createLatencyTrackers(String jobType, long initValue) {
+		LatencyTracker[] trackers = new LatencyTracker[SIZE_BUCKET_NAMES.length];
+		for (int i = 0; i < trackers.length; i++) {
+			trackers[i] = LatencyTracker.get(jobType + "." + SIZE_BUCKET_NAMES[i], initValue);
+		}
+		return trackers;
+	}
+
+	/**
+	 * @return the size bucket of the largest of the given units
+	 */
+	private static int getSizeBucket(Collection<ICompilationUnit> units) {
+		int length = 0;
+		for (ICompilationUnit unit : units) {
+			try {
+				IBuffer buffer = unit.getBuffer();
+				if (buffer != null) {
+					length = Math.max(length, buffer.getLength());
+				}
+			} catch (JavaModelException e) {
+				// the unit doesn't exist anymore
+			}
+		}
+		int bucket = 0;
+		while (bucket < SIZE_BUCKETS.length && length >= SIZE_BUCKETS[bucket]) {
+			bucket++;
+		}
+		return bucket;
+	}
+
 	private IStatus performValidation(IProgressMonitor monitor) throws JavaModelException {
 		long start = System.currentTimeMillis();
 
@@ -221,21 +278,24 @@ public abstract class BaseDocumentLifeCycleHandler {
 		}
 		// first reconcile all units with content changes
 		SubMonitor progress = SubMonitor.convert(monitor, cusToReconcile.size() + 1);
-		synchronized(reconcileLock) {
-			for (ICompilationUnit cu : cusToReconcile) {
-				if (monitor.isCanceled()) {
-					return Status.CANCEL_STATUS;
-				}
+		for (ICompilationUnit cu : cusToReconcile) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			synchronized (getReconcileLock(cu)) {
 				cu.makeConsistent(progress);
-				toValidate.add(cu);
-				//cu.reconcile(ICompilationUnit.NO_AST, false, null, progress.newChild(1));
 			}
+			toValidate.add(cu);
+			//cu.reconcile(ICompilationUnit.NO_AST, false, null, progress.newChild(1));
 		}
 
-		JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		long elapsedTime = System.currentTimeMillis() - start;
+		JavaLanguageServerPlugin.logInfo("Reconciled " + cusToReconcile.size() + ". Took " + elapsedTime + " ms");
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
+		// a cancelled validation would skew the latencies towards short times
+		validationLatencies[getSizeBucket(cusToReconcile)].update(elapsedTime);
 		if (publishDiagnosticsJob != null) {
 			publishDiagnosticsJob.cancel();
 			try {
@@ -294,17 +354,109 @@ public abstract class BaseDocumentLifeCycleHandler {
 		if (monitor.isCanceled()) {
 			return Status.CANCEL_STATUS;
 		}
-		for (ICompilationUnit rootToValidate : validateCopy) {
-			if (monitor.isCanceled()) {
+		List<ICompilationUnit> units = new ArrayList<>(validateCopy);
+		// the active editor is validated first, on this thread
+		if (sharedASTProvider.getActiveJavaElement() instanceof ICompilationUnit active && units.remove(active)) {
+			validate(active, monitor, progress.newChild(1));
+		}
+		if (RECONCILE_PARALLELISM <= 1 || units.size() <= 1) {
+			for (ICompilationUnit rootToValidate : units) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				validate(rootToValidate, monitor, progress.newChild(1));
+			}
+		} else {
+			// the units are independent, the diagnostics of each unit are published as soon as it is reconciled
+			List<Future<?>> futures = new ArrayList<>(units.size());
+			for (ICompilationUnit rootToValidate : units) {
+				futures.add(getReconcileExecutor().submit(() -> {
+					if (!monitor.isCanceled()) {
+						validate(rootToValidate, monitor, new NullProgressMonitor());
+					}
+					return null;
+				}));
+			}
+			JavaModelException exception = null;
+			boolean canceled = false;
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof OperationCanceledException) {
+						canceled = true;
+					} else if (e.getCause() instanceof JavaModelException javaModelException) {
+						if (exception == null) {
+							exception = javaModelException;
+						}
+					} else {
+						JavaLanguageServerPlugin.logException("Error while validating documents", e.getCause());
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return Status.CANCEL_STATUS;
+				}
+				progress.worked(1);
+			}
+			if (canceled) {
 				return Status.CANCEL_STATUS;
 			}
-			publishDiagnostics(rootToValidate, progress.newChild(1));
-			toValidate.remove(rootToValidate);
+			if (exception != null) {
+				throw exception;
+			}
 		}
-		JavaLanguageServerPlugin.logInfo("Validated " + validateCopy.size() + ". Took " + (System.currentTimeMillis() - start) + " ms");
+		if (monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		long elapsedTime = System.currentTimeMillis() - start;
+		diagnosticsLatencies[getSizeBucket(validateCopy)].update(elapsedTime);
+		JavaLanguageServerPlugin.logInfo("Validated " + validateCopy.size() + ". Took " + elapsedTime + " ms");
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Validates a unit with its own monitor, canceled when the given monitor is,
+	 * or when the unit changes.
+	 */
+	private void validate(ICompilationUnit unit, IProgressMonitor parent, IProgressMonitor progress) throws JavaModelException {
+		IProgressMonitor monitor = new ProgressMonitorWrapper(progress) {
+			private volatile boolean canceled;
+
+			@Override
+			public boolean isCanceled() {
+				return canceled || parent.isCanceled();
+			}
+
+			@Override
+			public void setCanceled(boolean value) {
+				canceled = value;
+			}
+		};
+		validationMonitors.put(unit, monitor);
+		try {
+			publishDiagnostics(unit, monitor);
+			if (!monitor.isCanceled()) {
+				toValidate.remove(unit);
+			}
+		} finally {
+			validationMonitors.remove(unit, monitor);
+		}
+	}
+
+	private Object getReconcileLock(ICompilationUnit unit) {
+		return reconcileLocks[Math.floorMod(unit.hashCode(), reconcileLocks.length)];
+	}
+
+	private static synchronized ExecutorService getReconcileExecutor() {
+		if (reconcileExecutor == null) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(RECONCILE_PARALLELISM, RECONCILE_PARALLELISM, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					Thread.ofPlatform().name("jdt.ls-reconcile-", 0).daemon(true).factory());
+			executor.allowCoreThreadTimeOut(true);
+			reconcileExecutor = executor;
+		}
+		return reconcileExecutor;
+	}
+
 	private void publishDiagnostics(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
 		final BaseDiagnosticsHandler handler = createDiagnosticsHandler(unit);
 		WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
@@ -334,7 +486,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 
 		};
 		int flags = ICompilationUnit.FORCE_PROBLEM_DETECTION | ICompilationUnit.ENABLE_BINDINGS_RECOVERY | ICompilationUnit.ENABLE_STATEMENTS_RECOVERY;
-		synchronized(reconcileLock) {
+		synchronized (getReconcileLock(unit)) {
 			unit.reconcile(ICompilationUnit.NO_AST, flags, wcOwner, monitor);
 		}
 	}
@@ -342,6 +494,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 	public void didClose(DidCloseTextDocumentParams params) {
 		documentVersions.remove(params.getTextDocument().getUri());
 		lastSyncedDocumentLengths.remove(params.getTextDocument().getUri());
+		SemanticTokensHandler.discard(params.getTextDocument().getUri());
 		handleClosed(params);
 	}
 
@@ -497,38 +650,12 @@ public abstract class BaseDocumentLifeCycleHandler {
 					 */
 					JavaLanguageServerPlugin.logError("Document on language server is out-of-sync: " + unit.getElementName());
 				}
-				List<TextDocumentContentChangeEvent> contentChanges = params.getContentChanges();
-				for (TextDocumentContentChangeEvent changeEvent : contentChanges) {
-
-					Range range = changeEvent.getRange();
-					int length;
-					IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
-					final int startOffset;
-					if (range != null) {
-						Position start = range.getStart();
-						startOffset = JsonRpcHelpers.toOffset(document, start.getLine(), start.getCharacter());
-						length = DiagnosticsHelper.getLength(unit, range);
-					} else {
-						// range is optional and if not given, the whole file content is replaced
-						length = unit.getSource().length();
-						startOffset = 0;
-					}
-
-					TextEdit edit = null;
-					String text = changeEvent.getText();
-					if (length == 0) {
-						edit = new InsertEdit(startOffset, text);
-					} else if (text.isEmpty()) {
-						edit = new DeleteEdit(startOffset, length);
-					} else {
-						edit = new ReplaceEdit(startOffset, length, text);
-					}
-					edit.apply(document, TextEdit.NONE);
-				}
+				IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
+				TextDocumentChanges.apply(document, params.getContentChanges());
 				lastSyncedDocumentLengths.put(uri, unit.getBuffer().getLength());
 			}
 			triggerValidation(unit);
-		} catch (JavaModelException | MalformedTreeException | BadLocationException e) {
+		} catch (JavaModelException | BadLocationException e) {
 			JavaLanguageServerPlugin.logException("Error while handling document change. URI: " + uri, e);
 		}
 
@@ -794,13 +921,7 @@ public abstract class BaseDocumentLifeCycleHandler {
 		@Override
 		public IStatus run(IProgressMonitor monitor) {
 			try {
-				long startTime = System.nanoTime();
-				IStatus status = publishDiagnostics(monitor);
-				if (status.getSeverity() != IStatus.CANCEL) {
-					long elapsedTime = System.nanoTime() - startTime;
-					movingAverageForDiagnostics.update(elapsedTime / 1_000_000);
-				}
-				return status;
+				return publishDiagnostics(monitor);
 			} catch (JavaModelException e) {
 				return e.getStatus();
 			}
@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodCall;
+import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Caches the call hierarchy nodes, so that expanding again the calls of a
+ * member, e.g. of a utility method called from many places, doesn't search
+ * them again.
+ *
+ * The cache is bounded both in number of nodes and in number of call
+ * locations, the least recently used nodes being evicted first. The nodes are
+ * kept across call hierarchy sessions and invalidated by the Java model
+ * changes:
+ * <ul>
+ * <li>a node is discarded when the compilation unit of its member or of one of
+ * its calls changes,</li>
+ * <li>an incoming calls node is also discarded when a changed compilation unit
+ * mentions the name of its member, since it may call it now,</li>
+ * <li>all the nodes are discarded when a classpath or a library changes.</li>
+ * </ul>
+ */
+public final class CallHierarchyCache implements IElementChangedListener {
+
+	/**
+	 * The maximum number of nodes, set by the
+	 * <code>java.lsp.callHierarchy.cacheSize</code> system property.
+	 */
+	private static final int MAX_ENTRIES = Integer.getInteger("java.lsp.callHierarchy.cacheSize", 1000);
+
+	/**
+	 * The maximum number of call locations held by the nodes, set by the
+	 * <code>java.lsp.callHierarchy.cacheLocations</code> system property.
+	 */
+	private static final int MAX_LOCATIONS = Integer.getInteger("java.lsp.callHierarchy.cacheLocations", 50_000);
+
+	private static volatile CallHierarchyCache instance;
+
+	private final int maxEntries;
+	private final int maxLocations;
+	// guarded by this
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private int locations;
+	private int session;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	CallHierarchyCache(int maxEntries, int maxLocations) {
+		this.maxEntries = maxEntries;
+		this.maxLocations = maxLocations;
+	}
+
+	static CallHierarchyCache getInstance() {
+		CallHierarchyCache cache = instance;
+		if (cache == null) {
+			synchronized (CallHierarchyCache.class) {
+				cache = instance;
+				if (cache == null) {
+					cache = new CallHierarchyCache(MAX_ENTRIES, MAX_LOCATIONS);
+					JavaCore.addElementChangedListener(cache, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+					instance = cache;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Starts a new call hierarchy session, i.e. a new tree.
+	 */
+	synchronized void newSession() {
+		session++;
+	}
+
+	/**
+	 * Returns the node of the given member.
+	 *
+	 * @param member
+	 *            the member
+	 * @param incoming
+	 *            whether the incoming or the outgoing calls node is requested
+	 * @return the cached node, or <code>null</code>
+	 */
+	synchronized MethodWrapper get(IMember member, boolean incoming) {
+		Entry entry = entries.get(new Key(member, incoming));
+		// a node which is recursive in the tree of a previous session may not be in the current one
+		if (entry == null || (entry.session != session && entry.wrapper.isRecursive())) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.wrapper;
+	}
+
+	/**
+	 * Caches the given node and its calls, which were just computed.
+	 *
+	 * @param wrapper
+	 *            the node
+	 * @param incoming
+	 *            whether it is an incoming calls node
+	 * @param calls
+	 *            the calls of the node
+	 */
+	synchronized void put(MethodWrapper wrapper, boolean incoming, MethodWrapper[] calls) {
+		Set<IJavaElement> typeRoots = new HashSet<>();
+		addTypeRoot(wrapper.getMember(), typeRoots);
+		int weight = 1;
+		for (MethodWrapper call : calls) {
+			addTypeRoot(call.getMember(), typeRoots);
+			weight += getLocationCount(call);
+		}
+		add(wrapper, incoming, new Entry(wrapper, session, typeRoots, weight, true));
+		for (MethodWrapper call : calls) {
+			IMember member = call.getMember();
+			if (member == null) {
+				continue;
+			}
+			Entry existing = entries.get(new Key(member, incoming));
+			// keep the calls already computed for the member, unless the node is recursive in the current tree
+			if (existing != null && existing.computed && !existing.wrapper.isRecursive() && !call.isRecursive()) {
+				continue;
+			}
+			Set<IJavaElement> callTypeRoots = new HashSet<>();
+			addTypeRoot(member, callTypeRoots);
+			add(call, incoming, new Entry(call, session, callTypeRoots, 1, false));
+		}
+		evict();
+	}
+
+	synchronized void clear() {
+		entries.values().forEach(entry -> entry.wrapper.removeFromCache());
+		invalidations += entries.size();
+		entries.clear();
+		locations = 0;
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the statistics of the call hierarchy cache.
+	 */
+	public static CacheStatistics getStatistics() {
+		CallHierarchyCache cache = instance;
+		if (cache == null) {
+			return new CacheStatistics(0, 0, 0, 0, 0, 0);
+		}
+		synchronized (cache) {
+			return new CacheStatistics(cache.entries.size(), cache.locations, cache.hits, cache.misses, cache.evictions, cache.invalidations);
+		}
+	}
+
+	private void add(MethodWrapper wrapper, boolean incoming, Entry entry) {
+		IMember member = wrapper.getMember();
+		if (member == null) {
+			return;
+		}
+		Entry previous = entries.put(new Key(member, incoming), entry);
+		if (previous != null) {
+			locations -= previous.weight;
+			if (previous.wrapper != wrapper) {
+				previous.wrapper.removeFromCache();
+			}
+		}
+		locations += entry.weight;
+	}
+
+	private void evict() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while ((entries.size() > maxEntries || locations > maxLocations) && iterator.hasNext()) {
+			Entry entry = iterator.next();
+			iterator.remove();
+			locations -= entry.weight;
+			entry.wrapper.removeFromCache();
+			evictions++;
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (entries.isEmpty()) {
+				return;
+			}
+		}
+		Set<IJavaElement> changed = new HashSet<>();
+		if (collectChanges(event.getDelta(), changed)) {
+			clear();
+			return;
+		}
+		if (changed.isEmpty()) {
+			return;
+		}
+		List<String> sources = new ArrayList<>();
+		for (IJavaElement element : changed) {
+			if (element instanceof ICompilationUnit unit && unit.exists()) {
+				try {
+					String source = unit.getSource();
+					if (source != null) {
+						sources.add(source);
+					}
+				} catch (JavaModelException e) {
+					JavaLanguageServerPlugin.logException("Failed to read " + unit.getElementName(), e);
+				}
+			}
+		}
+		invalidate(changed, sources);
+	}
+
+	/**
+	 * Discards the nodes depending on the given type roots.
+	 *
+	 * @param changed
+	 *            the changed type roots
+	 * @param sources
+	 *            the sources of the changed compilation units
+	 */
+	synchronized void invalidate(Set<IJavaElement> changed, List<String> sources) {
+		Map<String, Boolean> mentioned = new HashMap<>();
+		Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key, Entry> mapEntry = iterator.next();
+			Entry entry = mapEntry.getValue();
+			boolean stale = entry.typeRoots.stream().anyMatch(changed::contains);
+			if (!stale && mapEntry.getKey().incoming()) {
+				String name = getName(mapEntry.getKey().member());
+				stale = mentioned.computeIfAbsent(name, n -> sources.stream().anyMatch(source -> source.contains(n)));
+			}
+			if (stale) {
+				iterator.remove();
+				locations -= entry.weight;
+				entry.wrapper.removeFromCache();
+				invalidations++;
+			}
+		}
+	}
+
+	/**
+	 * Collects the type roots changed by the given delta.
+	 *
+	 * @return whether all the nodes must be discarded
+	 */
+	private static boolean collectChanges(IJavaElementDelta delta, Set<IJavaElement> changed) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_REORDER)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0) {
+					changed.add(((ICompilationUnit) element).getPrimary());
+				}
+				return false;
+			case IJavaElement.CLASS_FILE:
+				changed.add(element);
+				return false;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (collectChanges(child, changed)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void addTypeRoot(IMember member, Set<IJavaElement> typeRoots) {
+		if (member == null) {
+			return;
+		}
+		ITypeRoot typeRoot = member.getTypeRoot();
+		if (typeRoot instanceof ICompilationUnit unit) {
+			typeRoots.add(unit.getPrimary());
+		} else if (typeRoot != null) {
+			typeRoots.add(typeRoot);
+		}
+	}
+
+	private static int getLocationCount(MethodWrapper call) {
+		MethodCall methodCall = call.getMethodCall();
+		return methodCall == null ? 1 : Math.max(1, methodCall.getCallLocations().size());
+	}
+
+	private static String getName(IMember member) {
+		try {
+			// a constructor is called by the name of its type
+			if (member instanceof IMethod method && method.isConstructor()) {
+				return method.getDeclaringType().getElementName();
+			}
+		} catch (JavaModelException e) {
+			// use the name of the element
+		}
+		return member.getElementName();
+	}
+
+	private record Key(IMember member, boolean incoming) {
+	}
+
+	private record Entry(MethodWrapper wrapper, int session, Set<IJavaElement> typeRoots, int weight, boolean computed) {
+	}
+
+	/**
+	 * Point in time statistics of the call hierarchy cache.
+	 */
+	public record CacheStatistics(int entries, int locations, long hits, long misses, long evictions, long invalidations) {
+	}
+}
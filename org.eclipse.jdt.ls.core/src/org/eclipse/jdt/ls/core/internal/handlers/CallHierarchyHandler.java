@@ -22,9 +22,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.Assert;
@@ -61,15 +59,11 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolTag;
 
 public class CallHierarchyHandler {
-	private static Map<IJavaElement, MethodWrapper> incomingMethodWrapperCache = new ConcurrentHashMap<>();
-	private static Map<IJavaElement, MethodWrapper> outgoingMethodWrapperCache = new ConcurrentHashMap<>();
-
 	public List<CallHierarchyItem> prepareCallHierarchy(CallHierarchyPrepareParams params, IProgressMonitor monitor) {
 		Assert.isNotNull(params, "params");
 
-		// trigger call hierarchy at a new position, clean the method wrapper cache.
-		incomingMethodWrapperCache.clear();
-		outgoingMethodWrapperCache.clear();
+		// trigger call hierarchy at a new position, the cached calls are kept for the new tree.
+		CallHierarchyCache.getInstance().newSession();
 
 		String uri = params.getTextDocument().getUri();
 		int line = params.getPosition().getLine();
@@ -192,8 +186,11 @@ public class CallHierarchyHandler {
 
 		checkMonitor(monitor);
 
-		MethodWrapper wrapper = incomingMethodWrapperCache.containsKey(candidate) ?
-			incomingMethodWrapperCache.get(candidate) : getCallRoot(candidate, true);
+		CallHierarchyCache cache = CallHierarchyCache.getInstance();
+		MethodWrapper wrapper = cache.get(candidate, true);
+		if (wrapper == null) {
+			wrapper = getCallRoot(candidate, true);
+		}
 		if (wrapper == null || !wrapper.canHaveChildren()) {
 			return null;
 		}
@@ -206,6 +203,7 @@ public class CallHierarchyHandler {
 		if (calls == null) {
 			return null;
 		}
+		cache.put(wrapper, true, calls);
 
 		List<CallHierarchyIncomingCall> result = new ArrayList<>();
 		for (MethodWrapper call : calls) {
@@ -222,10 +220,6 @@ public class CallHierarchyHandler {
 					}
 				}
 			}
-			IMember member = call.getMember();
-			if (member != null) {
-				incomingMethodWrapperCache.put(member, call);
-			}
 		}
 
 		return result;
@@ -251,7 +245,11 @@ public class CallHierarchyHandler {
 
 		checkMonitor(monitor);
 
-		MethodWrapper wrapper = outgoingMethodWrapperCache.containsKey(candidate) ? outgoingMethodWrapperCache.get(candidate) : getCallRoot(candidate, false);
+		CallHierarchyCache cache = CallHierarchyCache.getInstance();
+		MethodWrapper wrapper = cache.get(candidate, false);
+		if (wrapper == null) {
+			wrapper = getCallRoot(candidate, false);
+		}
 		if (wrapper == null) {
 			return null;
 		}
@@ -264,6 +262,7 @@ public class CallHierarchyHandler {
 		if (calls == null) {
 			return null;
 		}
+		cache.put(wrapper, false, calls);
 
 		List<CallHierarchyOutgoingCall> result = new ArrayList<>();
 		for (MethodWrapper call : calls) {
@@ -277,10 +276,6 @@ public class CallHierarchyHandler {
 					}
 				}
 			}
-			IMember member = call.getMember();
-			if (member != null) {
-				outgoingMethodWrapperCache.put(member, call);
-			}
 		}
 
 		return result;
@@ -36,6 +36,7 @@ import org.eclipse.jdt.ls.core.internal.EventType;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionSession;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.FeatureStatus;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
@@ -59,6 +60,10 @@ public class ClasspathUpdateHandler implements IElementChangedListener {
 		// Collect project names which have classpath changed.
 		Set<IJavaProject> projects = new HashSet<>();
 		processDelta(event.getDelta(), projects);
+		if (!projects.isEmpty()) {
+			// the cached completion proposals may refer to types which are no longer on the classpath
+			CompletionSession.invalidate();
+		}
 		if (connection != null && projects != null && !projects.isEmpty()) {
 			for (IJavaProject javaProject : projects) {
 				String uri = ProjectUtils.getProjectRealFolder(javaProject.getProject()).toFile().toURI().toString();
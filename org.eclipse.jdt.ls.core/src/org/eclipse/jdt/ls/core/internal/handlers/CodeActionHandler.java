@@ -38,7 +38,6 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 import org.eclipse.jdt.core.manipulation.ChangeCorrectionProposalCore;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.ui.text.correction.ProblemLocation;
@@ -461,7 +460,7 @@ public class CodeActionHandler {
 	}
 
 	public static CompilationUnit getASTRoot(ICompilationUnit unit, IProgressMonitor monitor) {
-		return CoreASTProvider.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
+		return JDTUtils.getAst(unit, monitor);
 	}
 
 	public static IInvocationContext getContext(ICompilationUnit unit, CompilationUnit astRoot, Range range) {
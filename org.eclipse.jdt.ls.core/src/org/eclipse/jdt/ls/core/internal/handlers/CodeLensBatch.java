@@ -0,0 +1,416 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.corext.util.JdtFlags;
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.lsp4j.Location;
+
+/**
+ * Resolves the code lenses of a document together: the references of all its
+ * elements are searched with a single pattern, and the implementations of the
+ * methods of a type share a single type hierarchy and search.
+ *
+ * The results are kept until the Java model changes, so that resolving all
+ * the lenses of a document costs about as much as resolving one of them.
+ */
+public final class CodeLensBatch {
+
+	private static final int MAX_BATCHES = 32;
+
+	/**
+	 * The flags of the deltas that don't change the references, e.g. those of a
+	 * reconcile that found no change.
+	 */
+	private static final int UNAFFECTING_FLAGS = IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_AST_AFFECTED;
+
+	private static final Map<String, CodeLensBatch> batches = new ConcurrentHashMap<>();
+	private static final AtomicLong generation = new AtomicLong();
+	private static volatile boolean listening;
+
+	private final long batchGeneration;
+	private final List<IJavaElement> referenceTargets;
+	private final List<IJavaElement> implementationTargets;
+	// guarded by this
+	private Map<IJavaElement, List<Location>> references;
+	private Map<IJavaElement, List<Location>> implementations;
+
+	private CodeLensBatch(long batchGeneration, List<IJavaElement> referenceTargets, List<IJavaElement> implementationTargets) {
+		this.batchGeneration = batchGeneration;
+		this.referenceTargets = referenceTargets;
+		this.implementationTargets = implementationTargets;
+	}
+
+	/**
+	 * Returns the version of the Java model, to be read before collecting the
+	 * targets of a batch.
+	 */
+	static long getGeneration() {
+		if (!listening) {
+			synchronized (batches) {
+				if (!listening) {
+					// any change, including unsaved ones, may change the references
+					JavaCore.addElementChangedListener(CodeLensBatch::elementChanged, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+					listening = true;
+				}
+			}
+		}
+		return generation.get();
+	}
+
+	private static void elementChanged(ElementChangedEvent event) {
+		if (affectsReferences(event.getDelta())) {
+			generation.incrementAndGet();
+		}
+	}
+
+	private static boolean affectsReferences(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~UNAFFECTING_FLAGS) != 0 || delta.getResourceDeltas() != null) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsReferences(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the batch of the given document, if it is still up to date.
+	 */
+	static CodeLensBatch get(String uri) {
+		CodeLensBatch batch = batches.get(uri);
+		return batch != null && batch.batchGeneration == getGeneration() ? batch : null;
+	}
+
+	/**
+	 * Registers the batch of a document, unless another up to date batch was
+	 * registered in the meantime.
+	 *
+	 * @param uri
+	 *            the uri of the document
+	 * @param batchGeneration
+	 *            the version of the Java model when the targets were collected
+	 * @param referenceTargets
+	 *            the elements having a references lens
+	 * @param implementationTargets
+	 *            the elements having an implementations lens
+	 * @return the batch of the document
+	 */
+	static CodeLensBatch register(String uri, long batchGeneration, List<IJavaElement> referenceTargets, List<IJavaElement> implementationTargets) {
+		CodeLensBatch batch = new CodeLensBatch(batchGeneration, List.copyOf(referenceTargets), List.copyOf(implementationTargets));
+		if (batches.size() >= MAX_BATCHES) {
+			long current = generation.get();
+			batches.values().removeIf(b -> b.batchGeneration != current);
+			if (batches.size() >= MAX_BATCHES) {
+				batches.clear();
+			}
+		}
+		return batches.merge(uri, batch, (existing, created) -> existing.batchGeneration >= created.batchGeneration ? existing : created);
+	}
+
+	/**
+	 * Returns the references of the given element, or <code>null</code> if the
+	 * element is not part of the batch.
+	 */
+	synchronized List<Location> getReferences(IJavaElement element, IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException {
+		if (!referenceTargets.contains(element)) {
+			return null;
+		}
+		if (references == null) {
+			references = findReferences(referenceTargets, scope, monitor);
+		}
+		return references.get(element);
+	}
+
+	/**
+	 * Returns the implementations of the given type or method, or
+	 * <code>null</code> if the element is not part of the batch.
+	 */
+	synchronized List<Location> getImplementations(IJavaElement element, boolean includeClassFiles, IProgressMonitor monitor) throws CoreException {
+		if (!implementationTargets.contains(element)) {
+			return null;
+		}
+		if (implementations == null) {
+			implementations = findImplementations(implementationTargets, includeClassFiles, monitor);
+		}
+		return implementations.get(element);
+	}
+
+	private static Map<IJavaElement, List<Location>> findReferences(List<IJavaElement> targets, IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException {
+		Map<IJavaElement, List<Location>> result = new HashMap<>();
+		// the matches of the combined search are attributed by the referenced name
+		Map<String, IJavaElement> targetsByName = new LinkedHashMap<>();
+		Set<String> ambiguousNames = new HashSet<>();
+		List<IJavaElement> singleTargets = new ArrayList<>();
+		for (IJavaElement target : targets) {
+			result.put(target, new ArrayList<>());
+			String name = target.getElementName();
+			if (target instanceof IMethod method && method.isConstructor()) {
+				// constructor invocation matches don't start with the name of the type
+				singleTargets.add(target);
+			} else if (ambiguousNames.contains(name)) {
+				singleTargets.add(target);
+			} else if (targetsByName.containsKey(name)) {
+				ambiguousNames.add(name);
+				singleTargets.add(targetsByName.remove(name));
+				singleTargets.add(target);
+			} else {
+				targetsByName.put(name, target);
+			}
+		}
+		if (targetsByName.size() > 1) {
+			SearchPattern pattern = null;
+			for (IJavaElement target : targetsByName.values()) {
+				SearchPattern targetPattern = SearchPattern.createPattern(target, IJavaSearchConstants.REFERENCES);
+				if (targetPattern != null) {
+					pattern = pattern == null ? targetPattern : SearchPattern.createOrPattern(pattern, targetPattern);
+				}
+			}
+			boolean attributed = pattern == null || search(pattern, scope, (compilationUnit, match) -> {
+				IJavaElement target = targetsByName.get(getReferencedName(compilationUnit, match));
+				if (target == null) {
+					return false;
+				}
+				result.get(target).add(JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength()));
+				return true;
+			}, monitor);
+			if (!attributed) {
+				// some references can't be attributed by name, search them one by one
+				targetsByName.values().forEach(target -> result.get(target).clear());
+				singleTargets.addAll(targetsByName.values());
+			}
+		} else {
+			singleTargets.addAll(targetsByName.values());
+		}
+		for (IJavaElement target : singleTargets) {
+			SearchPattern pattern = SearchPattern.createPattern(target, IJavaSearchConstants.REFERENCES);
+			if (pattern != null) {
+				List<Location> locations = result.get(target);
+				search(pattern, scope, (compilationUnit, match) -> locations.add(JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength())), monitor);
+			}
+		}
+		result.replaceAll((target, locations) -> Collections.unmodifiableList(locations));
+		return result;
+	}
+
+	/**
+	 * Searches for the given pattern.
+	 *
+	 * @return whether all the matches were accepted by the acceptor
+	 */
+	private static boolean search(SearchPattern pattern, IJavaSearchScope scope, MatchAcceptor acceptor, IProgressMonitor monitor) throws CoreException {
+		boolean[] accepted = { true };
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_INACCURATE) {
+					return;
+				}
+				if (match.getElement() instanceof IJavaElement element) {
+					ICompilationUnit compilationUnit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+					if (compilationUnit != null && !acceptor.accept(compilationUnit, match)) {
+						accepted[0] = false;
+					}
+				}
+			}
+		}, monitor);
+		return accepted[0];
+	}
+
+	/**
+	 * Returns the simple name of the element referenced by the given match, e.g.
+	 * <code>List</code> for <code>java.util.List&lt;String&gt;</code> or
+	 * <code>foo</code> for <code>foo(bar)</code>.
+	 */
+	static String getReferencedName(ICompilationUnit compilationUnit, SearchMatch match) throws CoreException {
+		IBuffer buffer = compilationUnit.getBuffer();
+		if (buffer == null || match.getOffset() < 0 || match.getOffset() + match.getLength() > buffer.getLength()) {
+			return null;
+		}
+		return getReferencedName(buffer.getText(match.getOffset(), match.getLength()));
+	}
+
+	public static String getReferencedName(String text) {
+		int end = text.length();
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '(' || c == '<' || c == '[') {
+				end = i;
+				break;
+			}
+		}
+		String name = text.substring(text.lastIndexOf('.', end - 1) + 1, end).strip();
+		if (name.startsWith("@")) {
+			name = name.substring(1).strip();
+		}
+		return name;
+	}
+
+	private static Map<IJavaElement, List<Location>> findImplementations(List<IJavaElement> targets, boolean includeClassFiles, IProgressMonitor monitor) throws CoreException {
+		Map<IJavaElement, List<Location>> result = new HashMap<>();
+		Map<IType, List<IMethod>> methodsByType = new LinkedHashMap<>();
+		for (IJavaElement target : targets) {
+			result.put(target, new ArrayList<>());
+			if (target instanceof IType type) {
+				methodsByType.computeIfAbsent(type, t -> new ArrayList<>());
+			} else if (target instanceof IMethod method) {
+				List<IMethod> methods = methodsByType.computeIfAbsent(method.getDeclaringType(), t -> new ArrayList<>());
+				if (!cannotBeOverriddenMethod(method)) {
+					methods.add(method);
+				}
+			}
+		}
+		for (Map.Entry<IType, List<IMethod>> entry : methodsByType.entrySet()) {
+			IType type = entry.getKey();
+			List<IMethod> methods = entry.getValue();
+			if (!result.containsKey(type) && methods.isEmpty()) {
+				continue;
+			}
+			ITypeHierarchy hierarchy = type.newTypeHierarchy(monitor);
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			IType[] subtypes = hierarchy.getAllSubtypes(type);
+			if (result.containsKey(type)) {
+				//java.lang.Object is a special case. We need to minimize heavy cost of I/O,
+				// by avoiding opening all files from the Object hierarchy
+				ImplementationToLocationMapper mapper = new ImplementationToLocationMapper(includeClassFiles, "java.lang.Object".equals(type.getFullyQualifiedName()));
+				List<Location> locations = result.get(type);
+				for (IType subtype : subtypes) {
+					Location location = mapper.convert(subtype, 0, 0);
+					if (location != null) {
+						locations.add(location);
+					}
+				}
+			}
+			if (!methods.isEmpty()) {
+				findMethodImplementations(type, methods, hierarchy, subtypes, new ImplementationToLocationMapper(includeClassFiles, false), result, monitor);
+			}
+		}
+		result.replaceAll((target, locations) -> Collections.unmodifiableList(locations));
+		return result;
+	}
+
+	/**
+	 * Searches for the implementations of the methods of a type in its
+	 * hierarchy, like {@link ImplementationCollector} does for a method
+	 * declaration: the subtypes of a class, the whole hierarchy of an
+	 * interface.
+	 */
+	private static void findMethodImplementations(IType type, List<IMethod> methods, ITypeHierarchy hierarchy, IType[] subtypes, ImplementationToLocationMapper mapper, Map<IJavaElement, List<Location>> result,
+			IProgressMonitor monitor) throws CoreException {
+		IType[] scopeTypes = type.isInterface() ? hierarchy.getAllTypes() : subtypes;
+		if (scopeTypes.length == 0) {
+			return;
+		}
+		Set<IType> overridingTypes = new HashSet<>(List.of(subtypes));
+		overridingTypes.add(type);
+		int limitTo = IJavaSearchConstants.DECLARATIONS | IJavaSearchConstants.IGNORE_DECLARING_TYPE | IJavaSearchConstants.IGNORE_RETURN_TYPE;
+		SearchPattern pattern = null;
+		for (IMethod method : methods) {
+			SearchPattern methodPattern = SearchPattern.createPattern(method, limitTo);
+			if (methodPattern != null) {
+				pattern = pattern == null ? methodPattern : SearchPattern.createOrPattern(pattern, methodPattern);
+			}
+		}
+		if (pattern == null) {
+			return;
+		}
+		IJavaSearchScope scope = SearchEngine.createJavaSearchScope(scopeTypes);
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() != SearchMatch.A_ACCURATE || !(match.getElement() instanceof IMethod methodFound) || JdtFlags.isAbstract(methodFound)) {
+					return;
+				}
+				IMethod method = getImplementedMethod(type, methods, hierarchy, overridingTypes, methodFound);
+				if (method != null) {
+					Location location = mapper.convert(methodFound, match.getOffset(), match.getLength());
+					if (location != null) {
+						result.get(method).add(location);
+					}
+				}
+			}
+		}, monitor);
+	}
+
+	private static IMethod getImplementedMethod(IType type, List<IMethod> methods, ITypeHierarchy hierarchy, Set<IType> overridingTypes, IMethod methodFound) throws CoreException {
+		IType declaringType = methodFound.getDeclaringType();
+		if (overridingTypes.contains(declaringType)) {
+			IMethod overridden = new MethodOverrideTester(declaringType, hierarchy).findOverriddenMethodInType(type, methodFound);
+			if (overridden != null) {
+				return methods.contains(overridden) ? overridden : null;
+			}
+		}
+		// the method was matched by its name and number of parameters
+		IMethod candidate = null;
+		for (IMethod method : methods) {
+			if (method.getElementName().equals(methodFound.getElementName()) && method.getNumberOfParameters() == methodFound.getNumberOfParameters()) {
+				if (candidate != null) {
+					return null;
+				}
+				candidate = method;
+			}
+		}
+		return candidate;
+	}
+
+	private static boolean cannotBeOverriddenMethod(IMethod method) throws CoreException {
+		return JdtFlags.isPrivate(method) || JdtFlags.isFinal(method) || JdtFlags.isStatic(method) || method.isConstructor() || JdtFlags.isFinal((IMember) method.getParent());
+	}
+
+	@FunctionalInterface
+	private interface MatchAcceptor {
+
+		/**
+		 * @return whether the match was accepted
+		 */
+		boolean accept(ICompilationUnit compilationUnit, SearchMatch match) throws CoreException;
+	}
+}
@@ -19,7 +19,6 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IClassFile;
@@ -31,7 +30,6 @@ import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
@@ -43,6 +41,7 @@ import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ProjectDependencyGraph;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.SearchScope;
@@ -98,16 +97,24 @@ public class CodeLensHandler {
 				IJavaElement element = JDTUtils.findElementAtSelection(typeRoot, position.getLine(), position.getCharacter(), this.preferenceManager, monitor);
 				if (REFERENCES_TYPE.equals(type)) {
 					try {
-						locations = findReferences(element, monitor);
+						if (element != null) {
+							locations = getBatch(uri, typeRoot, monitor).getReferences(element, createSearchScope(element), monitor);
+						}
+						if (locations == null) {
+							locations = findReferences(element, monitor);
+						}
 					} catch (CoreException e) {
 						JavaLanguageServerPlugin.logException(e.getMessage(), e);
 					}
 				} else if (IMPLEMENTATION_TYPE.equals(type)) {
 					if (element instanceof IType || element instanceof IMethod) {
 						try {
-							IDocument document = JsonRpcHelpers.toDocument(typeRoot.getBuffer());
-							int offset = document.getLineOffset(position.getLine()) + position.getCharacter();
-							locations = findImplementations(typeRoot, element, offset, monitor);
+							locations = getBatch(uri, typeRoot, monitor).getImplementations(element, preferenceManager.isClientSupportsClassFileContent(), monitor);
+							if (locations == null) {
+								IDocument document = JsonRpcHelpers.toDocument(typeRoot.getBuffer());
+								int offset = document.getLineOffset(position.getLine()) + position.getCharacter();
+								locations = findImplementations(typeRoot, element, offset, monitor);
+							}
 						} catch (CoreException | BadLocationException e) {
 							JavaLanguageServerPlugin.logException(e.getMessage(), e);
 						}
@@ -128,6 +135,26 @@ public class CodeLensHandler {
 		return lens;
 	}
 
+	/**
+	 * Returns the batch resolving the lenses of the given document, collecting
+	 * its lenses if they changed since the last resolution.
+	 */
+	private CodeLensBatch getBatch(String uri, ITypeRoot typeRoot, IProgressMonitor monitor) throws JavaModelException {
+		CodeLensBatch batch = CodeLensBatch.get(uri);
+		if (batch == null) {
+			long generation = CodeLensBatch.getGeneration();
+			List<CodeLensTarget> targets = new ArrayList<>();
+			collectCodeLensTargets(typeRoot.getChildren(), targets, monitor);
+			List<IJavaElement> references = new ArrayList<>();
+			List<IJavaElement> implementations = new ArrayList<>();
+			for (CodeLensTarget target : targets) {
+				(REFERENCES_TYPE.equals(target.type()) ? references : implementations).add(target.element());
+			}
+			batch = CodeLensBatch.register(uri, generation, references, implementations);
+		}
+		return batch;
+	}
+
 	private List<Location> findImplementations(ITypeRoot root, IJavaElement element, int offset, IProgressMonitor monitor) throws CoreException {
 		//java.lang.Object is a special case. We need to minimize heavy cost of I/O,
 		// by avoiding opening all files from the Object hierarchy
@@ -148,7 +175,7 @@ public class CodeLensHandler {
 		SearchPattern pattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
 		final List<Location> result = new ArrayList<>();
 		SearchEngine engine = new SearchEngine();
-		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(), new SearchRequestor() {
+		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, createSearchScope(element), new SearchRequestor() {
 
 			@Override
 			public void acceptSearchMatch(SearchMatch match) throws CoreException {
@@ -204,12 +231,23 @@ public class CodeLensHandler {
 	private void collectCodeLenses(ITypeRoot typeRoot, IJavaElement[] elements, Collection<CodeLens> lenses,
 			IProgressMonitor monitor)
 			throws JavaModelException {
+		List<CodeLensTarget> targets = new ArrayList<>();
+		collectCodeLensTargets(elements, targets, monitor);
+		for (CodeLensTarget target : targets) {
+			CodeLens lens = getCodeLens(target.type(), target.element(), typeRoot);
+			if (lens != null) {
+				lenses.add(lens);
+			}
+		}
+	}
+
+	private void collectCodeLensTargets(IJavaElement[] elements, Collection<CodeLensTarget> targets, IProgressMonitor monitor) throws JavaModelException {
 		for (IJavaElement element : elements) {
 			if (monitor.isCanceled()) {
 				return;
 			}
 			if (element.getElementType() == IJavaElement.TYPE) {
-				collectCodeLenses(typeRoot, ((IType) element).getChildren(), lenses, monitor);
+				collectCodeLensTargets(((IType) element).getChildren(), targets, monitor);
 			} else if (element.getElementType() == IJavaElement.METHOD) {
 				if (JDTUtils.isHiddenGeneratedElement(element)) {
 					continue;
@@ -225,26 +263,17 @@ public class CodeLensHandler {
 
 			if (preferenceManager.getPreferences().isReferencesCodeLensEnabled()) {
 				if (!JDTUtils.isUnnamedClass(element)) {
-					CodeLens lens = getCodeLens(REFERENCES_TYPE, element, typeRoot);
-					if (lens != null) {
-						lenses.add(lens);
-					}
+					targets.add(new CodeLensTarget(REFERENCES_TYPE, element));
 				}
 			}
 			String implementationsPreference = preferenceManager.getPreferences().getImplementationsCodeLens();
 			if (("all".equals(implementationsPreference) || "types".equals(implementationsPreference)) && element instanceof IType) {
-				CodeLens lens = getCodeLens(IMPLEMENTATION_TYPE, element, typeRoot);
-				if (lens != null) {
-					lenses.add(lens);
-				}
+				targets.add(new CodeLensTarget(IMPLEMENTATION_TYPE, element));
 			}
 
 			if (("all".equals(implementationsPreference) || "methods".equals(implementationsPreference)) && element instanceof IMethod methodElement) {
 				if (methodElement.getParent() instanceof IType) {
-					CodeLens lens = getCodeLens(IMPLEMENTATION_TYPE, element, typeRoot);
-					if (lens != null) {
-						lenses.add(lens);
-					}
+					targets.add(new CodeLensTarget(IMPLEMENTATION_TYPE, element));
 				}
 			}
 		}
@@ -271,9 +300,12 @@ public class CodeLensHandler {
 		return lens;
 	}
 
-	private IJavaSearchScope createSearchScope() throws JavaModelException {
-		IJavaProject[] projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+	private IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
+		IJavaProject[] projects = ProjectDependencyGraph.getReferencingProjects(element);
 		var excludeTestCode = preferenceManager.getPreferences().getSearchScope() == SearchScope.main;
 		return SearchEngine.createJavaSearchScope(excludeTestCode, projects, IJavaSearchScope.SOURCES);
 	}
+
+	private record CodeLensTarget(String type, IJavaElement element) {
+	}
 }
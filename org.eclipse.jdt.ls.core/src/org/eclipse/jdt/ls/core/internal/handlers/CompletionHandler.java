@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.jdt.core.CompletionProposal;
@@ -47,6 +48,7 @@ import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.contentassist.ChainCompletionProposalComputer;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalUtils;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionSession;
 import org.eclipse.jdt.ls.core.internal.contentassist.JavadocCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.contentassist.SnippetCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.contentassist.SortTextHelper;
@@ -108,6 +110,11 @@ public class CompletionHandler{
 
 	private PreferenceManager manager;
 
+	/**
+	 * Whether the items of the last completion were sent as partial results.
+	 */
+	private boolean streamed;
+
 	public CompletionHandler(PreferenceManager manager) {
 		this.manager = manager;
 	}
@@ -141,21 +148,12 @@ public class CompletionHandler{
 		long executionTime = System.currentTimeMillis() - startTime;
 		String lastRequestId = null;
 		for (CompletionItem item : $.getItems()) {
-			String requestId = "";
-			String proposalId = "";
-			Map<String, String> data = (Map<String, String>) item.getData();
-			if (data != null) {
-				requestId = data.getOrDefault(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, "");
-				proposalId = data.getOrDefault(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, "");
-			}
-			if (requestId.isEmpty() || proposalId.isEmpty()) {
+			if (!setSelectCommand(item)) {
 				continue;
 			}
-			item.setCommand(new Command("", "java.completion.onDidSelect", Arrays.asList(
-					requestId,
-					proposalId
-			)));
-
+			Map<String, String> data = (Map<String, String>) item.getData();
+			String requestId = data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID);
+			String proposalId = data.get(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID);
 			if (Objects.equals(requestId, lastRequestId)) {
 				continue;
 			}
@@ -169,9 +167,37 @@ public class CompletionHandler{
 			}
 			completionResponse.setCommonData(CompletionRanking.COMPLETION_EXECUTION_TIME, String.valueOf(executionTime));
 		}
+		if (streamed) {
+			// the items were sent as partial results
+			$.setItems(Collections.emptyList());
+		}
 		return Either.forRight($);
 	}
 
+	/**
+	 * Sets the command notifying the server of the selection of the item.
+	 *
+	 * @return <code>false</code> if the item doesn't come from a completion
+	 *         response, <code>true</code> otherwise
+	 */
+	private static boolean setSelectCommand(CompletionItem item) {
+		String requestId = "";
+		String proposalId = "";
+		Map<String, String> data = (Map<String, String>) item.getData();
+		if (data != null) {
+			requestId = data.getOrDefault(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, "");
+			proposalId = data.getOrDefault(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, "");
+		}
+		if (requestId.isEmpty() || proposalId.isEmpty()) {
+			return false;
+		}
+		item.setCommand(new Command("", "java.completion.onDidSelect", Arrays.asList(
+				requestId,
+				proposalId
+		)));
+		return true;
+	}
+
 	public void onDidCompletionItemSelect(String requestId, String proposalId) throws CoreException {
 		triggerSignatureHelp();
 		if (proposalId.isEmpty() || requestId.isEmpty()) {
@@ -229,6 +255,15 @@ public class CompletionHandler{
 	}
 
 	private CompletionList computeContentAssist(ICompilationUnit unit, CompletionParams params, IProgressMonitor monitor) throws JavaModelException {
+		String[] favorites = getFavoriteStaticMembers();
+		if (unit != null) {
+			// while the user keeps typing the same identifier, the items of the previous response are refiltered
+			int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), params.getPosition().getLine(), params.getPosition().getCharacter());
+			CompletionList list = CompletionSession.replay(unit, offset, manager.getPreferences(), favorites);
+			if (list != null) {
+				return list;
+			}
+		}
 		CompletionResponses.clear();
 		if (unit == null) {
 			return null;
@@ -244,9 +279,15 @@ public class CompletionHandler{
 
 		CompletionProposalUtils.addStaticImportsAsFavoriteImports(unit);
 		List<CompletionItem> proposals = new ArrayList<>();
+		// the items returned by the completion engine, which are sent while being converted
+		int streamedItems = 0;
 
 		final int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), params.getPosition().getLine(), params.getPosition().getCharacter());
+		boolean chainCompletion = false;
 		CompletionProposalRequestor collector = new CompletionProposalRequestor(unit, offset, manager);
+		final boolean isIncomplete = completionForConstructor;
+		// the first partial result holds the properties of the completion list
+		PartialResultReporter<CompletionItem> reporter = PartialResultReporter.create("textDocument/completion", params.getPartialResultToken(), items -> createCompletionList(collector, items, isIncomplete));
 		// Allow completions for unresolved types - since 3.3
 		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_REF, true);
 		collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_IMPORT, true);
@@ -262,7 +303,7 @@ public class CompletionHandler{
 		collector.setAllowsRequiredProposals(CompletionProposal.ANONYMOUS_CLASS_DECLARATION, CompletionProposal.TYPE_REF, true);
 
 		collector.setAllowsRequiredProposals(CompletionProposal.TYPE_REF, CompletionProposal.TYPE_REF, true);
-		collector.setFavoriteReferences(getFavoriteStaticMembers());
+		collector.setFavoriteReferences(favorites);
 
 		if (offset >-1 && !monitor.isCanceled()) {
 			IBuffer buffer = unit.getBuffer();
@@ -283,17 +324,22 @@ public class CompletionHandler{
 
 				};
 				try {
+					chainCompletion = manager.getPreferences().isChainCompletionEnabled() && params.getContext().getTriggerKind() != CompletionTriggerKind.TriggerCharacter;
 					if (isIndexEngineEnabled()) {
 						unit.codeComplete(offset, collector, subMonitor);
 					} else {
 						ModelBasedCompletionEngine.codeComplete(unit, offset, collector, DefaultWorkingCopyOwner.PRIMARY, subMonitor);
 					}
 					// chain completions are added into collector while computing, so we need me compute before adding completion items to proposals.
-					if (manager.getPreferences().isChainCompletionEnabled() && params.getContext().getTriggerKind() != CompletionTriggerKind.TriggerCharacter) {
+					if (chainCompletion) {
 						ChainCompletionProposalComputer chain = new ChainCompletionProposalComputer(unit, collector, this.isSnippetStringSupported());
 						chain.computeCompletionProposals();
 					}
-					proposals.addAll(collector.getCompletionItems());
+					proposals.addAll(collector.getCompletionItems(new NullProgressMonitor(), reporter.isEnabled() ? item -> {
+						setSelectCommand(item);
+						reporter.add(item);
+					} : null));
+					streamedItems = proposals.size();
 					if (isSnippetStringSupported() && !UNSUPPORTED_RESOURCES.contains(unit.getResource().getName())) {
 						proposals.addAll(SnippetCompletionProposal.getSnippets(unit, collector, subMonitor));
 					}
@@ -326,9 +372,24 @@ public class CompletionHandler{
 			String finalSortText = Integer.toString(newSortText);
 			tempProposals.stream().filter(prop -> prop.getKind() == CompletionItemKind.Snippet).forEach(p -> p.setSortText(finalSortText));
 		}
+		if (reporter.isEnabled()) {
+			// the snippets are only final once the keywords are known
+			reporter.addAll(proposals.subList(streamedItems, proposals.size()));
+		}
+		streamed = reporter.complete();
 		proposals.sort(PROPOSAL_COMPARATOR);
-		CompletionList list = new CompletionList(proposals);
-		list.setIsIncomplete(!collector.isComplete() || completionForConstructor);
+		CompletionList list = createCompletionList(collector, proposals, completionForConstructor);
+		if (!chainCompletion && !completionForConstructor && !monitor.isCanceled()) {
+			CompletionSession.start(unit, offset, params.getPosition(), collector, list, manager.getPreferences(), favorites);
+		} else {
+			CompletionSession.invalidate();
+		}
+		return list;
+	}
+
+	private CompletionList createCompletionList(CompletionProposalRequestor collector, List<CompletionItem> items, boolean isIncomplete) {
+		CompletionList list = new CompletionList(items);
+		list.setIsIncomplete(!collector.isComplete() || isIncomplete);
 		if (this.manager.getClientPreferences().isCompletionListItemDefaultsSupport()){
 			list.setItemDefaults(collector.getCompletionItemDefaults());
 		}
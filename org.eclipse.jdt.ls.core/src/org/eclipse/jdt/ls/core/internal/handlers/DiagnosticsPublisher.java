@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * Publishes the diagnostics of documents asynchronously. The updates of a
+ * document requested within the publish delay are coalesced, only the last
+ * one being computed and published, and diagnostics identical to the ones last
+ * published for a document are not sent again.
+ *
+ * The delay, in milliseconds, is set by the
+ * <code>java.lsp.diagnostics.publishDelay</code> system property and defaults
+ * to 100ms.
+ */
+public final class DiagnosticsPublisher {
+
+	public static final String PUBLISH_DELAY_PROPERTY = "java.lsp.diagnostics.publishDelay";
+
+	/**
+	 * The family of the publishing jobs.
+	 */
+	public static final Object FAMILY = DiagnosticsPublisher.class;
+
+	/**
+	 * Computes the diagnostics of a document when they are about to be
+	 * published.
+	 */
+	@FunctionalInterface
+	public interface DiagnosticsProvider {
+
+		/**
+		 * @return the diagnostics, or <code>null</code> if nothing must be
+		 *         published
+		 */
+		List<Diagnostic> getDiagnostics() throws CoreException;
+	}
+
+	private final JavaClientConnection connection;
+	private final long delay;
+	// guarded by pending, in request order
+	private final Map<String, DiagnosticsProvider> pending = new LinkedHashMap<>();
+	private final Object flushLock = new Object();
+	private final Job job;
+	private long published;
+	private long skipped;
+
+	public DiagnosticsPublisher(JavaClientConnection connection) {
+		this(connection, Long.getLong(PUBLISH_DELAY_PROPERTY, 100L));
+	}
+
+	public DiagnosticsPublisher(JavaClientConnection connection, long delay) {
+		this.connection = connection;
+		this.delay = Math.max(0, delay);
+		this.job = new Job("Publish diagnostics") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				flush();
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return FAMILY.equals(family);
+			}
+		};
+		job.setSystem(true);
+	}
+
+	/**
+	 * Requests the diagnostics of a document to be published, replacing any
+	 * pending request for the same document.
+	 *
+	 * @param uri
+	 *            the client URI of the document
+	 * @param provider
+	 *            computes the diagnostics to publish
+	 */
+	public void publish(String uri, DiagnosticsProvider provider) {
+		synchronized (pending) {
+			pending.put(uri, provider);
+		}
+		// a running job is scheduled again once done, a sleeping one will see the request
+		int state = job.getState();
+		if (state == Job.NONE || state == Job.RUNNING) {
+			job.schedule(delay);
+		}
+	}
+
+	/**
+	 * Publishes the pending diagnostics now.
+	 */
+	public void flush() {
+		synchronized (flushLock) {
+			Map<String, DiagnosticsProvider> batch;
+			synchronized (pending) {
+				batch = new LinkedHashMap<>(pending);
+				pending.clear();
+			}
+			for (Map.Entry<String, DiagnosticsProvider> entry : batch.entrySet()) {
+				try {
+					List<Diagnostic> diagnostics = entry.getValue().getDiagnostics();
+					if (diagnostics == null) {
+						continue;
+					}
+					PublishDiagnosticsParams params = new PublishDiagnosticsParams(entry.getKey(), diagnostics);
+					if (connection.isPublished(params)) {
+						skipped++;
+						continue;
+					}
+					connection.publishDiagnostics(params);
+					published++;
+				} catch (CoreException e) {
+					JavaLanguageServerPlugin.logException("Failed to publish diagnostics for " + entry.getKey(), e);
+				}
+			}
+			if (!batch.isEmpty()) {
+				JavaLanguageServerPlugin.debugTrace("Diagnostics published: " + published + ", unchanged: " + skipped);
+			}
+		}
+	}
+
+	/**
+	 * Stops publishing, the pending diagnostics are dropped.
+	 */
+	public void dispose() {
+		job.cancel();
+		synchronized (pending) {
+			pending.clear();
+		}
+	}
+}
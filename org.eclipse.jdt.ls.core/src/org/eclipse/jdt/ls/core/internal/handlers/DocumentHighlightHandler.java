@@ -21,7 +21,6 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.NodeFinder;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.core.manipulation.search.BreakContinueTargetFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.ExceptionOccurrencesFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder;
@@ -53,7 +52,7 @@ public class DocumentHighlightHandler {
 		if (typeRoot == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
-		CompilationUnit ast = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
+		CompilationUnit ast = JDTUtils.getAst(typeRoot, monitor);
 		if (ast == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
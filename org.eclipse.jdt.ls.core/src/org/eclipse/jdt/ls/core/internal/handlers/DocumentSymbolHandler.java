@@ -47,7 +47,6 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IParent;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
@@ -56,9 +55,7 @@ import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.ToolFactory;
-import org.eclipse.jdt.core.compiler.IScanner;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
-import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
@@ -82,6 +79,7 @@ import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.ls.core.internal.DecompilerResult;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.LexicalTokens;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.managers.ContentProviderManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -101,8 +99,6 @@ import org.eclipse.xtext.xbase.lib.Pure;
 public class DocumentSymbolHandler {
 	PreferenceManager preferenceManager;
 
-	private static IScanner fScanner;
-
 	public DocumentSymbolHandler(PreferenceManager preferenceManager) {
 		this.preferenceManager = preferenceManager;
 	}
@@ -202,13 +198,6 @@ public class DocumentSymbolHandler {
 			if (unit instanceof IClassFile) {
 				// Prepend Package element as the first child
 				childrenStream = Stream.concat(Stream.of(unit.getParent()), childrenStream);
-				ISourceRange sourceRange = unit.getSourceRange();
-				if (sourceRange != null) {
-					final int shift = sourceRange.getOffset();
-					IScanner scanner = getScanner(unit.getJavaProject());
-					scanner.setSource(unit.getSource().toCharArray());
-					scanner.resetTo(shift, shift + sourceRange.getLength());
-				}
 			}
 			Set<IJavaElement> visited = new HashSet<>(); // avoid cycles (eg. an inner class super type is parent)
 			return childrenStream.map(child -> toDocumentSymbol(child, unit, monitor, includeInherited, visited)).filter(Objects::nonNull).collect(Collectors.toList());
@@ -241,19 +230,18 @@ public class DocumentSymbolHandler {
 			String name = getName(unit);
 			symbol.setName(name);
 			if (type == PACKAGE_FRAGMENT) {
-				IScanner scanner = getScanner(root.getJavaProject());
-				int token = 0;
 				int packageStart = -1;
 				int packageEnd = -1;
-				while (token != ITerminalSymbols.TokenNameEOF) {
-					switch (token) {
-						case ITerminalSymbols.TokenNamepackage:
-							packageStart = scanner.getCurrentTokenStartPosition();
-							packageEnd = scanner.getCurrentTokenEndPosition();
-						default:
-							break;
+				ISourceRange sourceRange = root.getSourceRange();
+				LexicalTokens tokens = sourceRange == null ? null : LexicalTokens.get(root);
+				if (tokens != null) {
+					final int rangeEnd = sourceRange.getOffset() + sourceRange.getLength();
+					for (int i = tokens.indexOf(sourceRange.getOffset()); i < tokens.size() && tokens.getStartPosition(i) < rangeEnd; i++) {
+						if (tokens.getToken(i) == ITerminalSymbols.TokenNamepackage) {
+							packageStart = tokens.getStartPosition(i);
+							packageEnd = tokens.getEndPosition(i);
+						}
 					}
-					token = getNextToken(scanner);
 				}
 				Range packageRange = JDTUtils.toRange(root, packageStart, packageEnd);
 				symbol.setRange(packageRange);
@@ -313,26 +301,6 @@ public class DocumentSymbolHandler {
 		return symbol;
 	}
 
-	private static IScanner getScanner(IJavaProject project) {
-		if (fScanner == null) {
-			fScanner = JDTUtils.createScanner(project, true, false, false);
-		}
-		return fScanner;
-	}
-
-	private int getNextToken(IScanner scanner) {
-		int token = 0;
-		while (token == 0) {
-			try {
-				token = scanner.getNextToken();
-			} catch (InvalidInputException e) {
-				// ignore
-				// JavaLanguageServerPlugin.logException("Problem with folding range", e);
-			}
-		}
-		return token;
-	}
-
 	private List<DocumentSymbol> getHierarchicalOutlineFromDecompiledSource(ITypeRoot unit, IProgressMonitor monitor) {
 		ContentProviderManager contentProvider = JavaLanguageServerPlugin.getContentProviderManager();
 		DecompilerResult decompileResult;
@@ -26,21 +26,18 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IImportContainer;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.SourceRange;
-import org.eclipse.jdt.core.ToolFactory;
-import org.eclipse.jdt.core.compiler.IScanner;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
-import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.LexicalTokens;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.FoldingRange;
 import org.eclipse.lsp4j.FoldingRangeKind;
@@ -51,15 +48,6 @@ public class FoldingRangeHandler {
 	private static final Pattern REGION_START_PATTERN = Pattern.compile("^//\\s*#?region|^//\\s+<editor-fold.*>");
 	private static final Pattern REGION_END_PATTERN = Pattern.compile("^//\\s*#?endregion|^//\\s+</editor-fold>");
 
-	private static IScanner fScanner;
-
-	private static IScanner getScanner(IJavaProject project) {
-		if (fScanner == null) {
-			fScanner = JDTUtils.createScanner(project, true, false, true);
-		}
-		return fScanner;
-	}
-
 	public List<FoldingRange> foldingRange(FoldingRangeRequestParams params, IProgressMonitor monitor) {
 		List<FoldingRange> $ = new ArrayList<>();
 		ITypeRoot unit = null;
@@ -84,43 +72,37 @@ public class FoldingRangeHandler {
 				return;
 			}
 
-			String contents = unit.getSource();
-			if (StringUtils.isBlank(contents)) {
+			LexicalTokens tokens = LexicalTokens.get(unit);
+			if (tokens == null || StringUtils.isBlank(tokens.getSource())) {
 				return;
 			}
 
 			final int shift = range.getOffset();
-			IScanner scanner = getScanner(unit.getJavaProject());
-			scanner.setSource(contents.toCharArray());
-			scanner.resetTo(shift, shift + range.getLength());
-
-			int start = shift;
-			int startLine = -1;
-			int token = 0;
+			final int rangeEnd = shift + range.getLength();
 			int classFileImportStart = -1;
 			int classFileImportEnd = -1;
 			int singleLineCommentStart = -1;
 			int singleLineCommentEnd = -1;
-			int prevTokenLine = -1;
+			int prevTokenLine = tokens.getLineNumber(shift);
 			Stack<Integer> regionStarts = new Stack<>();
-			while (token != ITerminalSymbols.TokenNameEOF) {
-				start = scanner.getCurrentTokenStartPosition();
-				startLine = scanner.getLineNumber(start);
-				switch (token) {
+			for (int i = tokens.indexOf(shift); i < tokens.size() && tokens.getStartPosition(i) < rangeEnd; i++) {
+				int start = tokens.getStartPosition(i);
+				int startLine = tokens.getLineNumber(start);
+				switch (tokens.getToken(i)) {
 					case ITerminalSymbols.TokenNameCOMMENT_JAVADOC:
 					case ITerminalSymbols.TokenNameCOMMENT_BLOCK:
-						int end = scanner.getCurrentTokenEndPosition();
-						FoldingRange commentFoldingRange = new FoldingRange(startLine - 1, scanner.getLineNumber(end) - 1);
+						int end = tokens.getEndPosition(i);
+						FoldingRange commentFoldingRange = new FoldingRange(startLine - 1, tokens.getLineNumber(end) - 1);
 						commentFoldingRange.setKind(FoldingRangeKind.Comment);
 						foldingRanges.add(commentFoldingRange);
 						break;
 					case ITerminalSymbols.TokenNameCOMMENT_LINE:
-						String currentSource = String.valueOf(scanner.getCurrentTokenSource());
+						String currentSource = tokens.getTokenSource(i);
 						if (REGION_START_PATTERN.matcher(currentSource).lookingAt()) {
 							regionStarts.push(start);
 						} else if (REGION_END_PATTERN.matcher(currentSource).lookingAt()) {
 							if (regionStarts.size() > 0) {
-								FoldingRange regionFolding = new FoldingRange(scanner.getLineNumber(regionStarts.pop()) - 1, scanner.getLineNumber(start) - 1);
+								FoldingRange regionFolding = new FoldingRange(tokens.getLineNumber(regionStarts.pop()) - 1, tokens.getLineNumber(start) - 1);
 								regionFolding.setKind(FoldingRangeKind.Region);
 								foldingRanges.add(regionFolding);
 							}
@@ -137,86 +119,70 @@ public class FoldingRangeHandler {
 					case ITerminalSymbols.TokenNameimport:
 						// Only used for computing import range in .class files
 						classFileImportStart = classFileImportStart == -1 ? start : classFileImportStart;
-						classFileImportEnd = scanner.getCurrentTokenEndPosition();
+						classFileImportEnd = tokens.getEndPosition(i);
 					default:
 						break;
 				}
 				prevTokenLine = startLine;
-				token = getNextToken(scanner);
 			}
 			if (unit.getElementType() == IJavaElement.CLASS_FILE && classFileImportStart != -1) {
-				FoldingRange importFoldingRange = new FoldingRange(scanner.getLineNumber(classFileImportStart) - 1, scanner.getLineNumber(classFileImportEnd) - 1);
+				FoldingRange importFoldingRange = new FoldingRange(tokens.getLineNumber(classFileImportStart) - 1, tokens.getLineNumber(classFileImportEnd) - 1);
 				importFoldingRange.setKind(FoldingRangeKind.Imports);
 				foldingRanges.add(importFoldingRange);
 			}
 			addCommentRangeIfSuitable(foldingRanges, singleLineCommentStart, singleLineCommentEnd);
-			computeTypeRootRanges(foldingRanges, unit, scanner);
+			computeTypeRootRanges(foldingRanges, unit, tokens);
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problem with folding range for " + unit.getPath().toPortableString(), e);
 			monitor.setCanceled(true);
 		}
 	}
 
-	private int getNextToken(IScanner scanner) {
-		int token = 0;
-		while (token == 0) {
-			try {
-				token = scanner.getNextToken();
-			} catch (InvalidInputException e) {
-				// ignore
-				// JavaLanguageServerPlugin.logException("Problem with folding range", e);
-			}
-		}
-		return token;
-	}
-
-	private void computeTypeRootRanges(List<FoldingRange> foldingRanges, ITypeRoot unit, IScanner scanner) throws CoreException {
+	private void computeTypeRootRanges(List<FoldingRange> foldingRanges, ITypeRoot unit, LexicalTokens tokens) throws CoreException {
 		if (unit.hasChildren()) {
 			for (IJavaElement child : unit.getChildren()) {
 				if (child instanceof IImportContainer importContainer) {
 					ISourceRange importRange = importContainer.getSourceRange();
-					FoldingRange importFoldingRange = new FoldingRange(scanner.getLineNumber(importRange.getOffset()) - 1, scanner.getLineNumber(importRange.getOffset() + importRange.getLength()) - 1);
+					FoldingRange importFoldingRange = new FoldingRange(tokens.getLineNumber(importRange.getOffset()) - 1, tokens.getLineNumber(importRange.getOffset() + importRange.getLength()) - 1);
 					importFoldingRange.setKind(FoldingRangeKind.Imports);
 					foldingRanges.add(importFoldingRange);
 				} else if (child instanceof IType type) {
-					computeTypeRanges(foldingRanges, type, scanner);
+					computeTypeRanges(foldingRanges, type, tokens);
 				}
 			}
 		}
 	}
 
-	private void computeTypeRanges(List<FoldingRange> foldingRanges, IType unit, IScanner scanner) throws CoreException {
+	private void computeTypeRanges(List<FoldingRange> foldingRanges, IType unit, LexicalTokens tokens) throws CoreException {
 		ISourceRange typeRange = unit.getSourceRange();
-		foldingRanges.add(new FoldingRange(scanner.getLineNumber(unit.getNameRange().getOffset()) - 1, scanner.getLineNumber(typeRange.getOffset() + typeRange.getLength()) - 1));
+		foldingRanges.add(new FoldingRange(tokens.getLineNumber(unit.getNameRange().getOffset()) - 1, tokens.getLineNumber(typeRange.getOffset() + typeRange.getLength()) - 1));
 		IJavaElement[] children = unit.getChildren();
 		for (IJavaElement c : children) {
 			if (c instanceof IMethod || c instanceof IInitializer) {
-				computeMethodRanges(foldingRanges, (IMember) c, scanner);
+				computeMethodRanges(foldingRanges, (IMember) c, tokens);
 			} else if (c instanceof IType type) {
-				computeTypeRanges(foldingRanges, type, scanner);
+				computeTypeRanges(foldingRanges, type, tokens);
 			}
 		}
 	}
 
-	private void computeMethodRanges(List<FoldingRange> foldingRanges, IMember member, IScanner scanner) throws CoreException {
+	private void computeMethodRanges(List<FoldingRange> foldingRanges, IMember member, LexicalTokens tokens) throws CoreException {
 		ISourceRange sourceRange = member.getSourceRange();
 		final int shift = sourceRange.getOffset();
-		scanner.resetTo(shift, shift + sourceRange.getLength());
+		final int rangeEnd = shift + sourceRange.getLength();
 
 		ISourceRange nameRange = member.getNameRange();
 		int nameStart = nameRange != null ? nameRange.getOffset() : sourceRange.getOffset();
-		foldingRanges.add(new FoldingRange(scanner.getLineNumber(nameStart) - 1, scanner.getLineNumber(shift + sourceRange.getLength()) - 1));
+		foldingRanges.add(new FoldingRange(tokens.getLineNumber(nameStart) - 1, tokens.getLineNumber(rangeEnd) - 1));
 
-		int start = shift;
-		int token = 0;
-		int prevTokenLine = 0;
+		int prevTokenLine = tokens.getLineNumber(shift) - 1;
 		Stack<Integer> leftParens = null;
 		Stack<Integer> prevCaseLines = new Stack<>();
 		Map<Integer, Integer> candidates = new HashMap<>();
-		while (token != ITerminalSymbols.TokenNameEOF) {
-			start = scanner.getCurrentTokenStartPosition();
-			int currentLine = scanner.getLineNumber(start) - 1;
-			switch (token) {
+		for (int i = tokens.indexOf(shift); i < tokens.size() && tokens.getStartPosition(i) < rangeEnd; i++) {
+			int start = tokens.getStartPosition(i);
+			int currentLine = tokens.getLineNumber(start) - 1;
+			switch (tokens.getToken(i)) {
 				case ITerminalSymbols.TokenNameLBRACE:
 					if (leftParens == null) {
 						// Start of method body
@@ -248,9 +214,9 @@ public class FoldingRangeHandler {
 					}
 					break;
 				case ITerminalSymbols.TokenNameRBRACE:
-					int endPos = scanner.getCurrentTokenEndPosition();
+					int endPos = tokens.getEndPosition(i);
 					if (leftParens != null && leftParens.size() > 0) {
-						int endLine = scanner.getLineNumber(endPos) - 1;
+						int endLine = tokens.getLineNumber(endPos) - 1;
 						int startLine = leftParens.pop();
 						if (startLine < endLine) {
 							candidates.put(startLine, endLine);
@@ -285,7 +251,6 @@ public class FoldingRangeHandler {
 					break;
 			}
 			prevTokenLine = currentLine;
-			token = getNextToken(scanner);
 		}
 
 		for (Map.Entry<Integer, Integer> entry : candidates.entrySet()) {
@@ -38,12 +38,12 @@ import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.corext.codemanipulation.AddCustomConstructorOperation;
 import org.eclipse.jdt.internal.corext.codemanipulation.CodeGenerationSettings;
 import org.eclipse.jdt.internal.corext.codemanipulation.StubUtility2Core;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ui.text.java.IInvocationContext;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
@@ -81,7 +81,7 @@ public class GenerateConstructorsHandler {
 				return new CheckConstructorsResponse();
 			}
 
-			CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 			if (astRoot == null) {
 				return new CheckConstructorsResponse();
 			}
@@ -164,7 +164,7 @@ public class GenerateConstructorsHandler {
 		}
 
 		try {
-			CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 			if (astRoot == null) {
 				return null;
 			}
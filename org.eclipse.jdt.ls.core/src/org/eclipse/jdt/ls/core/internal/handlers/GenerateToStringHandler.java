@@ -35,11 +35,11 @@ import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.NodeFinder;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.corext.codemanipulation.tostringgeneration.GenerateToStringOperation;
 import org.eclipse.jdt.internal.corext.codemanipulation.tostringgeneration.ToStringGenerationSettingsCore;
 import org.eclipse.jdt.internal.corext.codemanipulation.tostringgeneration.ToStringGenerationSettingsCore.CustomBuilderSettings;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
 import org.eclipse.jdt.ls.core.internal.handlers.JdtDomModels.BindingComparator;
@@ -77,7 +77,7 @@ public class GenerateToStringHandler {
 			return response;
 		}
 		try {
-			CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 			if (astRoot == null) {
 				return response;
 			}
@@ -169,7 +169,7 @@ public class GenerateToStringHandler {
 		}
 		Range range = params.context.getRange();
 		ASTNode declarationNode = null;
-		CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+		CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 		if (astRoot != null && range != null) {
 			ASTNode node = NodeFinder.perform(astRoot, DiagnosticsHelper.getStartOffset(type.getCompilationUnit(), range), DiagnosticsHelper.getLength(type.getCompilationUnit(), range));
 			declarationNode = SourceAssistProcessor.getTypeDeclarationNode(node);
@@ -207,7 +207,7 @@ public class GenerateToStringHandler {
 		}
 
 		try {
-			CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 			if (astRoot == null) {
 				return null;
 			}
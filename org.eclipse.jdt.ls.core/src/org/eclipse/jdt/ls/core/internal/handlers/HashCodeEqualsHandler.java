@@ -28,10 +28,10 @@ import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.eclipse.jdt.core.dom.NodeFinder;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.internal.corext.codemanipulation.CodeGenerationSettings;
 import org.eclipse.jdt.internal.corext.codemanipulation.GenerateHashCodeEqualsOperation;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
 import org.eclipse.jdt.ls.core.internal.handlers.JdtDomModels.LspVariableBinding;
@@ -62,7 +62,7 @@ public class HashCodeEqualsHandler {
 			return response;
 		}
 		try {
-			CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 			if (astRoot == null) {
 				return response;
 			}
@@ -105,7 +105,7 @@ public class HashCodeEqualsHandler {
 			return null;
 		}
 		try {
-			CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+			CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 			if (astRoot == null) {
 				return null;
 			}
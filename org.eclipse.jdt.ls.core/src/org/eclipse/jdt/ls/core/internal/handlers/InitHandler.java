@@ -45,6 +45,7 @@ import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jdt.ls.internal.gradle.checksums.WrapperValidator;
 import org.eclipse.lsp4j.CodeLensOptions;
+import org.eclipse.lsp4j.DiagnosticRegistrationOptions;
 import org.eclipse.lsp4j.DocumentFilter;
 import org.eclipse.lsp4j.DocumentOnTypeFormattingOptions;
 import org.eclipse.lsp4j.ExecuteCommandOptions;
@@ -63,6 +64,7 @@ import org.eclipse.lsp4j.TextDocumentSyncKind;
 import org.eclipse.lsp4j.TextDocumentSyncOptions;
 import org.eclipse.lsp4j.WorkspaceFoldersOptions;
 import org.eclipse.lsp4j.WorkspaceServerCapabilities;
+import org.eclipse.lsp4j.WorkspaceSymbolOptions;
 
 /**
  * Handler for the VS Code extension initialization
@@ -145,7 +147,11 @@ final public class InitHandler extends BaseInitHandler {
 			}
 		}
 		if (!preferenceManager.getClientPreferences().isWorkspaceSymbolDynamicRegistered()) {
-			capabilities.setWorkspaceSymbolProvider(Boolean.TRUE);
+			if (preferenceManager.getClientPreferences().isWorkspaceSymbolResolveSupported()) {
+				capabilities.setWorkspaceSymbolProvider(new WorkspaceSymbolOptions(Boolean.TRUE));
+			} else {
+				capabilities.setWorkspaceSymbolProvider(Boolean.TRUE);
+			}
 		}
 		if (!preferenceManager.getClientPreferences().isClientDocumentSymbolProviderRegistered() && !preferenceManager.getClientPreferences().isDocumentSymbolDynamicRegistered()) {
 			capabilities.setDocumentSymbolProvider(Boolean.TRUE);
@@ -186,6 +192,14 @@ final public class InitHandler extends BaseInitHandler {
 		}
 
 		capabilities.setCallHierarchyProvider(Boolean.TRUE);
+		if (preferenceManager.getClientPreferences().isPullDiagnosticsSupported()) {
+			DiagnosticRegistrationOptions diagnosticOptions = new DiagnosticRegistrationOptions();
+			// the problems of a file depend on the other files
+			diagnosticOptions.setInterFileDependencies(true);
+			diagnosticOptions.setWorkspaceDiagnostics(true);
+			capabilities.setDiagnosticProvider(diagnosticOptions);
+			PullDiagnosticsHandler.setEnabled(true);
+		}
 		TextDocumentSyncOptions textDocumentSyncOptions = new TextDocumentSyncOptions();
 		textDocumentSyncOptions.setOpenClose(Boolean.TRUE);
 		textDocumentSyncOptions.setSave(new SaveOptions(Boolean.TRUE));
@@ -221,8 +235,8 @@ final public class InitHandler extends BaseInitHandler {
 		capabilities.setWorkspace(wsCapabilities);
 
 		SemanticTokensWithRegistrationOptions semanticTokensOptions = new SemanticTokensWithRegistrationOptions();
-		semanticTokensOptions.setFull(new SemanticTokensServerFull(false));
-		semanticTokensOptions.setRange(false);
+		semanticTokensOptions.setFull(new SemanticTokensServerFull(true));
+		semanticTokensOptions.setRange(true);
 		semanticTokensOptions.setDocumentSelector(List.of(new DocumentFilter("java", "file", null), new DocumentFilter("java", "jdt", null)));
 		semanticTokensOptions.setLegend(SemanticTokensHandler.legend());
 		capabilities.setSemanticTokensProvider(semanticTokensOptions);
@@ -21,7 +21,6 @@ import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
@@ -56,7 +55,7 @@ public class InlayHintsHandler {
 		if (typeRoot == null) {
 			return Collections.emptyList();
 		}
-		CompilationUnit root = CoreASTProvider.getInstance().getAST(typeRoot, CoreASTProvider.WAIT_YES, monitor);
+		CompilationUnit root = JDTUtils.getAst(typeRoot, monitor);
 		if (root == null || monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
@@ -53,6 +53,7 @@ import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.LanguageServerApplication;
 import org.eclipse.jdt.ls.core.internal.LanguageServerWorkingCopyOwner;
+import org.eclipse.jdt.ls.core.internal.RequestScheduler.Lane;
 import org.eclipse.jdt.ls.core.internal.ServiceStatus;
 import org.eclipse.jdt.ls.core.internal.codemanipulation.GenerateGetterSetterOperation.AccessorField;
 import org.eclipse.jdt.ls.core.internal.handlers.CodeActionHandler.CodeActionData;
@@ -111,6 +112,8 @@ import org.eclipse.lsp4j.DidChangeWorkspaceFoldersParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
 import org.eclipse.lsp4j.DocumentFormattingParams;
 import org.eclipse.lsp4j.DocumentHighlight;
 import org.eclipse.lsp4j.DocumentHighlightParams;
@@ -143,7 +146,10 @@ import org.eclipse.lsp4j.RenameParams;
 import org.eclipse.lsp4j.SelectionRange;
 import org.eclipse.lsp4j.SelectionRangeParams;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.SetTraceParams;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SignatureHelpParams;
@@ -156,9 +162,12 @@ import org.eclipse.lsp4j.TypeHierarchyPrepareParams;
 import org.eclipse.lsp4j.TypeHierarchySubtypesParams;
 import org.eclipse.lsp4j.TypeHierarchySupertypesParams;
 import org.eclipse.lsp4j.WillSaveTextDocumentParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.lsp4j.WorkspaceSymbolRegistrationOptions;
 import org.eclipse.lsp4j.extended.ProjectBuildParams;
 import org.eclipse.lsp4j.extended.ProjectConfigurationsUpdateParam;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
@@ -362,7 +371,12 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	 */
 	private void registerCapabilities() {
 		if (preferenceManager.getClientPreferences().isWorkspaceSymbolDynamicRegistered()) {
-			registerCapability(Preferences.WORKSPACE_SYMBOL_ID, Preferences.WORKSPACE_SYMBOL);
+			WorkspaceSymbolRegistrationOptions options = null;
+			if (preferenceManager.getClientPreferences().isWorkspaceSymbolResolveSupported()) {
+				options = new WorkspaceSymbolRegistrationOptions();
+				options.setResolveProvider(Boolean.TRUE);
+			}
+			registerCapability(Preferences.WORKSPACE_SYMBOL_ID, Preferences.WORKSPACE_SYMBOL, options);
 		}
 		if (!preferenceManager.getClientPreferences().isClientDocumentSymbolProviderRegistered() && preferenceManager.getClientPreferences().isDocumentSymbolDynamicRegistered()) {
 			registerCapability(Preferences.DOCUMENT_SYMBOL_ID, Preferences.DOCUMENT_SYMBOL);
@@ -502,6 +516,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		} catch (InterruptedException e) {
 			JavaLanguageServerPlugin.logException(e.getMessage(), e);
 		}
+		requestScheduler.shutdown();
 		JavaLanguageServerPlugin.getLanguageServer().exit();
 	}
 
@@ -532,11 +547,27 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>>> symbol(WorkspaceSymbolParams params) {
 		debugTrace(">> workspace/symbol");
-		return computeAsync((monitor) -> {
-			return Either.forLeft(WorkspaceSymbolHandler.search(params.getQuery(), monitor));
+		if (preferenceManager.getClientPreferences().isWorkspaceSymbolResolveSupported()) {
+			return computeAsync(Lane.BULK, (monitor) -> {
+				PartialResultReporter<WorkspaceSymbol> reporter = PartialResultReporter.create("workspace/symbol", params.getPartialResultToken());
+				return Either.forRight(WorkspaceSymbolHandler.searchWorkspaceSymbols(params.getQuery(), reporter, monitor));
+			});
+		}
+		return computeAsync(Lane.BULK, (monitor) -> {
+			PartialResultReporter<SymbolInformation> reporter = PartialResultReporter.create("workspace/symbol", params.getPartialResultToken());
+			return Either.forLeft(WorkspaceSymbolHandler.search(params.getQuery(), 0, null, false, reporter, monitor));
 		});
 	}
 
+	/* (non-Javadoc)
+	 * @see org.eclipse.lsp4j.services.WorkspaceService#resolveWorkspaceSymbol(org.eclipse.lsp4j.WorkspaceSymbol)
+	 */
+	@Override
+	public CompletableFuture<WorkspaceSymbol> resolveWorkspaceSymbol(WorkspaceSymbol workspaceSymbol) {
+		debugTrace(">> workspaceSymbol/resolve");
+		return computeAsync(Lane.LATENCY_CRITICAL, (monitor) -> WorkspaceSymbolHandler.resolve(workspaceSymbol));
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.lsp4j.services.WorkspaceService#didChangeConfiguration(org.eclipse.lsp4j.DidChangeConfigurationParams)
 	 */
@@ -663,7 +694,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<Hover> hover(HoverParams position) {
 		debugTrace(">> document/hover");
 		HoverHandler handler = new HoverHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.hover(position, monitor));
+		return computeAsync(Lane.LATENCY_CRITICAL, (monitor) -> handler.hover(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -673,7 +704,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<SignatureHelp> signatureHelp(SignatureHelpParams position) {
 		debugTrace(">> document/signatureHelp");
 		SignatureHelpHandler handler = new SignatureHelpHandler(preferenceManager);
-		return computeAsync((monitor) -> handler.signatureHelp(position, monitor));
+		return computeAsync(Lane.LATENCY_CRITICAL, (monitor) -> handler.signatureHelp(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -719,7 +750,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
 		debugTrace(">> document/references");
 		ReferencesHandler handler = new ReferencesHandler(this.preferenceManager);
-		return computeAsync((monitor) -> handler.findReferences(params, monitor));
+		return computeAsync(Lane.BULK, (monitor) -> handler.findReferences(params, monitor));
 	}
 
 	@Override
@@ -734,7 +765,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(DocumentHighlightParams position) {
 		debugTrace(">> document/documentHighlight");
-		return computeAsync((monitor) -> DocumentHighlightHandler.documentHighlight(position, monitor));
+		return computeAsync(Lane.LATENCY_CRITICAL, (monitor) -> DocumentHighlightHandler.documentHighlight(position, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -824,7 +855,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<CodeLens> resolveCodeLens(CodeLens unresolved) {
 		debugTrace(">> codeLens/resolve");
 		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync(Lane.BULK, (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.resolve(unresolved, monitor);
 		});
@@ -880,7 +911,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	public CompletableFuture<WorkspaceEdit> rename(RenameParams params) {
 		debugTrace(">> document/rename");
 		RenameHandler handler = new RenameHandler(preferenceManager);
-		return computeAsync((monitor) -> {
+		return computeAsync(Lane.BULK, (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return handler.rename(params, monitor);
 		});
@@ -961,7 +992,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<WorkspaceEdit> willRenameFiles(RenameFilesParams params) {
 		debugTrace(">> workspace/willRenameFiles");
-		return computeAsyncWithClientProgress((monitor) -> {
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> {
 			waitForLifecycleJobs(monitor);
 			return FileEventHandler.handleWillRenameFiles(params, monitor);
 		});
@@ -1008,14 +1039,14 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		boolean rebuild = forceRebuild.isLeft() ? forceRebuild.getLeft() : forceRebuild.getRight()[0];
 		debugTrace(">> java/buildWorkspace (" + (rebuild ? "full)" : "incremental)"));
 		BuildWorkspaceHandler handler = new BuildWorkspaceHandler(pm);
-		return computeAsyncWithClientProgress((monitor) -> handler.buildWorkspace(rebuild, monitor));
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> handler.buildWorkspace(rebuild, monitor));
 	}
 
 	@Override
 	public CompletableFuture<BuildWorkspaceStatus> buildProjects(ProjectBuildParams params) {
 		debugTrace(">> java/buildProjects");
 		BuildWorkspaceHandler handler = new BuildWorkspaceHandler(pm);
-		return computeAsyncWithClientProgress((monitor) -> handler.buildProjects(params, monitor));
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> handler.buildProjects(params, monitor));
 	}
 
 	/* (non-Javadoc)
@@ -1033,7 +1064,7 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> implementation(ImplementationParams position) {
 		debugTrace(">> document/implementation");
-		return computeAsyncWithClientProgress((monitor) -> {
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> {
 			ImplementationsHandler handler = new ImplementationsHandler(preferenceManager);
 			return Either.forLeft(handler.findImplementations(position, monitor));
 		});
@@ -1172,44 +1203,74 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 	@Override
 	public CompletableFuture<RefactorWorkspaceEdit> move(MoveParams params) {
 		debugTrace(">> java/move");
-		return computeAsyncWithClientProgress((monitor) -> MoveHandler.move(params, monitor));
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> MoveHandler.move(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<SymbolInformation>> searchSymbols(SearchSymbolParams params) {
 		debugTrace(">> java/searchSymbols");
-		return computeAsyncWithClientProgress((monitor) -> WorkspaceSymbolHandler.search(params.getQuery(), params.maxResults, params.projectName, params.sourceOnly, monitor));
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> {
+			PartialResultReporter<SymbolInformation> reporter = PartialResultReporter.create("java/searchSymbols", params.getPartialResultToken());
+			return WorkspaceSymbolHandler.search(params.getQuery(), params.maxResults, params.projectName, params.sourceOnly, reporter, monitor);
+		});
 	}
 
 	@Override
 	public CompletableFuture<List<CallHierarchyItem>> prepareCallHierarchy(CallHierarchyPrepareParams params) {
 		debugTrace(">> textDocument/prepareCallHierarchy");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().prepareCallHierarchy(params, monitor));
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> new CallHierarchyHandler().prepareCallHierarchy(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<CallHierarchyIncomingCall>> callHierarchyIncomingCalls(CallHierarchyIncomingCallsParams params) {
 		debugTrace(">> callHierarchy/incomingCalls");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().callHierarchyIncomingCalls(params, monitor));
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> new CallHierarchyHandler().callHierarchyIncomingCalls(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<List<CallHierarchyOutgoingCall>> callHierarchyOutgoingCalls(CallHierarchyOutgoingCallsParams params) {
 		debugTrace(">> callHierarchy/outgoingCalls");
-		return computeAsyncWithClientProgress((monitor) -> new CallHierarchyHandler().callHierarchyOutgoingCalls(params, monitor));
+		return computeAsyncWithClientProgress(Lane.BULK, (monitor) -> new CallHierarchyHandler().callHierarchyOutgoingCalls(params, monitor));
 	}
 
 	@Override
 	public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
 		debugTrace(">> textDocument/semanticTokens/full");
-		return computeAsync(monitor -> SemanticTokensHandler.full(monitor, params,
+		return computeAsync(Lane.LATENCY_CRITICAL, monitor -> SemanticTokensHandler.full(monitor, params,
+			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
+	}
+
+	@Override
+	public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(SemanticTokensDeltaParams params) {
+		debugTrace(">> textDocument/semanticTokens/full/delta");
+		return computeAsync(Lane.LATENCY_CRITICAL, monitor -> SemanticTokensHandler.fullDelta(monitor, params,
+			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
+	}
+
+	@Override
+	public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params) {
+		debugTrace(">> textDocument/semanticTokens/range");
+		return computeAsync(Lane.LATENCY_CRITICAL, monitor -> SemanticTokensHandler.range(monitor, params,
 			documentLifeCycleHandler.new DocumentMonitor(params.getTextDocument().getUri())));
 	}
 
+	@Override
+	public CompletableFuture<DocumentDiagnosticReport> diagnostic(DocumentDiagnosticParams params) {
+		debugTrace(">> textDocument/diagnostic");
+		// waits for the pending validation of all the documents, so it must not hold a latency critical thread
+		return computeAsync(Lane.BULK, monitor -> new PullDiagnosticsHandler().diagnostic(params, monitor));
+	}
+
+	@Override
+	public CompletableFuture<WorkspaceDiagnosticReport> diagnostic(WorkspaceDiagnosticParams params) {
+		debugTrace(">> workspace/diagnostic");
+		return computeAsync(Lane.BULK, monitor -> new PullDiagnosticsHandler().workspaceDiagnostic(params, monitor));
+	}
+
 	@Override
 	public CompletableFuture<List<InlayHint>> inlayHint(InlayHintParams params) {
 		debugTrace(">> textDocument/inlayHint");
-		return computeAsync(monitor -> new InlayHintsHandler(preferenceManager).inlayHint(params, monitor));
+		return computeAsync(Lane.LATENCY_CRITICAL, monitor -> new InlayHintsHandler(preferenceManager).inlayHint(params, monitor));
 	}
 
 	@Override
@@ -1247,7 +1308,11 @@ public class JDTLanguageServer extends BaseJDTLanguageServer implements Language
 		// FIXME: implement the behavior of this method.
 	}
 	private <R> CompletableFuture<R> computeAsyncWithClientProgress(Function<IProgressMonitor, R> code) {
-		return CompletableFutures.computeAsync((cc) -> {
+		return computeAsyncWithClientProgress(Lane.INTERACTIVE, code);
+	}
+
+	private <R> CompletableFuture<R> computeAsyncWithClientProgress(Lane lane, Function<IProgressMonitor, R> code) {
+		return CompletableFutures.computeAsync(requestScheduler.getExecutor(lane), (cc) -> {
 			IProgressMonitor monitor = progressReporterManager.getProgressReporter(cc);
 			return code.apply(monitor);
 		});
@@ -21,7 +21,7 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.NodeFinder;
-import org.eclipse.jdt.core.manipulation.CoreASTProvider;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.codemanipulation.OverrideMethodsOperation;
 import org.eclipse.jdt.ls.core.internal.codemanipulation.OverrideMethodsOperation.OverridableMethod;
 import org.eclipse.jdt.ls.core.internal.corrections.DiagnosticsHelper;
@@ -47,7 +47,7 @@ public class OverrideMethodsHandler {
 		}
 		Range range = params.context.getRange();
 		ASTNode declarationNode = null;
-		CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(type.getCompilationUnit(), CoreASTProvider.WAIT_YES, monitor);
+		CompilationUnit astRoot = JDTUtils.getAst(type.getCompilationUnit(), monitor);
 		if (astRoot != null && range != null) {
 			ASTNode node = NodeFinder.perform(astRoot, DiagnosticsHelper.getStartOffset(type.getCompilationUnit(), range), DiagnosticsHelper.getLength(type.getCompilationUnit(), range));
 			declarationNode = SourceAssistProcessor.getTypeDeclarationNode(node);
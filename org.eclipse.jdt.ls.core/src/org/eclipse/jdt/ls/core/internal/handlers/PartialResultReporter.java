@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Streams the results of a request to the client as partial results, see
+ * <code>partialResultToken</code> in the LSP specification.
+ *
+ * Results are buffered until the latency budget of the request is spent. A
+ * request completing within the budget is answered with a regular response.
+ * Otherwise, the results collected so far are sent as a first batch, and the
+ * next ones in a new batch every time the budget elapses again, in
+ * <code>$/progress</code> notifications. In that case, the response of the
+ * request must not contain any result.
+ *
+ * The latency budget, in milliseconds, is set by the
+ * <code>java.lsp.partialResults.latencyBudget</code> system property and
+ * defaults to 100ms.
+ */
+public class PartialResultReporter<T> {
+
+	public static final String LATENCY_BUDGET_PROPERTY = "java.lsp.partialResults.latencyBudget";
+
+	private static final Map<String, Metrics> metrics = new ConcurrentHashMap<>();
+
+	private final String method;
+	private final Either<String, Integer> token;
+	private final JavaClientConnection connection;
+	private final Function<List<T>, Object> firstBatchConverter;
+	private final Function<List<T>, Object> batchConverter;
+	private final long budgetNanos;
+	private final long start;
+	private final List<T> pending = new ArrayList<>();
+	private long lastReport;
+	private long firstReport;
+	private boolean hasResults;
+	private int batches;
+
+	public PartialResultReporter(String method, Either<String, Integer> token, JavaClientConnection connection, Function<List<T>, Object> firstBatchConverter) {
+		this(method, token, connection, firstBatchConverter, batch -> batch);
+	}
+
+	public PartialResultReporter(String method, Either<String, Integer> token, JavaClientConnection connection, Function<List<T>, Object> firstBatchConverter, Function<List<T>, Object> batchConverter) {
+		this.method = method;
+		this.token = token;
+		this.connection = connection;
+		this.firstBatchConverter = firstBatchConverter;
+		this.batchConverter = batchConverter;
+		this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, Long.getLong(LATENCY_BUDGET_PROPERTY, 100)));
+		this.start = System.nanoTime();
+		this.lastReport = start;
+	}
+
+	/**
+	 * Creates a reporter for a request.
+	 *
+	 * @param method
+	 *            the method of the request, used for the metrics
+	 * @param token
+	 *            the partial result token of the request, can be
+	 *            <code>null</code>, in which case nothing is streamed
+	 * @return the reporter
+	 */
+	public static <T> PartialResultReporter<T> create(String method, Either<String, Integer> token) {
+		return create(method, token, batch -> batch);
+	}
+
+	/**
+	 * Creates a reporter for a request whose first partial result has another
+	 * form than the next ones, e.g. a <code>CompletionList</code> followed by
+	 * arrays of <code>CompletionItem</code>s.
+	 *
+	 * @param method
+	 *            the method of the request, used for the metrics
+	 * @param token
+	 *            the partial result token of the request, can be
+	 *            <code>null</code>, in which case nothing is streamed
+	 * @param firstBatchConverter
+	 *            converts the first batch into the first partial result
+	 * @return the reporter
+	 */
+	public static <T> PartialResultReporter<T> create(String method, Either<String, Integer> token, Function<List<T>, Object> firstBatchConverter) {
+		return create(method, token, firstBatchConverter, batch -> batch);
+	}
+
+	/**
+	 * Creates a reporter for a request whose partial results wrap the items,
+	 * e.g. in a <code>WorkspaceDiagnosticReportPartialResult</code>.
+	 *
+	 * @param method
+	 *            the method of the request, used for the metrics
+	 * @param token
+	 *            the partial result token of the request, can be
+	 *            <code>null</code>, in which case nothing is streamed
+	 * @param firstBatchConverter
+	 *            converts the first batch into the first partial result
+	 * @param batchConverter
+	 *            converts the next batches into partial results
+	 * @return the reporter
+	 */
+	public static <T> PartialResultReporter<T> create(String method, Either<String, Integer> token, Function<List<T>, Object> firstBatchConverter, Function<List<T>, Object> batchConverter) {
+		JavaLanguageServerPlugin plugin = JavaLanguageServerPlugin.getInstance();
+		JavaClientConnection connection = token == null || plugin == null ? null : plugin.getClientConnection();
+		return new PartialResultReporter<>(method, token, connection, firstBatchConverter, batchConverter);
+	}
+
+	public boolean isEnabled() {
+		return token != null && connection != null;
+	}
+
+	/**
+	 * Adds a result, which is sent to the client once the latency budget is
+	 * spent.
+	 */
+	public void add(T result) {
+		hasResults = true;
+		if (!isEnabled()) {
+			return;
+		}
+		pending.add(result);
+		if (System.nanoTime() - lastReport >= budgetNanos) {
+			report();
+		}
+	}
+
+	/**
+	 * Adds results, see {@link #add(Object)}.
+	 */
+	public void addAll(List<T> results) {
+		for (T result : results) {
+			add(result);
+		}
+	}
+
+	/**
+	 * Completes the request, sending the remaining results if partial results
+	 * were already sent.
+	 *
+	 * @return <code>true</code> if the results were sent as partial results,
+	 *         in which case the response must be empty, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean complete() {
+		boolean streamed = batches > 0;
+		if (streamed && !pending.isEmpty()) {
+			report();
+		}
+		pending.clear();
+		long end = System.nanoTime();
+		// without streaming, the client gets every result with the response
+		long timeToFirstItem = hasResults ? TimeUnit.NANOSECONDS.toMillis((streamed ? firstReport : end) - start) : -1;
+		long timeToLastItem = TimeUnit.NANOSECONDS.toMillis(end - start);
+		metrics.computeIfAbsent(method, m -> new Metrics()).record(streamed, timeToFirstItem, timeToLastItem);
+		if (streamed) {
+			JavaLanguageServerPlugin.logInfo(method + " streamed " + batches + " partial results, time to first item: " + timeToFirstItem + "ms, time to last item: " + timeToLastItem + "ms");
+		}
+		return streamed;
+	}
+
+	private void report() {
+		List<T> batch = new ArrayList<>(pending);
+		pending.clear();
+		Object value = batches == 0 ? firstBatchConverter.apply(batch) : batchConverter.apply(batch);
+		connection.notifyProgress(new ProgressParams(token, Either.forRight(value)));
+		lastReport = System.nanoTime();
+		if (batches++ == 0) {
+			firstReport = lastReport;
+		}
+	}
+
+	/**
+	 * Returns the latency metrics of the requests supporting partial results,
+	 * keyed by request method.
+	 */
+	public static Map<String, PartialResultStatistics> getStatistics() {
+		Map<String, PartialResultStatistics> statistics = new TreeMap<>();
+		metrics.forEach((method, m) -> statistics.put(method, m.getStatistics()));
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/**
+	 * Latency metrics of a request method. Times are measured from the start of
+	 * the request to the moment the first and last items are available to the
+	 * client.
+	 */
+	public record PartialResultStatistics(long requests, long streamed, long averageTimeToFirstItemMillis, long averageTimeToLastItemMillis, long maxTimeToLastItemMillis) {
+	}
+
+	private static final class Metrics {
+
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder streamed = new LongAdder();
+		private final LongAdder withItems = new LongAdder();
+		private final LongAdder totalTimeToFirstItem = new LongAdder();
+		private final LongAdder totalTimeToLastItem = new LongAdder();
+		private final AtomicLong maxTimeToLastItem = new AtomicLong();
+
+		void record(boolean wasStreamed, long timeToFirstItem, long timeToLastItem) {
+			requests.increment();
+			if (wasStreamed) {
+				streamed.increment();
+			}
+			if (timeToFirstItem >= 0) {
+				withItems.increment();
+				totalTimeToFirstItem.add(timeToFirstItem);
+			}
+			totalTimeToLastItem.add(timeToLastItem);
+			maxTimeToLastItem.accumulateAndGet(timeToLastItem, Math::max);
+		}
+
+		PartialResultStatistics getStatistics() {
+			long count = requests.sum();
+			long itemCount = withItems.sum();
+			return new PartialResultStatistics(count, streamed.sum(), itemCount == 0 ? 0 : totalTimeToFirstItem.sum() / itemCount, count == 0 ? 0 : totalTimeToLastItem.sum() / count, maxTimeToLastItem.get());
+		}
+	}
+}
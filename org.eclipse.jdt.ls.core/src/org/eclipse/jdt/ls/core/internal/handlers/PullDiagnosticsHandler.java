@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.JobHelpers;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.PreviousResultId;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.RelatedFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.RelatedUnchangedDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReportPartialResult;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceFullDocumentDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceUnchangedDocumentDiagnosticReport;
+
+/**
+ * Answers the <code>textDocument/diagnostic</code> and
+ * <code>workspace/diagnostic</code> requests of the clients pulling the
+ * diagnostics.
+ *
+ * In pull mode, the diagnostics computed by the server are not published but
+ * kept as a snapshot per document, identified by a result id which only
+ * changes with the diagnostics. A client passing the result id it already has
+ * gets an <code>unchanged</code> report, and is asked to pull again, with
+ * <code>workspace/diagnostic/refresh</code>, when some diagnostics changed.
+ */
+public class PullDiagnosticsHandler {
+
+	/**
+	 * The result id of a document without any diagnostics so far.
+	 */
+	static final String EMPTY_RESULT_ID = "0";
+	private static final long REFRESH_DELAY = 200;
+
+	private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+	private static final AtomicLong resultIds = new AtomicLong();
+	private static volatile boolean enabled;
+	private static final Job refreshJob = new Job("Refresh pulled diagnostics") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			JavaLanguageServerPlugin plugin = JavaLanguageServerPlugin.getInstance();
+			JavaClientConnection connection = plugin == null ? null : plugin.getClientConnection();
+			if (connection != null) {
+				connection.refreshDiagnostics();
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	static {
+		refreshJob.setSystem(true);
+	}
+
+	/**
+	 * Whether the diagnostics are pulled by the client instead of being
+	 * published by the server.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		PullDiagnosticsHandler.enabled = enabled;
+		if (!enabled) {
+			snapshots.clear();
+		}
+	}
+
+	/**
+	 * Records the diagnostics of a document, to be pulled by the client.
+	 *
+	 * @param params
+	 *            the diagnostics which would have been published
+	 * @return whether the diagnostics of the document changed
+	 */
+	public static boolean update(PublishDiagnosticsParams params) {
+		List<Diagnostic> diagnostics = params.getDiagnostics() == null ? List.of() : List.copyOf(params.getDiagnostics());
+		boolean[] changed = new boolean[1];
+		snapshots.compute(toKey(params.getUri()), (key, previous) -> {
+			if (previous == null ? diagnostics.isEmpty() : previous.diagnostics().equals(diagnostics)) {
+				return previous;
+			}
+			changed[0] = true;
+			return new Snapshot(params.getUri(), Long.toString(resultIds.incrementAndGet()), diagnostics);
+		});
+		if (changed[0]) {
+			scheduleRefresh();
+		}
+		return changed[0];
+	}
+
+	private static void scheduleRefresh() {
+		PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
+		if (preferenceManager != null && preferenceManager.getClientPreferences() != null && preferenceManager.getClientPreferences().isDiagnosticRefreshSupported()) {
+			// a single refresh for the diagnostics published together, e.g. after a build
+			int state = refreshJob.getState();
+			if (state == Job.NONE || state == Job.RUNNING) {
+				refreshJob.schedule(REFRESH_DELAY);
+			}
+		}
+	}
+
+	public DocumentDiagnosticReport diagnostic(DocumentDiagnosticParams params, IProgressMonitor monitor) {
+		// the diagnostics of the pending changes of the document are pulled
+		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+		Snapshot snapshot = snapshots.get(toKey(params.getTextDocument().getUri()));
+		String resultId = snapshot == null ? EMPTY_RESULT_ID : snapshot.resultId();
+		if (resultId.equals(params.getPreviousResultId())) {
+			return new DocumentDiagnosticReport(new RelatedUnchangedDocumentDiagnosticReport(resultId));
+		}
+		RelatedFullDocumentDiagnosticReport report = new RelatedFullDocumentDiagnosticReport(snapshot == null ? List.of() : snapshot.diagnostics());
+		report.setResultId(resultId);
+		return new DocumentDiagnosticReport(report);
+	}
+
+	public WorkspaceDiagnosticReport workspaceDiagnostic(WorkspaceDiagnosticParams params, IProgressMonitor monitor) {
+		Map<String, String> previousResultIds = new HashMap<>();
+		if (params.getPreviousResultIds() != null) {
+			for (PreviousResultId previousResultId : params.getPreviousResultIds()) {
+				previousResultIds.put(toKey(previousResultId.getUri()), previousResultId.getValue());
+			}
+		}
+		PartialResultReporter<WorkspaceDocumentDiagnosticReport> reporter = PartialResultReporter.create("workspace/diagnostic", params.getPartialResultToken(), WorkspaceDiagnosticReportPartialResult::new,
+				WorkspaceDiagnosticReportPartialResult::new);
+		List<WorkspaceDocumentDiagnosticReport> items = new ArrayList<>();
+		for (Map.Entry<String, Snapshot> entry : snapshots.entrySet()) {
+			if (monitor != null && monitor.isCanceled()) {
+				break;
+			}
+			Snapshot snapshot = entry.getValue();
+			WorkspaceDocumentDiagnosticReport report;
+			if (snapshot.resultId().equals(previousResultIds.get(entry.getKey()))) {
+				report = new WorkspaceDocumentDiagnosticReport(new WorkspaceUnchangedDocumentDiagnosticReport(snapshot.resultId(), snapshot.uri(), null));
+			} else {
+				WorkspaceFullDocumentDiagnosticReport fullReport = new WorkspaceFullDocumentDiagnosticReport(snapshot.diagnostics(), snapshot.uri(), null);
+				fullReport.setResultId(snapshot.resultId());
+				report = new WorkspaceDocumentDiagnosticReport(fullReport);
+			}
+			items.add(report);
+			reporter.add(report);
+		}
+		return new WorkspaceDiagnosticReport(reporter.complete() ? List.of() : items);
+	}
+
+	private static String toKey(String uri) {
+		URI normalized = JDTUtils.toURI(uri);
+		return normalized == null ? uri : ResourceUtils.toClientUri(ResourceUtils.fixURI(normalized));
+	}
+
+	private record Snapshot(String uri, String resultId, List<Diagnostic> diagnostics) {
+	}
+}
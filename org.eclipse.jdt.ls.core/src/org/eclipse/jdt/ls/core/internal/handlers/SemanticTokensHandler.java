@@ -15,6 +15,11 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -23,20 +28,83 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JobHelpers;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler.DocumentMonitor;
+import org.eclipse.jdt.ls.core.internal.semantictokens.IntArrayList;
 import org.eclipse.jdt.ls.core.internal.semantictokens.SemanticTokensVisitor;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenModifier;
 import org.eclipse.jdt.ls.core.internal.semantictokens.TokenType;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensEdit;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 public class SemanticTokensHandler {
 
+	private static final int MAX_CACHED_DOCUMENTS = 32;
+
+	private static final AtomicLong resultIds = new AtomicLong();
+
+	/**
+	 * The last tokens sent for each document, used to answer delta requests.
+	 */
+	private static final Map<String, CachedTokens> cache = Collections.synchronizedMap(new LinkedHashMap<>(MAX_CACHED_DOCUMENTS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedTokens> eldest) {
+			return size() > MAX_CACHED_DOCUMENTS;
+		}
+	});
+
+	private record CachedTokens(String resultId, int[] data) {
+	}
+
 	public static SemanticTokens full(IProgressMonitor monitor, SemanticTokensParams params, DocumentMonitor documentMonitor) {
-		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(params.getTextDocument().getUri());
+		String uri = params.getTextDocument().getUri();
+		List<Integer> data = computeTokens(uri, null, monitor, documentMonitor);
+		if (data == null) {
+			return new SemanticTokens(Collections.emptyList());
+		}
+		return new SemanticTokens(cacheTokens(uri, data).resultId(), data);
+	}
+
+	/**
+	 * Computes the semantic tokens of a document and, when the previous result
+	 * sent to the client is known, returns only the edits turning the previous
+	 * tokens into the new ones.
+	 */
+	public static Either<SemanticTokens, SemanticTokensDelta> fullDelta(IProgressMonitor monitor, SemanticTokensDeltaParams params, DocumentMonitor documentMonitor) {
+		String uri = params.getTextDocument().getUri();
+		List<Integer> data = computeTokens(uri, null, monitor, documentMonitor);
+		if (data == null) {
+			return Either.forLeft(new SemanticTokens(Collections.emptyList()));
+		}
+		CachedTokens previous = cache.get(uri);
+		CachedTokens current = cacheTokens(uri, data);
+		if (previous == null || !Objects.equals(previous.resultId(), params.getPreviousResultId())) {
+			return Either.forLeft(new SemanticTokens(current.resultId(), data));
+		}
+		return Either.forRight(new SemanticTokensDelta(computeEdits(previous.data(), current.data()), current.resultId()));
+	}
+
+	/**
+	 * Computes the semantic tokens of a range of a document. Only the AST nodes
+	 * intersecting the range are visited.
+	 */
+	public static SemanticTokens range(IProgressMonitor monitor, SemanticTokensRangeParams params, DocumentMonitor documentMonitor) {
+		List<Integer> data = computeTokens(params.getTextDocument().getUri(), params.getRange(), monitor, documentMonitor);
+		return new SemanticTokens(data == null ? Collections.emptyList() : data);
+	}
+
+	private static List<Integer> computeTokens(String uri, Range range, IProgressMonitor monitor, DocumentMonitor documentMonitor) {
+		ITypeRoot typeRoot = JDTUtils.resolveTypeRoot(uri);
 		documentMonitor.checkChanged();
 		if (typeRoot == null || monitor.isCanceled()) {
-			return new SemanticTokens(Collections.emptyList());
+			return null;
 		}
 
 		JobHelpers.waitForJobs(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
@@ -45,12 +113,58 @@ public class SemanticTokensHandler {
 		CompilationUnit root = JDTUtils.getAst(typeRoot, monitor);
 		documentMonitor.checkChanged();
 		if (root == null || monitor.isCanceled()) {
-			return new SemanticTokens(Collections.emptyList());
+			return null;
 		}
 
-		SemanticTokensVisitor collector = new SemanticTokensVisitor(root);
+		SemanticTokensVisitor collector;
+		if (range == null) {
+			collector = new SemanticTokensVisitor(root);
+		} else {
+			int startOffset = root.getPosition(range.getStart().getLine() + 1, range.getStart().getCharacter());
+			int endOffset = root.getPosition(range.getEnd().getLine() + 1, range.getEnd().getCharacter());
+			collector = new SemanticTokensVisitor(root, Math.max(startOffset, 0), endOffset < 0 ? Integer.MAX_VALUE : endOffset);
+		}
 		root.accept(collector);
-		return collector.getSemanticTokens();
+		return collector.getSemanticTokens().getData();
+	}
+
+	private static CachedTokens cacheTokens(String uri, List<Integer> data) {
+		CachedTokens tokens = new CachedTokens(Long.toString(resultIds.incrementAndGet()), IntArrayList.toIntArray(data));
+		cache.put(uri, tokens);
+		return tokens;
+	}
+
+	/**
+	 * Computes the edits transforming the previous encoded tokens into the
+	 * current ones. Since an edit in a document usually only affects the tokens
+	 * around it, the common prefix and suffix are skipped and at most one
+	 * {@link SemanticTokensEdit} is returned.
+	 */
+	public static List<SemanticTokensEdit> computeEdits(int[] previous, int[] current) {
+		int previousSize = previous.length;
+		int currentSize = current.length;
+		int minSize = Math.min(previousSize, currentSize);
+		int prefix = 0;
+		while (prefix < minSize && previous[prefix] == current[prefix]) {
+			prefix++;
+		}
+		if (prefix == previousSize && prefix == currentSize) {
+			return Collections.emptyList();
+		}
+		int suffix = 0;
+		while (suffix < minSize - prefix && previous[previousSize - 1 - suffix] == current[currentSize - 1 - suffix]) {
+			suffix++;
+		}
+		int deleteCount = previousSize - prefix - suffix;
+		List<Integer> data = new IntArrayList(Arrays.copyOfRange(current, prefix, currentSize - suffix));
+		return List.of(new SemanticTokensEdit(prefix, deleteCount, data));
+	}
+
+	/**
+	 * Forgets the tokens sent for the given document.
+	 */
+	public static void discard(String uri) {
+		cache.remove(uri);
 	}
 
 	public static SemanticTokensLegend legend() {
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.List;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+
+/**
+ * Applies the content changes of a <code>textDocument/didChange</code>
+ * notification to a document.
+ *
+ * The changes are applied in a single pass, directly on the document of the
+ * open buffer. LSP positions are expressed in UTF-16 code units, like Java
+ * strings, so a position only needs the offset of its line, which the line
+ * tracker of the document keeps up to date incrementally. No text is copied
+ * and no line information is recomputed for the whole file, whatever its size.
+ */
+public final class TextDocumentChanges {
+
+	private TextDocumentChanges() {
+		// no instances
+	}
+
+	/**
+	 * Applies the given changes, in order, to the document.
+	 *
+	 * @param document
+	 *            the document to update
+	 * @param changes
+	 *            the changes to apply. A change without range replaces the
+	 *            whole content of the document.
+	 * @throws BadLocationException
+	 *             if a change refers to a position outside of the document
+	 */
+	public static void apply(IDocument document, List<TextDocumentContentChangeEvent> changes) throws BadLocationException {
+		for (TextDocumentContentChangeEvent change : changes) {
+			apply(document, change);
+		}
+	}
+
+	/**
+	 * Applies a single change to the document.
+	 *
+	 * @param document
+	 *            the document to update
+	 * @param change
+	 *            the change to apply
+	 * @throws BadLocationException
+	 *             if the change refers to a position outside of the document
+	 */
+	public static void apply(IDocument document, TextDocumentContentChangeEvent change) throws BadLocationException {
+		String text = change.getText() == null ? "" : change.getText();
+		Range range = change.getRange();
+		if (range == null) {
+			// range is optional and if not given, the whole file content is replaced
+			document.set(text);
+			return;
+		}
+		int startOffset = toOffset(document, range.getStart());
+		int endOffset = toOffset(document, range.getEnd());
+		if (endOffset < startOffset) {
+			throw new BadLocationException("Invalid range " + range);
+		}
+		int length = endOffset - startOffset;
+		if (length == 0 && text.isEmpty()) {
+			return;
+		}
+		document.replace(startOffset, length, text);
+	}
+
+	/**
+	 * Converts a LSP position to an offset of the document.
+	 *
+	 * @param document
+	 *            the document
+	 * @param position
+	 *            a position, with a character offset in UTF-16 code units
+	 * @return the offset of the position in the document
+	 * @throws BadLocationException
+	 *             if the line of the position doesn't exist
+	 */
+	public static int toOffset(IDocument document, Position position) throws BadLocationException {
+		return document.getLineOffset(position.getLine()) + position.getCharacter();
+	}
+}
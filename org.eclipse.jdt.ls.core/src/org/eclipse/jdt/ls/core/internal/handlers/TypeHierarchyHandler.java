@@ -31,8 +31,6 @@ import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
-import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType;
 import org.eclipse.jdt.ls.core.internal.JSONUtility;
@@ -58,11 +56,13 @@ public class TypeHierarchyHandler {
 		private String handleIdentifier;
 		private String methodIdentifier;
 		private String methodName;
+		private String rootIdentifier;
 
-		public TypeHierarchyItemData(String handleIdentifier, String methodIdentifier, String methodName) {
+		public TypeHierarchyItemData(String handleIdentifier, String methodIdentifier, String methodName, String rootIdentifier) {
 			this.handleIdentifier = handleIdentifier;
 			this.methodIdentifier = methodIdentifier;
 			this.methodName = methodName;
+			this.rootIdentifier = rootIdentifier;
 		}
 
 		private static TypeHierarchyItemData getTypeHierarchyItemData(Object data) {
@@ -73,7 +73,8 @@ public class TypeHierarchyHandler {
 			String handleIdentifier = map.get("element");
 			String methodIdentifier = map.get("method");
 			String methodName = map.get("method_name");
-			return new TypeHierarchyItemData(handleIdentifier, methodIdentifier, methodName);
+			String rootIdentifier = map.get("root");
+			return new TypeHierarchyItemData(handleIdentifier, methodIdentifier, methodName, rootIdentifier);
 		}
 	}
 
@@ -100,7 +101,7 @@ public class TypeHierarchyHandler {
 			if (member instanceof IMethod) {
 				targetMethod = (IMethod) member;
 			}
-			TypeHierarchyItem item = targetMethod == null ? TypeHierarchyHandler.toTypeHierarchyItem(member) : TypeHierarchyHandler.toTypeHierarchyItem(member, false, targetMethod);
+			TypeHierarchyItem item = TypeHierarchyHandler.toTypeHierarchyItem(member, false, targetMethod, null);
 			if (item == null) {
 				return Collections.emptyList();
 			}
@@ -136,10 +137,14 @@ public class TypeHierarchyHandler {
 		} else {
 			return Collections.emptyList();
 		}
-		return resolveTypeHierarchyItems(member, targetMethod, direction, monitor);
+		IType root = null;
+		if (data.rootIdentifier != null && JavaCore.create(data.rootIdentifier) instanceof IType rootType) {
+			root = rootType;
+		}
+		return resolveTypeHierarchyItems(member, targetMethod, root, direction, monitor);
 	}
 
-	private List<TypeHierarchyItem> resolveTypeHierarchyItems(IMember member, IMethod targetMethod, TypeHierarchyDirection direction, IProgressMonitor monitor) {
+	private List<TypeHierarchyItem> resolveTypeHierarchyItems(IMember member, IMethod targetMethod, IType root, TypeHierarchyDirection direction, IProgressMonitor monitor) {
 		if (monitor.isCanceled()) {
 			return Collections.emptyList();
 		}
@@ -150,17 +155,17 @@ public class TypeHierarchyHandler {
 			type = member.getDeclaringType();
 		}
 		try {
-			ITypeHierarchy typeHierarchy = null;
-			List<TypeHierarchyItem> items = new ArrayList<>();
-			IType[] hierarchyTypes = null;
-			if (direction == TypeHierarchyDirection.Supertype) {
-				typeHierarchy = type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor);
-				hierarchyTypes = typeHierarchy.getSupertypes(type);
-			} else {
-				ICompilationUnit[] workingCopies = JavaModelManager.getJavaModelManager().getWorkingCopies(DefaultWorkingCopyOwner.PRIMARY, true);
-				typeHierarchy = type.newTypeHierarchy(workingCopies, monitor);
-				hierarchyTypes = typeHierarchy.getSubtypes(type);
+			// the hierarchy of the type the tree was prepared on holds the types of the whole tree
+			ITypeHierarchy typeHierarchy = root == null ? null : TypeHierarchySessions.getHierarchy(root, type, direction, monitor);
+			if (typeHierarchy == null) {
+				root = type;
+				typeHierarchy = TypeHierarchySessions.getHierarchy(type, type, direction, monitor);
+				if (typeHierarchy == null) {
+					return Collections.emptyList();
+				}
 			}
+			List<TypeHierarchyItem> items = new ArrayList<>();
+			IType[] hierarchyTypes = direction == TypeHierarchyDirection.Supertype ? typeHierarchy.getSupertypes(type) : typeHierarchy.getSubtypes(type);
 			for (IType hierarchyType : hierarchyTypes) {
 				if (monitor.isCanceled()) {
 					return Collections.emptyList();
@@ -171,10 +176,10 @@ public class TypeHierarchyHandler {
 					boolean excludeMember = matches == null || matches.length == 0;
 					// Do not show java.lang.Object unless target method is based there
 					if (!excludeMember || !"java.lang.Object".equals(hierarchyType.getFullyQualifiedName())) {
-						item = TypeHierarchyHandler.toTypeHierarchyItem(excludeMember ? hierarchyType : matches[0], excludeMember, targetMethod);
+						item = TypeHierarchyHandler.toTypeHierarchyItem(excludeMember ? hierarchyType : matches[0], excludeMember, targetMethod, root);
 					}
 				} else {
-					item = TypeHierarchyHandler.toTypeHierarchyItem(hierarchyType);
+					item = TypeHierarchyHandler.toTypeHierarchyItem(hierarchyType, false, null, root);
 				}
 				if (item == null) {
 					continue;
@@ -213,11 +218,7 @@ public class TypeHierarchyHandler {
 		return element;
 	}
 
-	private static TypeHierarchyItem toTypeHierarchyItem(IMember member) throws JavaModelException {
-		return toTypeHierarchyItem(member, false, null);
-	}
-
-	private static TypeHierarchyItem toTypeHierarchyItem(IMember member, boolean excludeMember, IMethod targetMethod) throws JavaModelException {
+	private static TypeHierarchyItem toTypeHierarchyItem(IMember member, boolean excludeMember, IMethod targetMethod, IType root) throws JavaModelException {
 		if (member == null) {
 			return null;
 		}
@@ -266,6 +267,9 @@ public class TypeHierarchyHandler {
 			data.put("method", member.getHandleIdentifier());
 			data.put("method_name", member.getElementName());
 		}
+		if (root != null) {
+			data.put("root", root.getHandleIdentifier());
+		}
 		TypeHierarchyItem item = new TypeHierarchyItem(name, kind, uri, range, selectionRange, detail);
 		item.setTags(tags);
 		item.setData(data);
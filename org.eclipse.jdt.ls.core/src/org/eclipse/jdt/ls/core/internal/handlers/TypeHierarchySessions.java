@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.jdt.ls.core.internal.handlers.TypeHierarchyHandler.TypeHierarchyDirection;
+
+/**
+ * The type hierarchies computed for the expansion of a type hierarchy tree,
+ * keyed by the type the tree was prepared on. The hierarchy of the root type
+ * holds all the supertypes, or subtypes, of the types of the tree, so that
+ * expanding them doesn't compute an almost identical hierarchy again.
+ *
+ * A hierarchy is refreshed when it is used after a change of the Java model
+ * affecting it, and discarded once it has not been used for
+ * <code>java.lsp.typeHierarchy.sessionTimeout</code> milliseconds.
+ */
+public final class TypeHierarchySessions {
+
+	static final long SESSION_TIMEOUT = Long.getLong("java.lsp.typeHierarchy.sessionTimeout", 300_000L);
+	private static final int MAX_SESSIONS = 16;
+
+	// guarded by sessions, in access order
+	private static final Map<SessionKey, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+	private static final Job evictionJob = new Job("Evict idle type hierarchies") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			evict(System.currentTimeMillis() - SESSION_TIMEOUT);
+			synchronized (sessions) {
+				if (!sessions.isEmpty()) {
+					schedule(SESSION_TIMEOUT);
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	static {
+		evictionJob.setSystem(true);
+	}
+
+	private TypeHierarchySessions() {
+	}
+
+	/**
+	 * Returns the hierarchy of the session of the given root type, which holds
+	 * the supertypes or subtypes of the given type.
+	 *
+	 * @param root
+	 *            the type the type hierarchy tree was prepared on
+	 * @param type
+	 *            the type to expand
+	 * @param direction
+	 *            the direction of the expansion
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the up to date hierarchy, or <code>null</code> if it doesn't hold
+	 *         the type
+	 */
+	static ITypeHierarchy getHierarchy(IType root, IType type, TypeHierarchyDirection direction, IProgressMonitor monitor) throws JavaModelException {
+		if (!root.exists()) {
+			return null;
+		}
+		SessionKey key = new SessionKey(root.getHandleIdentifier(), direction);
+		Session session;
+		List<Session> evicted = new ArrayList<>();
+		synchronized (sessions) {
+			session = sessions.get(key);
+			if (session == null) {
+				session = new Session(root, direction);
+				sessions.put(key, session);
+				Iterator<Session> iterator = sessions.values().iterator();
+				while (sessions.size() > MAX_SESSIONS && iterator.hasNext()) {
+					evicted.add(iterator.next());
+					iterator.remove();
+				}
+				// a running job may have seen no session, schedule it again
+				int state = evictionJob.getState();
+				if (state == Job.NONE || state == Job.RUNNING) {
+					evictionJob.schedule(SESSION_TIMEOUT);
+				}
+			}
+		}
+		evicted.forEach(Session::dispose);
+		ITypeHierarchy hierarchy = session.getHierarchy(monitor);
+		return hierarchy != null && isComplete(hierarchy, root, type, direction) ? hierarchy : null;
+	}
+
+	/**
+	 * Returns whether the hierarchy of the root type holds all the supertypes,
+	 * or subtypes, of the given type. The hierarchy of a type only holds the
+	 * subtypes of its supertypes that are on the path to it, for instance.
+	 */
+	private static boolean isComplete(ITypeHierarchy hierarchy, IType root, IType type, TypeHierarchyDirection direction) {
+		if (type.equals(root)) {
+			return true;
+		}
+		IType[] types = direction == TypeHierarchyDirection.Supertype ? hierarchy.getAllSupertypes(root) : hierarchy.getAllSubtypes(root);
+		return Arrays.asList(types).contains(type);
+	}
+
+	/**
+	 * Discards the sessions not used since the given time.
+	 */
+	public static void evict(long lastAccessTime) {
+		List<Session> evicted = new ArrayList<>();
+		synchronized (sessions) {
+			Iterator<Session> iterator = sessions.values().iterator();
+			while (iterator.hasNext()) {
+				Session session = iterator.next();
+				if (session.lastAccess <= lastAccessTime) {
+					evicted.add(session);
+					iterator.remove();
+				}
+			}
+		}
+		evicted.forEach(Session::dispose);
+	}
+
+	public static int size() {
+		synchronized (sessions) {
+			return sessions.size();
+		}
+	}
+
+	private record SessionKey(String handleIdentifier, TypeHierarchyDirection direction) {
+	}
+
+	private static final class Session implements ITypeHierarchyChangedListener {
+
+		private final IType root;
+		private final TypeHierarchyDirection direction;
+		private volatile long lastAccess = System.currentTimeMillis();
+		private volatile boolean stale;
+		// guarded by this
+		private ITypeHierarchy hierarchy;
+		private boolean disposed;
+
+		Session(IType root, TypeHierarchyDirection direction) {
+			this.root = root;
+			this.direction = direction;
+		}
+
+		synchronized ITypeHierarchy getHierarchy(IProgressMonitor monitor) throws JavaModelException {
+			lastAccess = System.currentTimeMillis();
+			if (disposed) {
+				// evicted meanwhile, the hierarchy is still valid for this request
+				return hierarchy != null && !stale ? hierarchy : compute(monitor);
+			}
+			if (hierarchy == null) {
+				hierarchy = compute(monitor);
+				hierarchy.addTypeHierarchyChangedListener(this);
+			} else if (stale) {
+				stale = false;
+				try {
+					hierarchy.refresh(monitor);
+				} catch (JavaModelException | RuntimeException e) {
+					stale = true;
+					throw e;
+				}
+			}
+			return hierarchy;
+		}
+
+		private ITypeHierarchy compute(IProgressMonitor monitor) throws JavaModelException {
+			if (direction == TypeHierarchyDirection.Supertype) {
+				return root.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor);
+			}
+			// the hierarchy of an owner considers its current working copies when refreshed
+			return root.newTypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, monitor);
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			stale = true;
+		}
+
+		synchronized void dispose() {
+			disposed = true;
+			if (hierarchy != null) {
+				// stops listening to the Java model changes
+				hierarchy.removeTypeHierarchyChangedListener(this);
+			}
+		}
+	}
+}
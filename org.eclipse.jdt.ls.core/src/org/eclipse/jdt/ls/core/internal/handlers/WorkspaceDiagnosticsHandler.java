@@ -12,11 +12,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -36,6 +38,7 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
@@ -56,6 +59,7 @@ import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
@@ -82,6 +86,22 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 	private final ProjectsManager projectsManager;
 	private final boolean isDiagnosticTagSupported;
 	private final DocumentLifeCycleHandler handler;
+	private final DiagnosticsPublisher publisher;
+
+	/**
+	 * The documents of the last files whose markers were converted, keyed by
+	 * path, so that the markers of an unchanged file are converted without
+	 * reading it again.
+	 */
+	private static final int MAX_CACHED_DOCUMENTS = 32;
+	private static final Map<IPath, CachedDocument> documents = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IPath, CachedDocument> eldest) {
+			return size() > MAX_CACHED_DOCUMENTS;
+		}
+	};
 
 	@Deprecated
 	public WorkspaceDiagnosticsHandler(JavaClientConnection connection, ProjectsManager projectsManager) {
@@ -97,6 +117,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		this.projectsManager = projectsManager;
 		this.isDiagnosticTagSupported = prefs != null ? prefs.isDiagnosticTagSupported() : false;
 		this.handler = handler;
+		this.publisher = new DiagnosticsPublisher(connection);
 	}
 
 	public void addResourceChangeListener() {
@@ -105,6 +126,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 
 	public void removeResourceChangeListener() {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		publisher.dispose();
 	}
 
 	@Override
@@ -172,41 +194,70 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			return false;
 		}
 		IFile file = (IFile) resource;
-		IDocument document = null;
-		IMarker[] markers = null;
+		String uri = JDTUtils.getFileURI(resource);
+		// the markers are converted off the resource change thread, once per file for the changes close in time
 		// Check if it is a Java ...
 		if (JavaCore.isJavaLikeFileName(file.getName())) {
 			ICompilationUnit cu = (ICompilationUnit) JavaCore.create(file);
 			// Clear the diagnostics for the resource not on the classpath
 			IJavaProject javaProject = cu.getJavaProject();
 			if (javaProject == null || !javaProject.isOnClasspath(cu)) {
-				String uri = JDTUtils.getFileURI(resource);
-				this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+				publisher.publish(ResourceUtils.toClientUri(uri), List::of);
 				return false;
 			}
 			if (!cu.isWorkingCopy()) {
-				markers = resource.findMarkers(null, false, IResource.DEPTH_ONE);
-				try {
-					document = JsonRpcHelpers.toDocument(cu.getBuffer());
-				} catch (JavaModelException e) {
-					// do nothing
-				}
+				// the diagnostics of a document opened meanwhile are published by the DocumentLifeCycleHandler
+				publisher.publish(ResourceUtils.toClientUri(uri), () -> cu.isWorkingCopy() ? null : getFileDiagnostics(file, uri, false));
 			} else if (handler != null) {
 				handler.triggerValidation(cu);
 			}
 		} // or a build file
 		else if (projectsManager.isBuildFile(file)) {
 			//all errors on that build file should be relevant
-			markers = file.findMarkers(null, true, 1);
-			document = JsonRpcHelpers.toDocument(file);
+			publisher.publish(ResourceUtils.toClientUri(uri), () -> getFileDiagnostics(file, uri, true));
+		}
+		return false;
+	}
+
+	private List<Diagnostic> getFileDiagnostics(IFile file, String uri, boolean includeSubtypes) throws CoreException {
+		if (!file.isAccessible() || BaseDiagnosticsHandler.matchesDiagnosticFilter(uri, JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getDiagnosticFilter())) {
+			return null;
 		}
-		if (document != null) {
-			String uri = JDTUtils.getFileURI(resource);
-			if (!BaseDiagnosticsHandler.matchesDiagnosticFilter(uri, JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getDiagnosticFilter())) {
-				this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), toDiagnosticsArray(document, markers, isDiagnosticTagSupported)));
+		IMarker[] markers = file.findMarkers(null, includeSubtypes, IResource.DEPTH_ONE);
+		IDocument document = getDocument(file);
+		return document == null ? null : toDiagnosticsArray(document, markers, isDiagnosticTagSupported);
+	}
+
+	/**
+	 * Returns a document with the contents of the given file, to map the marker
+	 * offsets to positions. Unlike {@link JsonRpcHelpers#toDocument(IFile)},
+	 * neither a Java model buffer nor a file buffer is opened.
+	 *
+	 * @return the document, or <code>null</code> if the file can't be read
+	 */
+	static IDocument getDocument(IFile file) {
+		IPath path = file.getFullPath();
+		long modificationStamp = file.getModificationStamp();
+		synchronized (documents) {
+			CachedDocument cached = documents.get(path);
+			if (cached != null && cached.modificationStamp() == modificationStamp) {
+				return cached.document();
 			}
 		}
-		return false;
+		IDocument document;
+		try (InputStream contents = file.getContents(true)) {
+			document = new Document(new String(contents.readAllBytes(), file.getCharset()));
+		} catch (IOException | CoreException e) {
+			JavaLanguageServerPlugin.logException("Failed to read " + file.getFullPath(), e);
+			return null;
+		}
+		synchronized (documents) {
+			documents.put(path, new CachedDocument(modificationStamp, document));
+		}
+		return document;
+	}
+
+	private record CachedDocument(long modificationStamp, IDocument document) {
 	}
 
 	private void publishMarkers(IProject project, IMarker[] markers) throws CoreException {
@@ -238,7 +289,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 		String clientUri = ResourceUtils.toClientUri(uri);
 		connection.publishDiagnostics(new PublishDiagnosticsParams(clientUri, diagnostics));
 		if (pom.exists()) {
-			IDocument document = JsonRpcHelpers.toDocument(pom);
+			IDocument document = getDocument(pom);
 			diagnostics = toDiagnosticsArray(document, pom.findMarkers(null, true, IResource.DEPTH_ZERO), isDiagnosticTagSupported);
 			List<Diagnostic> diagnosicts2 = toDiagnosticArray(range, pomMarkers, isDiagnosticTagSupported);
 			diagnostics.addAll(diagnosicts2);
@@ -246,7 +297,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(clientUri + pomSuffix), diagnostics));
 		}
 		if (gradleWrapperProperties.exists()) {
-			IDocument document = JsonRpcHelpers.toDocument(gradleWrapperProperties);
+			IDocument document = getDocument(gradleWrapperProperties);
 			diagnostics = toDiagnosticsArray(document, gradleWrapperProperties.findMarkers(null, true, IResource.DEPTH_ZERO), isDiagnosticTagSupported);
 			List<Diagnostic> diagnosicts2 = toDiagnosticArray(range, gradleMarkers, isDiagnosticTagSupported);
 			diagnostics.addAll(diagnosicts2);
@@ -334,14 +385,10 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 				ICompilationUnit cu = JDTUtils.resolveCompilationUnit(uri);
 				//ignoring working copies, they're handled in the DocumentLifecycleHandler
 				if (cu != null && !cu.isWorkingCopy()) {
-					try {
-						document = JsonRpcHelpers.toDocument(cu.getBuffer());
-					} catch (JavaModelException e) {
-						JavaLanguageServerPlugin.logException("Failed to publish diagnostics for " + uri, e);
-					}
+					document = getDocument(file);
 				}
 			} else if (projectsManager.isBuildFile(file)) {
-				document = JsonRpcHelpers.toDocument(file);
+				document = getDocument(file);
 			}
 			if (document != null) {
 				List<Diagnostic> diagnostics = WorkspaceDiagnosticsHandler.toDiagnosticsArray(document, entry.getValue().toArray(new IMarker[0]), isDiagnosticTagSupported);
@@ -592,7 +639,7 @@ public final class WorkspaceDiagnosticsHandler implements IResourceChangeListene
 			if (addTrailingSlash && !uri.endsWith("/")) {
 				uri = uri + "/";
 			}
-			this.connection.publishDiagnostics(new PublishDiagnosticsParams(ResourceUtils.toClientUri(uri), Collections.emptyList()));
+			publisher.publish(ResourceUtils.toClientUri(uri), List::of);
 		}
 	}
 
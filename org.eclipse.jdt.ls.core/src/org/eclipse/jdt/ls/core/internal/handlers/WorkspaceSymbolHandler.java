@@ -13,15 +13,20 @@
 package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
@@ -29,18 +34,22 @@ import org.eclipse.jdt.core.search.MethodNameMatch;
 import org.eclipse.jdt.core.search.MethodNameMatchRequestor;
 import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchPattern;
-import org.eclipse.jdt.core.search.TypeNameMatch;
-import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.SearchScope;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.SymbolTag;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolLocation;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import com.google.gson.JsonPrimitive;
 
 public class WorkspaceSymbolHandler {
 
@@ -53,7 +62,40 @@ public class WorkspaceSymbolHandler {
 	}
 
 	public static List<SymbolInformation> search(String query, int maxResults, String projectName, boolean sourceOnly, IProgressMonitor monitor) {
-		Set<SymbolInformation> symbols = new HashSet<>();
+		return search(query, maxResults, projectName, sourceOnly, PartialResultReporter.create("workspace/symbol", null), monitor);
+	}
+
+	/**
+	 * Searches the types, and the methods if enabled, matching the query.
+	 *
+	 * @param reporter
+	 *            the reporter streaming the symbols as they are found
+	 * @return the symbols, best matches first, or an empty list if they were
+	 *         sent as partial results
+	 */
+	public static List<SymbolInformation> search(String query, int maxResults, String projectName, boolean sourceOnly, PartialResultReporter<SymbolInformation> reporter, IProgressMonitor monitor) {
+		boolean isSymbolTagSupported = isSymbolTagSupported();
+		return search(query, maxResults, projectName, sourceOnly, reporter, symbol -> toSymbolInformation(symbol, sourceOnly, isSymbolTagSupported), Function.identity(), monitor);
+	}
+
+	/**
+	 * Searches the types, and the methods if enabled, matching the query. The
+	 * locations of the types are only resolved by
+	 * {@link #resolve(WorkspaceSymbol)}.
+	 *
+	 * @param reporter
+	 *            the reporter streaming the symbols as they are found
+	 * @return the symbols, best matches first, or an empty list if they were
+	 *         sent as partial results
+	 */
+	public static List<WorkspaceSymbol> searchWorkspaceSymbols(String query, PartialResultReporter<WorkspaceSymbol> reporter, IProgressMonitor monitor) {
+		boolean isSymbolTagSupported = isSymbolTagSupported();
+		return search(query, 0, null, false, reporter, symbol -> toWorkspaceSymbol(symbol, isSymbolTagSupported), WorkspaceSymbolHandler::toWorkspaceSymbol, monitor);
+	}
+
+	private static <T> List<T> search(String query, int maxResults, String projectName, boolean sourceOnly, PartialResultReporter<T> reporter, Function<WorkspaceSymbolIndex.Symbol, T> typeConverter,
+			Function<SymbolInformation, T> methodConverter, IProgressMonitor monitor) {
+		Set<T> symbols = new LinkedHashSet<>();
 		if (StringUtils.isBlank(query)) {
 			return new ArrayList<>(symbols);
 		}
@@ -63,42 +105,35 @@ public class WorkspaceSymbolHandler {
 			IJavaSearchScope searchScope = createSearchScope(projectName, sourceOnly);
 
 			String tQuery = query.trim();
-			String qualifierName = null;
-			String typeName = tQuery;
-			int qualifierMatchRule = SearchPattern.R_PATTERN_MATCH;
-
-			int qualIndex = tQuery.lastIndexOf('.');
-			if (qualIndex != -1) {
-				qualifierName = tQuery.substring(0, qualIndex);
-				typeName = tQuery.substring(qualIndex + 1);
-				if (!qualifierName.contains("*") && !qualifierName.contains("?")) {
-					qualifierName = String.format("*%s*", qualifierName);
+			for (WorkspaceSymbolIndex.Symbol type : WorkspaceSymbolIndex.getInstance().search(tQuery, searchScope, maxResults, monitor)) {
+				T symbol = typeConverter.apply(type);
+				if (symbol != null && symbols.add(symbol)) {
+					reporter.add(symbol);
 				}
 			}
 
-			int typeMatchRule = SearchPattern.R_CAMELCASE_MATCH;
-			if (typeName.contains("*") || typeName.contains("?")) {
-				typeMatchRule = SearchPattern.R_PATTERN_MATCH;
-			}
-
-
 			PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
-
-			SearchEngine engine = new SearchEngine();
-			boolean isSymbolTagSupported = preferenceManager != null && preferenceManager.getClientPreferences().isSymbolTagSupported();
-			WorkspaceSymbolTypeRequestor typeRequestor = new WorkspaceSymbolTypeRequestor(symbols, maxResults, sourceOnly, isSymbolTagSupported, monitor);
-			if (!typeName.isEmpty()) {
-				// search for qualifier = qualifierName, type = typeName
-				engine.searchAllTypeNames(qualifierName == null ? null : qualifierName.toCharArray(), qualifierMatchRule, typeName.toCharArray(), typeMatchRule, IJavaSearchConstants.TYPE, searchScope,typeRequestor , IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
-			}
-			// search for qualifier = qualiferName.typeName, type = null
-			engine.searchAllTypeNames(tQuery.toCharArray(), qualifierMatchRule, null, typeMatchRule, IJavaSearchConstants.TYPE, searchScope, typeRequestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
-
-			if (preferenceManager != null && preferenceManager.getPreferences().isIncludeSourceMethodDeclarations()) {
+			if (preferenceManager != null && preferenceManager.getPreferences().isIncludeSourceMethodDeclarations() && (maxResults <= 0 || symbols.size() < maxResults)) {
 				monitor.beginTask("Searching methods...", 100);
+				int typeMatchRule = SearchPattern.R_CAMELCASE_MATCH;
+				String typeName = tQuery.substring(tQuery.lastIndexOf('.') + 1);
+				if (typeName.contains("*") || typeName.contains("?")) {
+					typeMatchRule = SearchPattern.R_PATTERN_MATCH;
+				}
 				IJavaSearchScope nonSourceSearchScope = createSearchScope(projectName, true);
-				WorkspaceSymbolMethodRequestor methodRequestor = new WorkspaceSymbolMethodRequestor(symbols, maxResults, isSymbolTagSupported, monitor);
-				engine.searchAllMethodNames(null, SearchPattern.R_PATTERN_MATCH, query.trim().toCharArray(), typeMatchRule, nonSourceSearchScope, methodRequestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				Set<SymbolInformation> methods = new LinkedHashSet<>();
+				WorkspaceSymbolMethodRequestor methodRequestor = new WorkspaceSymbolMethodRequestor(methods, maxResults <= 0 ? 0 : maxResults - symbols.size(), isSymbolTagSupported(), monitor);
+				try {
+					new SearchEngine().searchAllMethodNames(null, SearchPattern.R_PATTERN_MATCH, tQuery.toCharArray(), typeMatchRule, nonSourceSearchScope, methodRequestor, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				} catch (OperationCanceledException e) {
+					// stopped once enough methods were found
+				}
+				for (SymbolInformation method : methods) {
+					T symbol = methodConverter.apply(method);
+					if (symbols.add(symbol)) {
+						reporter.add(symbol);
+					}
+				}
 			}
 		} catch (Exception e) {
 			if (e instanceof OperationCanceledException) {
@@ -110,9 +145,112 @@ public class WorkspaceSymbolHandler {
 			monitor.done();
 		}
 
+		if (reporter.complete()) {
+			return new ArrayList<>();
+		}
 		return new ArrayList<>(symbols);
 	}
 
+	/**
+	 * Resolves the location of a symbol returned by
+	 * {@link #searchWorkspaceSymbols(String, PartialResultReporter, IProgressMonitor)}.
+	 */
+	public static WorkspaceSymbol resolve(WorkspaceSymbol symbol) {
+		if (symbol.getLocation() == null || symbol.getLocation().isLeft()) {
+			return symbol;
+		}
+		Object data = symbol.getData();
+		String handleIdentifier = data instanceof JsonPrimitive primitive ? primitive.getAsString() : (data instanceof String string ? string : null);
+		if (handleIdentifier != null && JavaCore.create(handleIdentifier) instanceof IType type && type.exists()) {
+			try {
+				Location location = getLocation(type, false);
+				if (location != null) {
+					symbol.setLocation(Either.forLeft(location));
+				}
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException("Unable to determine location for " + symbol.getName(), e);
+			}
+		}
+		return symbol;
+	}
+
+	private static boolean isSymbolTagSupported() {
+		PreferenceManager preferenceManager = JavaLanguageServerPlugin.getPreferencesManager();
+		return preferenceManager != null && preferenceManager.getClientPreferences().isSymbolTagSupported();
+	}
+
+	private static Location getLocation(IType type, boolean sourceOnly) throws JavaModelException {
+		if (!sourceOnly && type.isBinary()) {
+			return JDTUtils.toLocation(type.getClassFile());
+		} else if (!type.isBinary()) {
+			return JDTUtils.toLocation(type);
+		}
+		return null;
+	}
+
+	private static SymbolInformation toSymbolInformation(WorkspaceSymbolIndex.Symbol type, boolean sourceOnly, boolean isSymbolTagSupported) {
+		Location location = null;
+		try {
+			location = getLocation(type.type(), sourceOnly);
+		} catch (Exception e) {
+			JavaLanguageServerPlugin.logException("Unable to determine location for " + type.name(), e);
+			return null;
+		}
+		if (location == null) {
+			return null;
+		}
+		SymbolInformation symbolInformation = new SymbolInformation();
+		symbolInformation.setContainerName(type.containerName());
+		symbolInformation.setName(type.name());
+		symbolInformation.setKind(mapKind(type.modifiers()));
+		if (Flags.isDeprecated(type.modifiers())) {
+			if (isSymbolTagSupported) {
+				symbolInformation.setTags(List.of(SymbolTag.Deprecated));
+			} else {
+				symbolInformation.setDeprecated(true);
+			}
+		}
+		symbolInformation.setLocation(location);
+		return symbolInformation;
+	}
+
+	private static WorkspaceSymbol toWorkspaceSymbol(WorkspaceSymbolIndex.Symbol type, boolean isSymbolTagSupported) {
+		ITypeRoot typeRoot = type.type().getTypeRoot();
+		String uri = JDTUtils.toUri(typeRoot);
+		if (uri == null) {
+			return null;
+		}
+		if (typeRoot instanceof ICompilationUnit) {
+			uri = ResourceUtils.toClientUri(uri);
+		}
+		// the location is resolved by workspaceSymbol/resolve, from the type handle
+		WorkspaceSymbol symbol = new WorkspaceSymbol(type.name(), mapKind(type.modifiers()), Either.forRight(new WorkspaceSymbolLocation(uri)), type.containerName());
+		if (isSymbolTagSupported && Flags.isDeprecated(type.modifiers())) {
+			symbol.setTags(List.of(SymbolTag.Deprecated));
+		}
+		symbol.setData(type.type().getHandleIdentifier());
+		return symbol;
+	}
+
+	private static WorkspaceSymbol toWorkspaceSymbol(SymbolInformation symbolInformation) {
+		WorkspaceSymbol symbol = new WorkspaceSymbol(symbolInformation.getName(), symbolInformation.getKind(), Either.forLeft(symbolInformation.getLocation()), symbolInformation.getContainerName());
+		symbol.setTags(symbolInformation.getTags());
+		return symbol;
+	}
+
+	private static SymbolKind mapKind(int flags) {
+		if (Flags.isInterface(flags)) {
+			return SymbolKind.Interface;
+		}
+		if (Flags.isAnnotation(flags)) {
+			return SymbolKind.Property;
+		}
+		if (Flags.isEnum(flags)) {
+			return SymbolKind.Enum;
+		}
+		return SymbolKind.Class;
+	}
+
 	private static IJavaSearchScope createSearchScope(String projectName, boolean sourceOnly) throws JavaModelException {
 		IJavaProject[] targetProjects;
 		IJavaProject project = ProjectUtils.getJavaProject(projectName);
@@ -142,79 +280,6 @@ public class WorkspaceSymbolHandler {
 		}
 	}
 
-	private static class WorkspaceSymbolTypeRequestor extends TypeNameMatchRequestor {
-		private Set<SymbolInformation> symbols;
-		private int maxResults;
-		private boolean sourceOnly;
-		private boolean isSymbolTagSupported;
-		private IProgressMonitor monitor;
-
-		public WorkspaceSymbolTypeRequestor(Set<SymbolInformation> symbols, int maxResults, boolean sourceOnly, boolean isSymbolTagSupported, IProgressMonitor monitor) {
-			this.symbols = symbols;
-			this.maxResults = maxResults;
-			this.sourceOnly = sourceOnly;
-			this.isSymbolTagSupported = isSymbolTagSupported;
-			this.monitor = monitor;
-		}
-
-		@Override
-		public void acceptTypeNameMatch(TypeNameMatch match) {
-			try {
-				if (maxResults > 0 && symbols.size() >= maxResults) {
-					monitor.setCanceled(true);
-					return;
-				}
-				Location location = null;
-				try {
-					if (!sourceOnly && match.getType().isBinary()) {
-						location = JDTUtils.toLocation(match.getType().getClassFile());
-					} else if (!match.getType().isBinary()) {
-						location = JDTUtils.toLocation(match.getType());
-					}
-				} catch (Exception e) {
-					JavaLanguageServerPlugin.logException("Unable to determine location for " + match.getSimpleTypeName(), e);
-					return;
-				}
-
-				if (location != null && match.getSimpleTypeName() != null && !match.getSimpleTypeName().isEmpty()) {
-					SymbolInformation symbolInformation = new SymbolInformation();
-					symbolInformation.setContainerName(match.getTypeContainerName());
-					symbolInformation.setName(match.getSimpleTypeName());
-					symbolInformation.setKind(mapKind(match));
-					if (Flags.isDeprecated(match.getType().getFlags())) {
-						if (isSymbolTagSupported) {
-							symbolInformation.setTags(List.of(SymbolTag.Deprecated));
-						} else {
-							symbolInformation.setDeprecated(true);
-						}
-					}
-					symbolInformation.setLocation(location);
-					symbols.add(symbolInformation);
-					if (maxResults > 0 && symbols.size() >= maxResults) {
-						monitor.setCanceled(true);
-					}
-				}
-			} catch (Exception e) {
-				JavaLanguageServerPlugin.logException("Unable to determine location for " + match.getSimpleTypeName(), e);
-				return;
-			}
-		}
-
-		private SymbolKind mapKind(TypeNameMatch match) {
-			int flags = match.getModifiers();
-			if (Flags.isInterface(flags)) {
-				return SymbolKind.Interface;
-			}
-			if (Flags.isAnnotation(flags)) {
-				return SymbolKind.Property;
-			}
-			if (Flags.isEnum(flags)) {
-				return SymbolKind.Enum;
-			}
-			return SymbolKind.Class;
-		}
-	}
-
 	private static class WorkspaceSymbolMethodRequestor extends MethodNameMatchRequestor {
 		private Set<SymbolInformation> symbols;
 		private int maxResults;
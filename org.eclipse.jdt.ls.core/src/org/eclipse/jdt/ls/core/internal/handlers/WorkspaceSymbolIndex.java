@@ -0,0 +1,433 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * An in-memory index of the names of the types of the workspace, answering
+ * the workspace symbol queries without scanning the JDT indexes again.
+ *
+ * The index is built from a single scan of the JDT indexes, when first
+ * queried. The types of the compilation units changed since are updated from
+ * the Java model on the next query, while a classpath change rebuilds the
+ * index.
+ *
+ * A query matches the types whose name starts with it, or whose name humps
+ * start with its fragments, e.g. <code>hmap</code> or <code>HaMa</code>
+ * match <code>HashMap</code>. The results are ranked, exact and prefix
+ * matches first.
+ */
+final class WorkspaceSymbolIndex implements IElementChangedListener {
+
+	/**
+	 * Beyond this number of changed compilation units, rebuilding the index is
+	 * cheaper than parsing them.
+	 */
+	private static final int MAX_UPDATED_UNITS = 100;
+
+	private static final int EXACT_MATCH = 1000;
+	private static final int EXACT_MATCH_IGNORE_CASE = 950;
+	private static final int PREFIX_MATCH = 800;
+	private static final int PREFIX_MATCH_IGNORE_CASE = 750;
+	private static final int HUMPS_MATCH = 600;
+	private static final int PATTERN_MATCH = 500;
+	private static final int QUALIFIER_MATCH = 400;
+	private static final int FRAGMENT_COST = 10;
+	private static final int CASE_MISMATCH_COST = 15;
+	private static final int SOURCE_BONUS = 25;
+
+	private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::score).reversed()
+			.thenComparingInt(match -> match.symbol().name().length())
+			.thenComparing(match -> match.symbol().name())
+			.thenComparing(match -> match.symbol().containerName());
+
+	private static volatile WorkspaceSymbolIndex instance;
+
+	// guarded by this, the types per compilation unit or library
+	private Map<IPath, List<Symbol>> symbols;
+	private volatile boolean stale = true;
+	private final Set<ICompilationUnit> changedUnits = ConcurrentHashMap.newKeySet();
+
+	static WorkspaceSymbolIndex getInstance() {
+		WorkspaceSymbolIndex index = instance;
+		if (index == null) {
+			synchronized (WorkspaceSymbolIndex.class) {
+				index = instance;
+				if (index == null) {
+					index = new WorkspaceSymbolIndex();
+					JavaCore.addElementChangedListener(index, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+					instance = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * A type of the index.
+	 *
+	 * @param name
+	 *            the simple name
+	 * @param containerName
+	 *            the name of the package, or of the enclosing type
+	 * @param modifiers
+	 *            the modifiers, as defined in {@link org.eclipse.jdt.core.Flags}
+	 * @param type
+	 *            the type handle
+	 */
+	record Symbol(String name, String containerName, int modifiers, IType type) {
+	}
+
+	private record Match(Symbol symbol, int score) {
+	}
+
+	/**
+	 * Returns the types of the scope matching the query, best matches first.
+	 *
+	 * @param query
+	 *            the type name, optionally qualified, and optionally containing
+	 *            <code>*</code> and <code>?</code> wildcards
+	 * @param scope
+	 *            the scope of the types
+	 * @param maxResults
+	 *            the maximum number of types, or 0 for all of them
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the matching types
+	 */
+	synchronized List<Symbol> search(String query, IJavaSearchScope scope, int maxResults, IProgressMonitor monitor) throws JavaModelException {
+		update(monitor);
+		Query pattern = new Query(query);
+		PriorityQueue<Match> best = new PriorityQueue<>(RANKING.reversed());
+		List<Match> matches = new ArrayList<>();
+		for (List<Symbol> unitSymbols : symbols.values()) {
+			if (monitor.isCanceled()) {
+				break;
+			}
+			for (Symbol symbol : unitSymbols) {
+				int score = pattern.score(symbol);
+				if (score < 0 || !scope.encloses(symbol.type())) {
+					continue;
+				}
+				if (!symbol.type().isBinary()) {
+					score += SOURCE_BONUS;
+				}
+				Match match = new Match(symbol, score);
+				if (maxResults <= 0) {
+					matches.add(match);
+				} else if (best.size() < maxResults) {
+					best.add(match);
+				} else if (RANKING.compare(match, best.peek()) < 0) {
+					best.poll();
+					best.add(match);
+				}
+			}
+		}
+		matches.addAll(best);
+		matches.sort(RANKING);
+		return matches.stream().map(Match::symbol).toList();
+	}
+
+	private void update(IProgressMonitor monitor) throws JavaModelException {
+		if (!stale && changedUnits.size() > MAX_UPDATED_UNITS) {
+			stale = true;
+		}
+		if (stale) {
+			// the changes notified while building are applied on the next query
+			stale = false;
+			changedUnits.clear();
+			try {
+				symbols = build(monitor);
+			} catch (JavaModelException | RuntimeException e) {
+				stale = true;
+				throw e;
+			}
+			return;
+		}
+		for (ICompilationUnit unit : new ArrayList<>(changedUnits)) {
+			changedUnits.remove(unit);
+			IPath path = unit.getPath();
+			symbols.remove(path);
+			if (unit.exists()) {
+				try {
+					symbols.put(path, getSymbols(unit));
+				} catch (JavaModelException e) {
+					JavaLanguageServerPlugin.logException("Failed to index the types of " + unit.getElementName(), e);
+				}
+			}
+		}
+	}
+
+	private static Map<IPath, List<Symbol>> build(IProgressMonitor monitor) throws JavaModelException {
+		Map<IPath, List<Symbol>> symbols = new HashMap<>();
+		TypeNameMatchRequestor requestor = new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				String name = match.getSimpleTypeName();
+				if (name == null || name.isEmpty()) {
+					return;
+				}
+				IType type = match.getType();
+				symbols.computeIfAbsent(type.getPath(), path -> new ArrayList<>()).add(new Symbol(name, match.getTypeContainerName(), match.getModifiers(), type));
+			}
+		};
+		new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH, IJavaSearchConstants.TYPE, SearchEngine.createWorkspaceScope(), requestor,
+				IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		return symbols;
+	}
+
+	private static List<Symbol> getSymbols(ICompilationUnit unit) throws JavaModelException {
+		List<Symbol> symbols = new ArrayList<>();
+		for (IType type : unit.getAllTypes()) {
+			String name = type.getElementName();
+			if (name.isEmpty()) {
+				continue;
+			}
+			IType declaringType = type.getDeclaringType();
+			String containerName = declaringType != null ? declaringType.getFullyQualifiedName('.') : type.getPackageFragment().getElementName();
+			symbols.add(new Symbol(name, containerName, type.getFlags(), type));
+		}
+		return symbols;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		if (stale) {
+			return;
+		}
+		Set<ICompilationUnit> changed = new HashSet<>();
+		if (collectChanges(event.getDelta(), changed)) {
+			stale = true;
+		} else {
+			changedUnits.addAll(changed);
+		}
+	}
+
+	/**
+	 * Collects the compilation units changed by the given delta.
+	 *
+	 * @return whether the index must be built again
+	 */
+	private static boolean collectChanges(IJavaElementDelta delta, Set<ICompilationUnit> changed) {
+		IJavaElement element = delta.getElement();
+		int flags = delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (flags & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH)) != 0) {
+					return true;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				changed.add(((ICompilationUnit) element).getPrimary());
+				return false;
+			case IJavaElement.CLASS_FILE:
+				// a class folder changed
+				return true;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (collectChanges(child, changed)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * A parsed query. As for the search engine queries, a qualified query
+	 * matches the types whose container matches its qualifier, and the types
+	 * of the packages matching the whole query.
+	 */
+	static final class Query {
+
+		private final char[] name;
+		private final boolean namePattern;
+		private final char[] qualifier;
+		private final String packageName;
+		private final char[] packagePattern;
+
+		Query(String query) {
+			String typeName = query;
+			String qualifierName = null;
+			int qualIndex = query.lastIndexOf('.');
+			if (qualIndex != -1) {
+				qualifierName = query.substring(0, qualIndex);
+				typeName = query.substring(qualIndex + 1);
+				if (!isPattern(qualifierName)) {
+					qualifierName = String.format("*%s*", qualifierName);
+				}
+			}
+			this.name = typeName.toCharArray();
+			this.namePattern = isPattern(typeName);
+			this.qualifier = qualifierName == null ? null : qualifierName.toCharArray();
+			this.packageName = query;
+			this.packagePattern = isPattern(query) ? query.toCharArray() : null;
+		}
+
+		private static boolean isPattern(String name) {
+			return name.contains("*") || name.contains("?");
+		}
+
+		/**
+		 * @return the score of the match of the given type, or -1 if it doesn't
+		 *         match
+		 */
+		int score(Symbol symbol) {
+			int score = -1;
+			if (name.length > 0 && (qualifier == null || CharOperation.match(qualifier, symbol.containerName().toCharArray(), false))) {
+				score = namePattern ? (CharOperation.match(name, symbol.name().toCharArray(), false) ? PATTERN_MATCH : -1) : score(name, symbol.name());
+			}
+			if (score < 0 && (packagePattern == null ? packageName.equalsIgnoreCase(symbol.containerName()) : CharOperation.match(packagePattern, symbol.containerName().toCharArray(), false))) {
+				score = QUALIFIER_MATCH;
+			}
+			return score;
+		}
+
+		/**
+		 * @return the score of the match of the given name, or -1 if it
+		 *         doesn't match
+		 */
+		static int score(char[] query, String name) {
+			if (query.length > name.length() || Character.toLowerCase(query[0]) != Character.toLowerCase(name.charAt(0))) {
+				return -1;
+			}
+			char[] chars = name.toCharArray();
+			if (CharOperation.prefixEquals(query, chars, false)) {
+				if (query.length == chars.length) {
+					return CharOperation.equals(query, chars) ? EXACT_MATCH : EXACT_MATCH_IGNORE_CASE;
+				}
+				return CharOperation.prefixEquals(query, chars, true) ? PREFIX_MATCH : PREFIX_MATCH_IGNORE_CASE;
+			}
+			int[] humps = getHumps(name);
+			int cost = matchHumps(query, 0, name, humps, 0, new int[query.length * humps.length]);
+			return cost < 0 ? -1 : HUMPS_MATCH - cost;
+		}
+
+		/**
+		 * Matches the query from the given character with the name from the
+		 * given hump. Each fragment of the query must start a hump of the name.
+		 *
+		 * @return the lowest cost of the match, or -1 if it doesn't match
+		 */
+		private static int matchHumps(char[] query, int queryIndex, String name, int[] humps, int hump, int[] costs) {
+			// the costs are shifted by 2, 0 standing for not computed yet
+			int key = queryIndex * humps.length + hump;
+			if (costs[key] != 0) {
+				return costs[key] - 2;
+			}
+			int start = humps[hump];
+			int length = 0;
+			while (queryIndex + length < query.length && start + length < name.length() && Character.toLowerCase(query[queryIndex + length]) == Character.toLowerCase(name.charAt(start + length))) {
+				length++;
+			}
+			int best = -1;
+			for (int fragment = length; fragment > 0; fragment--) {
+				int cost = FRAGMENT_COST;
+				for (int i = 0; i < fragment; i++) {
+					if (query[queryIndex + i] != name.charAt(start + i)) {
+						cost += CASE_MISMATCH_COST;
+					}
+				}
+				if (queryIndex + fragment < query.length) {
+					int rest = -1;
+					for (int next = hump + 1; next < humps.length; next++) {
+						if (humps[next] >= start + fragment) {
+							int nextCost = matchHumps(query, queryIndex + fragment, name, humps, next, costs);
+							if (nextCost >= 0 && (rest < 0 || nextCost < rest)) {
+								rest = nextCost;
+							}
+						}
+					}
+					if (rest < 0) {
+						continue;
+					}
+					cost += rest;
+				}
+				if (best < 0 || cost < best) {
+					best = cost;
+				}
+			}
+			costs[key] = best + 2;
+			return best;
+		}
+
+		/**
+		 * @return the start indexes of the humps of the given name, e.g.
+		 *         <code>Hash</code>, <code>Map</code> and <code>2</code> for
+		 *         <code>HashMap2</code>
+		 */
+		static int[] getHumps(String name) {
+			int[] humps = new int[name.length()];
+			int count = 0;
+			for (int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				if (i == 0) {
+					humps[count++] = i;
+					continue;
+				}
+				char previous = name.charAt(i - 1);
+				if (previous == '_' || previous == '$'
+						|| (Character.isUpperCase(c) && (!Character.isUpperCase(previous) || (i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1)))))
+						|| (Character.isDigit(c) && !Character.isDigit(previous))) {
+					humps[count++] = i;
+				}
+			}
+			int[] result = new int[count];
+			System.arraycopy(humps, 0, result, 0, count);
+			return result;
+		}
+	}
+}
@@ -20,14 +20,12 @@ import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileSystemException;
 import java.nio.file.FileSystemLoopException;
-import java.nio.file.FileSystems;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
@@ -35,6 +33,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -46,6 +45,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.StatusFactory;
+import org.eclipse.jdt.ls.core.internal.managers.BuildFileDiscovery.MarkerDirectory;
 
 /**
  * Searches recursively for all the directories containing a given filename.
@@ -62,6 +62,11 @@ public class BasicFileDetector {
 	private int maxDepth = 5;
 	private boolean includeNested = true;
 	private Set<String> exclusions = new LinkedHashSet<>(1);
+	/**
+	 * The exclusions common to all the detectors, applied during a shared
+	 * {@link BuildFileDiscovery} walk.
+	 */
+	private List<String> sharedExclusions;
 
 	/**
 	 * Constructs a new BasicFileDetector for the given root directory, searching
@@ -85,6 +90,7 @@ public class BasicFileDetector {
 				addExclusions(pattern);
 			}
 		}
+		sharedExclusions = new ArrayList<>(exclusions);
 	}
 
 	/**
@@ -137,18 +143,50 @@ public class BasicFileDetector {
 	 * @throws CoreException if an error is encountered during the scan
 	 */
 	public Collection<Path> scan(IProgressMonitor monitor) throws CoreException {
+		monitor = monitor == null ? new NullProgressMonitor() : monitor;
+		if (BuildFileDiscovery.MARKER_FILES.containsAll(fileNames) && maxDepth <= BuildFileDiscovery.MAX_DEPTH) {
+			List<MarkerDirectory> discovered = BuildFileDiscovery.discover(rootDir, sharedExclusions, monitor);
+			if (discovered != null) {
+				selectDirectories(discovered);
+				return getDirectories();
+			}
+		}
 		try {
-			scanDir(rootDir, (monitor == null? new NullProgressMonitor(): monitor));
+			scanDir(rootDir, monitor);
 		} catch (IOException e) {
 			throw new CoreException(StatusFactory.newErrorStatus("Failed to scan "+rootDir, e));
 		}
 		return getDirectories();
 	}
 
+	/**
+	 * Selects the directories this detector would find walking the tree, among
+	 * the ones found by a shared walk.
+	 */
+	private void selectDirectories(List<MarkerDirectory> discovered) {
+		ExclusionMatcher matcher = new ExclusionMatcher(exclusions);
+		Set<Path> found = new HashSet<>();
+		for (MarkerDirectory candidate : discovered) {
+			if (candidate.depth() >= maxDepth || Collections.disjoint(candidate.markers(), fileNames) || matcher.isExcluded(candidate.path())) {
+				continue;
+			}
+			boolean skipped = false;
+			Path ancestor = candidate.path();
+			for (int i = 0; i < candidate.depth() && !skipped; i++) {
+				ancestor = ancestor.getParent();
+				// the walk skips the sub-directories of the excluded and found directories
+				skipped = (!matcher.hasInclusionPattern() && matcher.isExcluded(ancestor)) || (!includeNested && found.contains(ancestor));
+			}
+			if (!skipped) {
+				found.add(candidate.path());
+				directories.add(candidate.path());
+			}
+		}
+	}
+
 	private void scanDir(Path dir, final IProgressMonitor monitor) throws IOException {
-		boolean hasInclusionPattern = exclusions.stream().anyMatch((e) -> {
-			return e.startsWith("!");
-		});
+		ExclusionMatcher matcher = new ExclusionMatcher(exclusions);
+		boolean hasInclusionPattern = matcher.hasInclusionPattern();
 
 		FileVisitor<Path> visitor = new SimpleFileVisitor<>() {
 			@Override
@@ -157,7 +195,7 @@ public class BasicFileDetector {
 					return TERMINATE;
 				}
 				Objects.requireNonNull(dir);
-				if (isExcluded(dir)) {
+				if (matcher.isExcluded(dir)) {
 					return hasInclusionPattern ? CONTINUE : SKIP_SUBTREE;
 				}
 				if (hasTargetFile(dir)) {
@@ -187,25 +225,6 @@ public class BasicFileDetector {
 		Files.walkFileTree(dir, FOLLOW_LINKS_OPTION, maxDepth, visitor);
 	}
 
-	private boolean isExcluded(Path dir) {
-		if (dir.getFileName() == null) {
-			return true;
-		}
-		boolean excluded = false;
-		for (String pattern : exclusions) {
-			boolean includePattern = false;
-			if (pattern.startsWith("!")) {
-				includePattern = true;
-				pattern = pattern.substring(1);
-			}
-			PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
-			if (matcher.matches(dir)) {
-				excluded = includePattern ? false : true;
-			}
-		}
-		return excluded;
-	}
-
 	private boolean hasTargetFile(Path dir) {
 		for (String fileName : fileNames) {
 			if (Files.isRegularFile(dir.resolve(fileName))) {
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.StatusFactory;
+
+/**
+ * Discovers, in a single parallel walk, the directories containing the files
+ * marking the projects supported by the importers, e.g. <code>pom.xml</code>,
+ * <code>build.gradle</code> or <code>.project</code>.
+ *
+ * The walks are cached during a discovery session, see
+ * {@link #beginSession()}, so that the importers scanning the same root folder
+ * share the same walk. {@link BasicFileDetector} then applies its own
+ * exclusions to the discovered directories.
+ */
+public final class BuildFileDiscovery {
+
+	/**
+	 * The names of the files looked for during the walk.
+	 */
+	public static final Set<String> MARKER_FILES = Set.of("pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts", ".project");
+
+	/**
+	 * The depth of the walk, the root directory being at depth 0.
+	 */
+	public static final int MAX_DEPTH = 5;
+
+	/**
+	 * The number of threads walking a root folder. The walk blocks on file
+	 * system calls, so it runs on its own pool rather than on the common pool.
+	 */
+	private static final int PARALLELISM = Integer.getInteger("java.lsp.discovery.parallelism", Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors())));
+
+	private static final Comparator<Path> PRE_ORDER = (p1, p2) -> {
+		int count = Math.min(p1.getNameCount(), p2.getNameCount());
+		for (int i = 0; i < count; i++) {
+			int result = p1.getName(i).toString().compareTo(p2.getName(i).toString());
+			if (result != 0) {
+				return result;
+			}
+		}
+		return Integer.compare(p1.getNameCount(), p2.getNameCount());
+	};
+
+	private static final Object lock = new Object();
+	private static int sessions;
+	private static Map<DiscoveryKey, Discovery> cache;
+
+	private BuildFileDiscovery() {
+	}
+
+	/**
+	 * Starts a discovery session. Until the matching {@link #endSession()}, the
+	 * walks of a root folder are reused. Sessions can be nested.
+	 */
+	public static void beginSession() {
+		synchronized (lock) {
+			if (sessions++ == 0) {
+				cache = new ConcurrentHashMap<>();
+			}
+		}
+	}
+
+	public static void endSession() {
+		synchronized (lock) {
+			if (--sessions == 0) {
+				cache = null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the directories of the given root folder containing marker
+	 * files, if a discovery session is in progress.
+	 *
+	 * @param rootDir
+	 *            the root directory of the walk
+	 * @param exclusions
+	 *            the compiled exclusion patterns shared by all the importers,
+	 *            i.e. the <code>.metadata</code> folder and the
+	 *            <code>java.import.exclusions</code> preference
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the discovered directories, in pre-order, or <code>null</code>
+	 *         if no session is in progress
+	 * @throws CoreException
+	 *             if the walk failed
+	 */
+	static List<MarkerDirectory> discover(Path rootDir, List<String> exclusions, IProgressMonitor monitor) throws CoreException {
+		Map<DiscoveryKey, Discovery> sessionCache;
+		synchronized (lock) {
+			sessionCache = cache;
+		}
+		if (sessionCache == null) {
+			return null;
+		}
+		Discovery discovery = sessionCache.computeIfAbsent(new DiscoveryKey(rootDir, List.copyOf(exclusions)), key -> new Discovery(rootDir, key.exclusions()));
+		return discovery.getDirectories(monitor);
+	}
+
+	/**
+	 * A directory containing marker files.
+	 */
+	record MarkerDirectory(Path path, int depth, Set<String> markers) {
+	}
+
+	private record DiscoveryKey(Path rootDir, List<String> exclusions) {
+	}
+
+	private static final class Discovery {
+
+		private final Path rootDir;
+		private final ExclusionMatcher exclusions;
+		private List<MarkerDirectory> directories;
+
+		Discovery(Path rootDir, List<String> exclusions) {
+			this.rootDir = rootDir;
+			this.exclusions = new ExclusionMatcher(exclusions);
+		}
+
+		synchronized List<MarkerDirectory> getDirectories(IProgressMonitor monitor) throws CoreException {
+			if (directories == null) {
+				List<MarkerDirectory> result = Collections.synchronizedList(new ArrayList<>());
+				ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+				try {
+					pool.invoke(new WalkTask(rootDir, 0, Collections.emptySet(), result, monitor));
+				} catch (UncheckedIOException e) {
+					throw new CoreException(StatusFactory.newErrorStatus("Failed to scan " + rootDir, e.getCause()));
+				} finally {
+					pool.shutdown();
+				}
+				if (monitor.isCanceled()) {
+					// the walk is incomplete
+					throw new OperationCanceledException();
+				}
+				List<MarkerDirectory> sorted = new ArrayList<>(result);
+				sorted.sort(Comparator.comparing(MarkerDirectory::path, PRE_ORDER));
+				directories = Collections.unmodifiableList(sorted);
+			}
+			return directories;
+		}
+
+		private final class WalkTask extends RecursiveTask<Void> {
+
+			private static final long serialVersionUID = 1L;
+
+			private final Path dir;
+			private final int depth;
+			private final Set<Object> ancestorKeys;
+			private final transient List<MarkerDirectory> result;
+			private final transient IProgressMonitor monitor;
+
+			WalkTask(Path dir, int depth, Set<Object> ancestorKeys, List<MarkerDirectory> result, IProgressMonitor monitor) {
+				this.dir = dir;
+				this.depth = depth;
+				this.ancestorKeys = ancestorKeys;
+				this.result = result;
+				this.monitor = monitor;
+			}
+
+			@Override
+			protected Void compute() {
+				if (monitor.isCanceled()) {
+					return null;
+				}
+				Set<Object> keys = ancestorKeys;
+				try {
+					Object key = Files.readAttributes(dir, BasicFileAttributes.class).fileKey();
+					if (key != null) {
+						if (ancestorKeys.contains(key)) {
+							// a link to one of the ancestors
+							return null;
+						}
+						keys = new HashSet<>(ancestorKeys);
+						keys.add(key);
+					}
+				} catch (IOException e) {
+					handleFailure(e);
+					return null;
+				}
+				// excluded directories are still walked when some directories are explicitly included
+				if (exclusions.isExcluded(dir) && !exclusions.hasInclusionPattern()) {
+					return null;
+				}
+				Set<String> markers = new HashSet<>();
+				List<WalkTask> children = new ArrayList<>();
+				try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+					for (Path child : stream) {
+						String name = Objects.toString(child.getFileName(), "");
+						if (MARKER_FILES.contains(name) && Files.isRegularFile(child)) {
+							markers.add(name);
+						} else if (depth + 1 < MAX_DEPTH && Files.isDirectory(child)) {
+							children.add(new WalkTask(child, depth + 1, keys, result, monitor));
+						}
+					}
+				} catch (IOException e) {
+					handleFailure(e);
+					return null;
+				}
+				if (!markers.isEmpty()) {
+					result.add(new MarkerDirectory(dir, depth, Set.copyOf(markers)));
+				}
+				invokeAll(children);
+				return null;
+			}
+
+			private void handleFailure(IOException e) {
+				if (e instanceof NoSuchFileException || e instanceof AccessDeniedException || e instanceof FileSystemException) {
+					// Permission or file not found issue is more likely a user error,
+					// we should skip it and continue.
+					JavaLanguageServerPlugin.logInfo("Scan of file failed: " + e.toString());
+				} else {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+}
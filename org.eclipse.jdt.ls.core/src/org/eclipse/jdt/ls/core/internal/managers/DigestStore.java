@@ -12,21 +12,33 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.managers;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.StatusFactory;
 
@@ -36,19 +48,55 @@ import org.eclipse.jdt.ls.core.internal.StatusFactory;
  *         This class handles digests for build files. It serves to prevent
  *         unnecessary updating of maven/gradle, etc. info on workspace
  *         projects.
+ *
+ *         Digests are persisted in an append-only log: changed digests are
+ *         appended in batches by a background job, and the log is compacted
+ *         when it holds too many stale records.
  */
 public class DigestStore {
-	private Map<String, String> fileDigests;
-	private File stateFile;
 
 	private static final String SERIALIZATION_FILE_NAME = ".file-digests";
+	private static final String LOG_FILE_NAME = ".file-digests.log";
+	private static final int LOG_MAGIC = 0x4A444753;
+	private static final int LOG_VERSION = 1;
+	/**
+	 * The number of records, beyond the number of tracked files, a log may hold
+	 * before being compacted.
+	 */
+	private static final int COMPACTION_THRESHOLD = 1000;
+	private static final long PERSIST_DELAY = 500;
+
+	private final Map<String, byte[]> fileDigests = new ConcurrentHashMap<>();
+	private final Set<String> pendingPaths = new LinkedHashSet<>();
+	private final File logFile;
+	private final File legacyFile;
+	private final Job persistJob;
+	private int recordCount;
 
 	public DigestStore(File stateLocation) {
-		this.stateFile = new File(stateLocation, SERIALIZATION_FILE_NAME);
-		if (stateFile.isFile()) {
-			fileDigests = deserializeFileDigests();
-		} else {
-			fileDigests = new HashMap<>();
+		this.logFile = new File(stateLocation, LOG_FILE_NAME);
+		this.legacyFile = new File(stateLocation, SERIALIZATION_FILE_NAME);
+		this.persistJob = new Job("Persist build file digests") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				persist();
+				return Status.OK_STATUS;
+			}
+		};
+		persistJob.setSystem(true);
+		if (logFile.isFile()) {
+			// records appended after a damaged record or an unknown header would never be read
+			boolean damaged = !readLog();
+			if (damaged || recordCount > fileDigests.size() + COMPACTION_THRESHOLD) {
+				synchronized (pendingPaths) {
+					compact();
+				}
+			}
+		} else if (legacyFile.isFile()) {
+			readLegacyFile();
+			synchronized (pendingPaths) {
+				compact();
+			}
 		}
 	}
 
@@ -64,44 +112,166 @@ public class DigestStore {
 	 */
 	public boolean updateDigest(Path p) throws CoreException {
 		try {
-			String digest = computeDigest(p);
-			synchronized (fileDigests) {
-				if (!digest.equals(fileDigests.get(p.toString()))) {
-					fileDigests.put(p.toString(), digest);
-					serializeFileDigests();
-					return true;
-				} else {
-					return false;
-				}
+			byte[] digest = computeDigest(p);
+			String key = p.toString();
+			byte[] previous = fileDigests.put(key, digest);
+			if (Arrays.equals(digest, previous)) {
+				return false;
+			}
+			synchronized (pendingPaths) {
+				pendingPaths.add(key);
 			}
+			// a running job may have missed the path, schedule it again
+			int state = persistJob.getState();
+			if (state == Job.NONE || state == Job.RUNNING) {
+				persistJob.schedule(PERSIST_DELAY);
+			}
+			return true;
 		} catch (NoSuchAlgorithmException | IOException e) {
 			throw new CoreException(StatusFactory.newErrorStatus("Exception updating digest for " + p, e));
 		}
 
 	}
 
-	private void serializeFileDigests() {
-		try (ObjectOutputStream outStream = new ObjectOutputStream(new FileOutputStream(stateFile))) {
-			outStream.writeObject(fileDigests);
+	/**
+	 * Writes the pending digests to disk.
+	 */
+	public void flush() {
+		persistJob.cancel();
+		persist();
+	}
+
+	private void persist() {
+		synchronized (pendingPaths) {
+			if (pendingPaths.isEmpty()) {
+				return;
+			}
+			if (recordCount + pendingPaths.size() > fileDigests.size() + COMPACTION_THRESHOLD) {
+				compact();
+				return;
+			}
+			boolean newLog = !logFile.isFile();
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile, true)))) {
+				if (newLog) {
+					writeHeader(out);
+					recordCount = 0;
+				}
+				for (String path : pendingPaths) {
+					byte[] digest = fileDigests.get(path);
+					if (digest != null) {
+						writeRecord(out, path, digest);
+						recordCount++;
+					}
+				}
+				pendingPaths.clear();
+			} catch (IOException e) {
+				JavaLanguageServerPlugin.logException("Exception occured while serialization of file digests", e);
+			}
+		}
+	}
+
+	/**
+	 * Rewrites the log with a single record per tracked file. Must be called
+	 * while holding the lock on {@link #pendingPaths}.
+	 */
+	private void compact() {
+		File tempFile = new File(logFile.getParentFile(), LOG_FILE_NAME + ".tmp");
+		try {
+			int count = 0;
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				writeHeader(out);
+				for (Map.Entry<String, byte[]> entry : fileDigests.entrySet()) {
+					writeRecord(out, entry.getKey(), entry.getValue());
+					count++;
+				}
+			}
+			Files.move(tempFile.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			recordCount = count;
+			pendingPaths.clear();
+			Files.deleteIfExists(legacyFile.toPath());
 		} catch (IOException e) {
 			JavaLanguageServerPlugin.logException("Exception occured while serialization of file digests", e);
 		}
 	}
 
+	private static void writeHeader(DataOutputStream out) throws IOException {
+		out.writeInt(LOG_MAGIC);
+		out.writeInt(LOG_VERSION);
+	}
+
+	private static void writeRecord(DataOutputStream out, String path, byte[] digest) throws IOException {
+		out.writeUTF(path);
+		out.writeByte(digest.length);
+		out.write(digest);
+	}
+
+	/**
+	 * Reads the records of the log.
+	 *
+	 * @return <code>false</code> if the log has an unknown header or ends with a
+	 *         damaged record, <code>true</code> otherwise
+	 */
+	private boolean readLog() {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+			if (in.readInt() != LOG_MAGIC || in.readInt() != LOG_VERSION) {
+				JavaLanguageServerPlugin.logError("Unknown format of file digests " + logFile);
+				return false;
+			}
+			while (true) {
+				String path;
+				try {
+					path = in.readUTF();
+				} catch (EOFException e) {
+					break;
+				}
+				byte[] digest = new byte[in.readUnsignedByte()];
+				in.readFully(digest);
+				// later records override earlier ones
+				fileDigests.put(path, digest);
+				recordCount++;
+			}
+			return true;
+		} catch (EOFException e) {
+			// a record was only partially written, the previous ones are still valid
+			JavaLanguageServerPlugin.logInfo("Ignoring truncated record of file digests " + logFile);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Exception occured while deserialization of file digests", e);
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the digests of the Java serialized store used by previous versions,
+	 * where each digest is stored as {@link Arrays#toString(byte[])}.
+	 */
 	@SuppressWarnings("unchecked")
-	private Map<String, String> deserializeFileDigests() {
-		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(stateFile))) {
-			return (Map<String, String>) ois.readObject();
-		} catch (IOException | ClassNotFoundException e) {
+	private void readLegacyFile() {
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(legacyFile))) {
+			Map<String, String> digests = (Map<String, String>) ois.readObject();
+			for (Map.Entry<String, String> entry : digests.entrySet()) {
+				String value = entry.getValue();
+				String[] bytes = value.substring(1, value.length() - 1).split(", ");
+				byte[] digest = new byte[bytes.length];
+				for (int i = 0; i < bytes.length; i++) {
+					digest[i] = Byte.parseByte(bytes[i]);
+				}
+				fileDigests.put(entry.getKey(), digest);
+			}
+		} catch (IOException | ClassNotFoundException | RuntimeException e) {
 			JavaLanguageServerPlugin.logException("Exception occured while deserialization of file digests", e);
-			return new HashMap<>();
 		}
 	}
 
-	private String computeDigest(Path path) throws IOException, NoSuchAlgorithmException {
-		byte[] fileBytes = Files.readAllBytes(path);
-		byte[] digest = MessageDigest.getInstance("MD5").digest(fileBytes);
-		return Arrays.toString(digest);
+	private byte[] computeDigest(Path path) throws IOException, NoSuchAlgorithmException {
+		MessageDigest messageDigest = MessageDigest.getInstance("MD5");
+		byte[] buffer = new byte[8192];
+		try (InputStream in = Files.newInputStream(path)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				messageDigest.update(buffer, 0, read);
+			}
+		}
+		return messageDigest.digest();
 	}
 
 }
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Glob exclusion patterns compiled once. A pattern starting with
+ * <code>!</code> includes the directories it matches, and the last matching
+ * pattern wins.
+ */
+final class ExclusionMatcher {
+
+	private final List<PathMatcher> matchers = new ArrayList<>();
+	private final List<Boolean> inclusions = new ArrayList<>();
+	private final boolean hasInclusionPattern;
+
+	ExclusionMatcher(Collection<String> patterns) {
+		boolean inclusion = false;
+		for (String pattern : patterns) {
+			boolean includePattern = pattern.startsWith("!");
+			if (includePattern) {
+				pattern = pattern.substring(1);
+				inclusion = true;
+			}
+			matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+			inclusions.add(includePattern);
+		}
+		this.hasInclusionPattern = inclusion;
+	}
+
+	boolean hasInclusionPattern() {
+		return hasInclusionPattern;
+	}
+
+	boolean isExcluded(Path dir) {
+		if (dir.getFileName() == null) {
+			return true;
+		}
+		boolean excluded = false;
+		for (int i = 0; i < matchers.size(); i++) {
+			if (matchers.get(i).matches(dir)) {
+				excluded = !inclusions.get(i);
+			}
+		}
+		return excluded;
+	}
+}
@@ -35,6 +35,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -57,6 +61,8 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.URIUtil;
@@ -127,6 +133,14 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 	 */
 	public static final String JAVA_PROBLEM_CHECKER_ID = "java.bs.JavaProblemChecker";
 
+	/**
+	 * The system property setting the number of threads running the work of
+	 * the import which doesn't need the workspace rule. The root builds
+	 * themselves are synchronized one at a time.
+	 */
+	public static final String IMPORT_PARALLELISM_PROPERTY = "java.lsp.gradle.importParallelism";
+	private static final int DEFAULT_IMPORT_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
 	private static final int GRADLE_RELATED = 0x00080000;
 	private static final int INVALID_TYPE_CODE_ID = GRADLE_RELATED + 1;
 
@@ -232,40 +246,58 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 		subMonitor.setTaskName(IMPORTING_GRADLE_PROJECTS);
 		JavaLanguageServerPlugin.logInfo(IMPORTING_GRADLE_PROJECTS);
 		subMonitor.worked(1);
-		// run just once at the first project, assuming that all projects are using the same gradle version.
-		inferGradleJavaHome(directoriesToImport.iterator().next(), monitor);
 		MultiStatus compatibilityStatus = new MultiStatus(IConstants.PLUGIN_ID, -1, "Compatibility issue occurs when importing Gradle projects", null);
 		MultiStatus gradleUpgradeWrapperStatus = new MultiStatus(IConstants.PLUGIN_ID, -1, "Gradle upgrade wrapper", null);
-		for (Path directory : directoriesToImport) {
-			IStatus importStatus = importDir(directory, subMonitor.newChild(1));
-			if (isFailedStatus(importStatus) && importStatus instanceof GradleCompatibilityStatus) {
-				compatibilityStatus.add(importStatus);
-			} else if (GradleUtils.hasGradleInvalidTypeCodeException(importStatus, directory, monitor)) {
-				gradleUpgradeWrapperStatus.add(new GradleUpgradeWrapperStatus(importStatus, GRADLE_INVALID_TYPE_CODE_MESSAGE, directory.toUri().toString()));
-			}
-			checkWrapperChecksum(directory);
-		}
-		// store the digest for the imported gradle projects.
-		ProjectUtils.getGradleProjects().forEach(project -> {
-			File buildFile = project.getFile(BUILD_GRADLE_DESCRIPTOR).getLocation().toFile();
-			File settingsFile = project.getFile(SETTINGS_GRADLE_DESCRIPTOR).getLocation().toFile();
-			File buildKtsFile = project.getFile(BUILD_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
-			File settingsKtsFile = project.getFile(SETTINGS_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
-			try {
-				if (buildFile.exists()) {
-					JavaLanguageServerPlugin.getDigestStore().updateDigest(buildFile.toPath());
-				} else if (buildKtsFile.exists()) {
-					JavaLanguageServerPlugin.getDigestStore().updateDigest(buildKtsFile.toPath());
+		int parallelism = Math.max(1, Math.min(Integer.getInteger(IMPORT_PARALLELISM_PROPERTY, DEFAULT_IMPORT_PARALLELISM), projectSize));
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("jdt.ls-gradle-import-", 0).daemon(true).factory());
+		try {
+			// SubMonitor is not thread-safe, the tasks of the pool only check for cancellation
+			IProgressMonitor poolMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return super.isCanceled() || monitor.isCanceled();
 				}
-				if (settingsFile.exists()) {
-					JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsFile.toPath());
-				} else if (settingsKtsFile.exists()) {
-					JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsKtsFile.toPath());
+			};
+			// the wrappers are validated by jobs while the builds are synchronized
+			for (Path directory : directoriesToImport) {
+				checkWrapperChecksum(directory);
+			}
+			// run just once at the first project, assuming that all projects are using the same gradle version.
+			inferGradleJavaHome(directoriesToImport.iterator().next(), monitor);
+			// Buildship synchronizes each build under the workspace rule, so the builds are synchronized one at a time,
+			// while the Gradle models of the failed ones are fetched on the pool
+			List<Future<IStatus>> importStatuses = new ArrayList<>(projectSize);
+			for (Path directory : directoriesToImport) {
+				BuildSynchronization synchronization = importDir(directory, subMonitor.newChild(1));
+				importStatuses.add(executor.submit(() -> {
+					IStatus importStatus = getImportStatus(synchronization, poolMonitor);
+					if (isFailedStatus(importStatus) && importStatus instanceof GradleCompatibilityStatus) {
+						return importStatus;
+					} else if (GradleUtils.hasGradleInvalidTypeCodeException(importStatus, directory, poolMonitor)) {
+						return new GradleUpgradeWrapperStatus(importStatus, GRADLE_INVALID_TYPE_CODE_MESSAGE, directory.toUri().toString());
+					}
+					return importStatus;
+				}));
+			}
+			// store the digest for the imported gradle projects.
+			List<Future<?>> digestUpdates = new ArrayList<>();
+			for (IProject project : ProjectUtils.getGradleProjects()) {
+				digestUpdates.add(executor.submit(() -> updateDigests(project)));
+			}
+			for (Future<IStatus> importStatus : importStatuses) {
+				IStatus status = getResult(importStatus, poolMonitor);
+				if (status instanceof GradleCompatibilityStatus) {
+					compatibilityStatus.add(status);
+				} else if (status instanceof GradleUpgradeWrapperStatus) {
+					gradleUpgradeWrapperStatus.add(status);
 				}
-			} catch (CoreException e) {
-				JavaLanguageServerPlugin.logException("Failed to update digest for gradle build file", e);
 			}
-		});
+			for (Future<?> digestUpdate : digestUpdates) {
+				getResult(digestUpdate, poolMonitor);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
 		for (IProject gradleProject : ProjectUtils.getGradleProjects()) {
 			gradleProject.deleteMarkers(COMPATIBILITY_MARKER_ID, true, IResource.DEPTH_ZERO);
 			gradleProject.deleteMarkers(GRADLE_UPGRADE_WRAPPER_MARKER_ID, true, IResource.DEPTH_INFINITE);
@@ -360,11 +392,48 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 		}
 	}
 
-	private IStatus importDir(Path projectFolder, IProgressMonitor monitor) {
+	/**
+	 * Waits for a task of the import pool, which doesn't throw.
+	 */
+	private static <T> T getResult(Future<T> future, IProgressMonitor monitor) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			monitor.setCanceled(true);
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			JavaLanguageServerPlugin.logException("Failed to import Gradle build", e.getCause());
+			return null;
+		}
+	}
+
+	private static void updateDigests(IProject project) {
+		File buildFile = project.getFile(BUILD_GRADLE_DESCRIPTOR).getLocation().toFile();
+		File settingsFile = project.getFile(SETTINGS_GRADLE_DESCRIPTOR).getLocation().toFile();
+		File buildKtsFile = project.getFile(BUILD_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
+		File settingsKtsFile = project.getFile(SETTINGS_GRADLE_KTS_DESCRIPTOR).getLocation().toFile();
+		try {
+			if (buildFile.exists()) {
+				JavaLanguageServerPlugin.getDigestStore().updateDigest(buildFile.toPath());
+			} else if (buildKtsFile.exists()) {
+				JavaLanguageServerPlugin.getDigestStore().updateDigest(buildKtsFile.toPath());
+			}
+			if (settingsFile.exists()) {
+				JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsFile.toPath());
+			} else if (settingsKtsFile.exists()) {
+				JavaLanguageServerPlugin.getDigestStore().updateDigest(settingsKtsFile.toPath());
+			}
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException("Failed to update digest for gradle build file", e);
+		}
+	}
+
+	private BuildSynchronization importDir(Path projectFolder, IProgressMonitor monitor) {
 		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
+			return new BuildSynchronization(projectFolder, null, Status.CANCEL_STATUS);
 		}
-		return startSynchronization(projectFolder, monitor);
+		return synchronize(projectFolder, monitor);
 	}
 
 	public static void checkWrapperChecksum(Path rootFolder) {
@@ -483,39 +552,68 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 	}
 
 	protected IStatus startSynchronization(Path projectFolder, IProgressMonitor monitor) {
+		return getImportStatus(synchronize(projectFolder, monitor), monitor);
+	}
+
+	/**
+	 * The outcome of the synchronization of a root build.
+	 *
+	 * @param gradleBuild
+	 *            the synchronized build, or <code>null</code> if it was not
+	 *            synchronized
+	 */
+	private record BuildSynchronization(Path projectFolder, GradleBuild gradleBuild, IStatus status) {
+	}
+
+	/**
+	 * Synchronizes the given root build, if needed. Buildship runs the
+	 * synchronization under the workspace rule.
+	 */
+	private BuildSynchronization synchronize(Path projectFolder, IProgressMonitor monitor) {
 		File location = projectFolder.toFile();
 		boolean shouldSynchronize = shouldSynchronize(location);
 		if (shouldSynchronize) {
 			BuildConfiguration build = getBuildConfiguration(projectFolder);
 			GradleBuild gradleBuild = GradleCore.getWorkspace().createBuild(build);
 			SynchronizationResult result = gradleBuild.synchronize(monitor);
-			IStatus resultStatus = result.getStatus();
-			if (isFailedStatus(resultStatus)) {
-				try {
-					BuildEnvironment environment = gradleBuild.withConnection(connection -> connection.getModel(BuildEnvironment.class), monitor);
-					GradleEnvironment gradleEnvironment = environment.getGradle();
-					String gradleVersion = gradleEnvironment.getGradleVersion();
-					File javaHome = getJavaHome(getPreferences());
-					String javaVersion;
-					if (javaHome == null) {
-						javaVersion = System.getProperty("java.version");
-					} else {
-						StandardVMType type = new StandardVMType();
-						javaVersion = type.readReleaseVersion(javaHome);
-					}
-					if (GradleUtils.isIncompatible(GradleVersion.version(gradleVersion), javaVersion)) {
-						Path projectName = projectFolder.getName(projectFolder.getNameCount() - 1);
-						String message = String.format("Can't use Java %s and Gradle %s to import Gradle project %s.", javaVersion, gradleVersion, projectName.toString());
-						String highestJavaVersion = GradleUtils.getHighestSupportedJava(GradleVersion.version(gradleVersion));
-						return new GradleCompatibilityStatus(resultStatus, message, projectFolder.toUri().toString(), highestJavaVersion);
-					}
-				} catch (Exception e) {
-					// Do nothing
+			return new BuildSynchronization(projectFolder, gradleBuild, result.getStatus());
+		}
+		return new BuildSynchronization(projectFolder, null, Status.OK_STATUS);
+	}
+
+	/**
+	 * Returns the status of the import of a synchronized build. The Gradle
+	 * environment of a failed build is fetched to tell whether Gradle and Java
+	 * are incompatible, which doesn't need the workspace rule.
+	 */
+	private IStatus getImportStatus(BuildSynchronization synchronization, IProgressMonitor monitor) {
+		Path projectFolder = synchronization.projectFolder();
+		GradleBuild gradleBuild = synchronization.gradleBuild();
+		IStatus resultStatus = synchronization.status();
+		if (gradleBuild != null && isFailedStatus(resultStatus)) {
+			try {
+				BuildEnvironment environment = gradleBuild.withConnection(connection -> connection.getModel(BuildEnvironment.class), monitor);
+				GradleEnvironment gradleEnvironment = environment.getGradle();
+				String gradleVersion = gradleEnvironment.getGradleVersion();
+				File javaHome = getJavaHome(getPreferences());
+				String javaVersion;
+				if (javaHome == null) {
+					javaVersion = System.getProperty("java.version");
+				} else {
+					StandardVMType type = new StandardVMType();
+					javaVersion = type.readReleaseVersion(javaHome);
+				}
+				if (GradleUtils.isIncompatible(GradleVersion.version(gradleVersion), javaVersion)) {
+					Path projectName = projectFolder.getName(projectFolder.getNameCount() - 1);
+					String message = String.format("Can't use Java %s and Gradle %s to import Gradle project %s.", javaVersion, gradleVersion, projectName.toString());
+					String highestJavaVersion = GradleUtils.getHighestSupportedJava(GradleVersion.version(gradleVersion));
+					return new GradleCompatibilityStatus(resultStatus, message, projectFolder.toUri().toString(), highestJavaVersion);
 				}
+			} catch (Exception e) {
+				// Do nothing
 			}
-			return resultStatus;
 		}
-		return Status.OK_STATUS;
+		return resultStatus;
 	}
 
 	public static BuildConfiguration getBuildConfiguration(Path rootFolder) {
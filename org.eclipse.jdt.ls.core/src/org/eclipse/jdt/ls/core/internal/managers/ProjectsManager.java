@@ -121,11 +121,17 @@ public abstract class ProjectsManager implements ISaveParticipant, IProjectsMana
 				ProjectsManager.cleanupResources(ProjectsManager.getDefaultProject());
 			}
 			Collection<IPath> projectConfigurations = preferenceManager.getPreferences().getProjectConfigurations();
-			if (projectConfigurations == null) {
-				// old way to import project
-				importProjects(rootPaths, subMonitor.split(70));
-			} else {
-				importProjectsFromConfigurationFiles(rootPaths, projectConfigurations, monitor);
+			// the importers share a single walk of each root folder
+			BuildFileDiscovery.beginSession();
+			try {
+				if (projectConfigurations == null) {
+					// old way to import project
+					importProjects(rootPaths, subMonitor.split(70));
+				} else {
+					importProjectsFromConfigurationFiles(rootPaths, projectConfigurations, monitor);
+				}
+			} finally {
+				BuildFileDiscovery.endSession();
 			}
 			updateEncoding(monitor);
 			reportProjectsStatus();
@@ -121,6 +121,17 @@ public class ClientPreferences {
 		return v3supported && capabilities.getWorkspace() != null && isDynamicRegistrationSupported(capabilities.getWorkspace().getSymbol());
 	}
 
+	/**
+	 * Whether the client resolves the locations of the workspace symbols with
+	 * <code>workspaceSymbol/resolve</code>.
+	 */
+	public boolean isWorkspaceSymbolResolveSupported() {
+		return v3supported && capabilities.getWorkspace() != null && capabilities.getWorkspace().getSymbol() != null
+			&& capabilities.getWorkspace().getSymbol().getResolveSupport() != null
+			&& capabilities.getWorkspace().getSymbol().getResolveSupport().getProperties() != null
+			&& capabilities.getWorkspace().getSymbol().getResolveSupport().getProperties().contains("location");
+	}
+
 	public boolean isWorkspaceChangeWatchedFilesDynamicRegistered() {
 		return v3supported && capabilities.getWorkspace() != null && isDynamicRegistrationSupported(capabilities.getWorkspace().getDidChangeWatchedFiles());
 	}
@@ -483,6 +494,24 @@ public class ClientPreferences {
 			&& capabilities.getWorkspace().getInlayHint().getRefreshSupport().booleanValue();
 	}
 
+	/**
+	 * {@code true} if the client supports pulling the diagnostics and has asked
+	 * for them to be pulled rather than pushed, by setting the
+	 * {@code pullDiagnosticsSupport} extended client capability. The client
+	 * must also support {@code workspace/diagnostic/refresh}, to pull the
+	 * diagnostics changed by the server.
+	 */
+	public boolean isPullDiagnosticsSupported() {
+		return v3supported && capabilities.getTextDocument().getDiagnostic() != null && isDiagnosticRefreshSupported()
+			&& Boolean.parseBoolean(extendedClientCapabilities.getOrDefault("pullDiagnosticsSupport", "false").toString());
+	}
+
+	public boolean isDiagnosticRefreshSupported() {
+		return capabilities.getWorkspace() != null
+			&& capabilities.getWorkspace().getDiagnostics() != null
+			&& isTrue(capabilities.getWorkspace().getDiagnostics().getRefreshSupport());
+	}
+
 	public Collection<String> excludedMarkerTypes() {
 		Object list = extendedClientCapabilities.getOrDefault("excludedMarkerTypes", null);
 		return list instanceof Collection<?> excludedMarkerTypes //
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.semantictokens;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable {@link java.util.List} view of an <code>int</code> array.
+ *
+ * Elements are only boxed when accessed through {@link #get(int)}, e.g. when
+ * the list is serialized.
+ */
+public final class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+
+	private final int[] data;
+	private final int size;
+
+	/**
+	 * @param data the backing array, which must not be modified afterwards
+	 * @param size the number of elements of the array to expose
+	 */
+	public IntArrayList(int[] data, int size) {
+		Objects.checkFromIndexSize(0, size, data.length);
+		this.data = data;
+		this.size = size;
+	}
+
+	public IntArrayList(int[] data) {
+		this(data, data.length);
+	}
+
+	@Override
+	public Integer get(int index) {
+		return getInt(index);
+	}
+
+	public int getInt(int index) {
+		Objects.checkIndex(index, size);
+		return data[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public int[] toIntArray() {
+		return Arrays.copyOf(data, size);
+	}
+
+	/**
+	 * Returns the elements of the given list. The backing array of an
+	 * {@link IntArrayList} is returned as is when it has no extra capacity.
+	 */
+	public static int[] toIntArray(List<Integer> list) {
+		if (list instanceof IntArrayList intList) {
+			return intList.size == intList.data.length ? intList.data : intList.toIntArray();
+		}
+		int[] result = new int[list.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = list.get(i);
+		}
+		return result;
+	}
+}
@@ -13,7 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.semantictokens;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jdt.core.compiler.IScanner;
@@ -58,12 +58,35 @@ import org.jsoup.select.NodeVisitor;
 public class SemanticTokensVisitor extends ASTVisitor {
 	private CompilationUnit cu;
 	private IScanner scanner;
-	private List<SemanticToken> tokens;
+	/**
+	 * The collected tokens, {@link #TOKEN_SIZE} values per token, in the order
+	 * they were added. They are sorted by offset when encoded.
+	 */
+	private int[] tokens;
+	private int tokenCount;
+	private final int rangeStart;
+	private final int rangeEnd;
+	private final boolean restricted;
 
 	public SemanticTokensVisitor(CompilationUnit unit) {
+		this(unit, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a visitor collecting only the semantic tokens intersecting the
+	 * given source range. AST nodes outside of the range are not visited.
+	 *
+	 * @param unit The compilation unit to collect semantic tokens for.
+	 * @param rangeStart The start offset of the range (inclusive).
+	 * @param rangeEnd The end offset of the range (exclusive).
+	 */
+	public SemanticTokensVisitor(CompilationUnit unit, int rangeStart, int rangeEnd) {
 		super(true);
 		this.cu = unit;
-		this.tokens = new ArrayList<>();
+		this.rangeStart = rangeStart;
+		this.rangeEnd = rangeEnd;
+		this.restricted = rangeStart > 0 || rangeEnd < Integer.MAX_VALUE;
+		this.tokens = new int[64 * TOKEN_SIZE];
 		this.scanner = null;
 
 		if (unit.getTypeRoot() != null && unit.getTypeRoot().getJavaProject() != null) {
@@ -81,49 +104,32 @@ public class SemanticTokensVisitor extends ASTVisitor {
 		}
 	}
 
-	private class SemanticToken {
-		private final TokenType tokenType;
-		private final int tokenModifiers;
-		private final int offset;
-		private final int length;
-
-		public SemanticToken(int offset, int length, TokenType tokenType, int tokenModifiers) {
-			this.offset = offset;
-			this.length = length;
-			this.tokenType = tokenType;
-			this.tokenModifiers = tokenModifiers;
-		}
-
-		public TokenType getTokenType() {
-			return tokenType;
-		}
-
-		public int getTokenModifiers() {
-			return tokenModifiers;
-		}
-
-		public int getOffset() {
-			return offset;
-		}
+	/**
+	 * Number of <code>int</code> values stored per token in {@link #tokens}:
+	 * offset, length, token type ordinal and token modifiers.
+	 */
+	private static final int TOKEN_SIZE = 4;
 
-		public int getLength() {
-			return length;
-		}
-	}
+	/**
+	 * Number of <code>int</code> values per token in the encoded result, see
+	 * {@link SemanticTokens#getData()}.
+	 */
+	private static final int ENCODED_TOKEN_SIZE = 5;
 
 	public SemanticTokens getSemanticTokens() {
 		return new SemanticTokens(encodedTokens());
 	}
 
-	private List<Integer> encodedTokens() {
-		int numTokens = tokens.size();
-		List<Integer> data = new ArrayList<>(numTokens * 5);
+	private IntArrayList encodedTokens() {
+		sortTokens();
+		int[] data = new int[tokenCount * ENCODED_TOKEN_SIZE];
+		int size = 0;
 		int currentLine = 0;
 		int currentColumn = 0;
-		for (int i = 0; i < numTokens; i++) {
-			SemanticToken token = tokens.get(i);
-			int line = cu.getLineNumber(token.getOffset()) - 1;
-			int column = cu.getColumnNumber(token.getOffset());
+		for (int i = 0; i < tokenCount * TOKEN_SIZE; i += TOKEN_SIZE) {
+			int offset = tokens[i];
+			int line = cu.getLineNumber(offset) - 1;
+			int column = cu.getColumnNumber(offset);
 			int deltaLine = line - currentLine;
 			if (deltaLine != 0) {
 				currentLine = line;
@@ -133,17 +139,45 @@ public class SemanticTokensVisitor extends ASTVisitor {
 			currentColumn = column;
 			// Disallow duplicate/conflict token (if exists)
 			if (deltaLine != 0 || deltaColumn != 0) {
-				int tokenTypeIndex = token.getTokenType().ordinal();
-				int tokenModifiers = token.getTokenModifiers();
-
-				data.add(deltaLine);
-				data.add(deltaColumn);
-				data.add(token.getLength());
-				data.add(tokenTypeIndex);
-				data.add(tokenModifiers);
+				data[size++] = deltaLine;
+				data[size++] = deltaColumn;
+				data[size++] = tokens[i + 1];
+				data[size++] = tokens[i + 2];
+				data[size++] = tokens[i + 3];
 			}
 		}
-		return data;
+		return new IntArrayList(data, size);
+	}
+
+	/**
+	 * Sorts the collected tokens by offset, in place. The visitor adds almost
+	 * all tokens in document order, so an insertion sort is close to linear.
+	 * The sort is stable, which keeps the first token added at a given offset.
+	 */
+	private void sortTokens() {
+		int[] token = new int[TOKEN_SIZE];
+		for (int i = 1; i < tokenCount; i++) {
+			int offset = tokens[i * TOKEN_SIZE];
+			int j = i;
+			while (j > 0 && tokens[(j - 1) * TOKEN_SIZE] > offset) {
+				j--;
+			}
+			if (j < i) {
+				System.arraycopy(tokens, i * TOKEN_SIZE, token, 0, TOKEN_SIZE);
+				System.arraycopy(tokens, j * TOKEN_SIZE, tokens, (j + 1) * TOKEN_SIZE, (i - j) * TOKEN_SIZE);
+				System.arraycopy(token, 0, tokens, j * TOKEN_SIZE, TOKEN_SIZE);
+			}
+		}
+	}
+
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		// skip the subtrees which can't contain tokens of the requested range
+		if (!restricted) {
+			return true;
+		}
+		int start = node.getStartPosition();
+		return start <= rangeEnd && start + node.getLength() >= rangeStart;
 	}
 
 	/**
@@ -165,12 +199,22 @@ public class SemanticTokensVisitor extends ASTVisitor {
 	 * @param tokenType The type of the semantic token.
 	 * @param modifiers The bitwise OR of the semantic token modifiers, see {@link TokenModifier#bitmask}.
 	 *
-	 * @apiNote This method is order-dependent because of {@link #encodedTokens()}.
-	 * If semantic tokens are not added in the order they appear in the document,
-	 * the encoding algorithm might discard them.
+	 * @apiNote Tokens are sorted by offset before being encoded, see {@link #encodedTokens()}.
+	 * When several tokens are added at the same offset, only the first one is kept.
 	 */
 	private void addToken(int offset, int length, TokenType tokenType, int modifiers) {
-		tokens.add(new SemanticToken(offset, length, tokenType, modifiers | staticModifiers));
+		if (restricted && (offset >= rangeEnd || offset + length <= rangeStart)) {
+			return;
+		}
+		int index = tokenCount * TOKEN_SIZE;
+		if (index == tokens.length) {
+			tokens = Arrays.copyOf(tokens, tokens.length * 2);
+		}
+		tokens[index] = offset;
+		tokens[index + 1] = length;
+		tokens[index + 2] = tokenType.ordinal();
+		tokens[index + 3] = modifiers | staticModifiers;
+		tokenCount++;
 	}
 
 	/**
@@ -181,9 +225,8 @@ public class SemanticTokensVisitor extends ASTVisitor {
 	 * @param tokenType The type of the semantic token.
 	 * @param modifiers The bitwise OR of the semantic token modifiers, see {@link TokenModifier#bitmask}.
 	 *
-	 * @apiNote This method is order-dependent because of {@link #encodedTokens()}.
-	 * If semantic tokens are not added in the order they appear in the document,
-	 * the encoding algorithm might discard them.
+	 * @apiNote Tokens are sorted by offset before being encoded, see {@link #encodedTokens()}.
+	 * When several tokens are added at the same offset, only the first one is kept.
 	 */
 	private void addToken(ASTNode node, TokenType tokenType, int modifiers) {
 		addToken(node.getStartPosition(), node.getLength(), tokenType, modifiers);
@@ -196,9 +239,8 @@ public class SemanticTokensVisitor extends ASTVisitor {
 	 * @param node The AST node representing the location of the semantic token.
 	 * @param tokenType The type of the semantic token.
 	 *
-	 * @apiNote This method is order-dependent because of {@link #encodedTokens()}.
-	 * If semantic tokens are not added in the order they appear in the document,
-	 * the encoding algorithm might discard them.
+	 * @apiNote Tokens are sorted by offset before being encoded, see {@link #encodedTokens()}.
+	 * When several tokens are added at the same offset, only the first one is kept.
 	 */
 	private void addToken(ASTNode node, TokenType tokenType) {
 		addToken(node, tokenType, 0);
@@ -181,6 +181,7 @@ public class SyntaxLanguageServer extends BaseJDTLanguageServer implements Langu
 		} catch (InterruptedException e) {
 			JavaLanguageServerPlugin.logException(e.getMessage(), e);
 		}
+		requestScheduler.shutdown();
 		JavaLanguageServerPlugin.getLanguageServer().exit();
 	}
 
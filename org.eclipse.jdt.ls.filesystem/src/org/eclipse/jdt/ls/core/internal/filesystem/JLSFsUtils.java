@@ -15,14 +15,14 @@ package org.eclipse.jdt.ls.core.internal.filesystem;
 
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Objects;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.internal.preferences.EclipsePreferences;
-import org.eclipse.core.resources.IContainer;
-import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
@@ -112,19 +112,33 @@ public class JLSFsUtils {
         return true;
     }
 
+    /**
+     * The exclusion decisions of the path segments, computed with the given patterns.
+     */
+    private record ExcludedSegments(List<Pattern> patterns, Map<String, Boolean> segments) {
+    }
+
+    private static final int MAX_EXCLUDED_SEGMENTS = 10000;
+
+    // replaced when the resource patterns change
+    private static volatile ExcludedSegments excludedSegments = new ExcludedSegments(null, Map.of());
+
     /**
      * Check whether the given location is excluded
      * @param location file location.
      * @return whether the given location is excluded.
      */
     public static boolean isExcluded(IPath path) {
-        if (path != null && JDTLSFilesystemActivator.getResourcePatterns() != null) {
+        List<Pattern> patterns = JDTLSFilesystemActivator.getResourcePatterns();
+        if (path != null && patterns != null) {
+            ExcludedSegments cache = excludedSegments;
+            if (cache.patterns != patterns || cache.segments.size() > MAX_EXCLUDED_SEGMENTS) {
+                cache = new ExcludedSegments(patterns, new ConcurrentHashMap<>());
+                excludedSegments = cache;
+            }
             for (String segment : path.segments()) {
-                for (Pattern pattern : JDTLSFilesystemActivator.getResourcePatterns()) {
-                    Matcher m = pattern.matcher(segment);
-                    if (m.matches()) {
-                        return true;
-                    }
+                if (cache.segments.computeIfAbsent(segment, s -> isExcluded(patterns, s))) {
+                    return true;
                 }
             }
             return false;
@@ -133,6 +147,16 @@ public class JLSFsUtils {
         }
     }
 
+    private static boolean isExcluded(List<Pattern> patterns, String segment) {
+        for (Pattern pattern : patterns) {
+            Matcher m = pattern.matcher(segment);
+            if (m.matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get the container path of the given file path.
      * If the file path is a preferences file, the grand-parent container will be returned.
@@ -151,15 +175,8 @@ public class JLSFsUtils {
      * @param location the location path.
      * @return The project name
      */
-    static String getProjectNameIfLocationIsProjectRoot(IPath location) {
-        IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects(IContainer.INCLUDE_HIDDEN);
-        for (IProject project : projects) {
-            IPath projectLocation = project.getLocation();
-            if (Objects.equals(projectLocation, location)) {
-                return project.getName();
-            }
-        }
-        return null;
+    public static String getProjectNameIfLocationIsProjectRoot(IPath location) {
+        return ProjectLocationIndex.getInstance().getProjectName(location);
     }
 
     /**
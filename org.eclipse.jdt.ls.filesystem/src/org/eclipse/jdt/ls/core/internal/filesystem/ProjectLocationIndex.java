@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal.filesystem;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.internal.events.ILifecycleListener;
+import org.eclipse.core.internal.events.LifecycleEvent;
+import org.eclipse.core.internal.resources.Workspace;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Maps the locations of the workspace projects to their names.
+ * <p>
+ * The index is updated from the project deltas of the workspace changes. While
+ * a project is being created, copied, moved or deleted, its location is only
+ * known to the workspace until the operation ends, so the lookups scan the
+ * projects until the changes are notified.
+ * </p>
+ */
+final class ProjectLocationIndex implements IResourceChangeListener, ILifecycleListener {
+
+    private static final int PROJECT_CHANGES = IResourceDelta.DESCRIPTION | IResourceDelta.OPEN | IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO | IResourceDelta.REPLACED;
+
+    private static volatile ProjectLocationIndex instance;
+
+    private final Map<IPath, String> projects = new ConcurrentHashMap<>();
+    // set until the changes of the operation modifying the projects are notified
+    private volatile boolean changing;
+
+    private ProjectLocationIndex() {
+    }
+
+    static ProjectLocationIndex getInstance() {
+        ProjectLocationIndex result = instance;
+        if (result == null) {
+            synchronized (ProjectLocationIndex.class) {
+                result = instance;
+                if (result == null) {
+                    result = new ProjectLocationIndex();
+                    result.register();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void register() {
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        // the index may be created in the middle of an operation, trust it once its changes are notified
+        changing = true;
+        if (workspace instanceof Workspace internal) {
+            internal.addLifecycleListener(this);
+        }
+        workspace.addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+        for (IProject project : getProjects()) {
+            update(project);
+        }
+    }
+
+    /**
+     * @param location
+     *            the location of a folder
+     * @return the name of the project located at the given location, or
+     *         <code>null</code> if none is
+     */
+    String getProjectName(IPath location) {
+        if (location == null) {
+            return null;
+        }
+        if (!changing) {
+            return projects.get(location);
+        }
+        for (IProject project : getProjects()) {
+            if (Objects.equals(project.getLocation(), location)) {
+                return project.getName();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void handleEvent(LifecycleEvent event) {
+        switch (event.kind) {
+            case LifecycleEvent.PRE_PROJECT_CREATE:
+            case LifecycleEvent.PRE_PROJECT_COPY:
+            case LifecycleEvent.PRE_PROJECT_MOVE:
+            case LifecycleEvent.PRE_PROJECT_DELETE:
+            case LifecycleEvent.POST_PROJECT_CHANGE:
+                changing = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+        for (IResourceDelta child : delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED | IResourceDelta.CHANGED, IContainer.INCLUDE_HIDDEN)) {
+            if (child.getResource() instanceof IProject project && (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & PROJECT_CHANGES) != 0)) {
+                update(project);
+            }
+        }
+        changing = false;
+    }
+
+    private void update(IProject project) {
+        String name = project.getName();
+        projects.values().removeIf(name::equals);
+        if (project.exists()) {
+            IPath location = project.getLocation();
+            if (location != null) {
+                projects.put(location, name);
+            }
+        }
+    }
+
+    private static IProject[] getProjects() {
+        return ResourcesPlugin.getWorkspace().getRoot().getProjects(IContainer.INCLUDE_HIDDEN);
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.ls.core.internal.handlers.AbstractCompilationUnitBasedTest;
+import org.junit.Test;
+
+public class ASTCacheTest extends AbstractCompilationUnitBasedTest {
+
+	@Test
+	public void testCachedASTs() throws Exception {
+		ICompilationUnit foo = getWorkingCopy("src/java/Foo.java", "package java;\npublic class Foo {\n	Bar bar;\n}\n");
+		ICompilationUnit bar = getWorkingCopy("src/java/Bar.java", "package java;\npublic class Bar {\n}\n");
+		CompilationUnit fooAST = JDTUtils.getAst(foo, monitor);
+		CompilationUnit barAST = JDTUtils.getAst(bar, monitor);
+		assertNotNull(fooAST);
+		assertNotNull(barAST);
+
+		long hits = ASTCache.getStatistics().hits();
+		assertSame(fooAST, JDTUtils.getAst(foo, monitor));
+		assertSame(barAST, JDTUtils.getAst(bar, monitor));
+		assertEquals(hits + 2, ASTCache.getStatistics().hits());
+	}
+
+	@Test
+	public void testChangedDocument() throws Exception {
+		ICompilationUnit foo = getWorkingCopy("src/java/Foo.java", "package java;\npublic class Foo {\n}\n");
+		CompilationUnit fooAST = JDTUtils.getAst(foo, monitor);
+		assertSame(fooAST, JDTUtils.getAst(foo, monitor));
+
+		foo.getBuffer().append("class Baz {}\n");
+		CompilationUnit changedAST = JDTUtils.getAst(foo, monitor);
+		assertNotSame(fooAST, changedAST);
+		assertEquals(foo.getBuffer().getLength(), changedAST.getLength());
+		assertEquals(2, changedAST.types().size());
+	}
+
+	@Test
+	public void testChangedBindings() throws Exception {
+		ICompilationUnit foo = getWorkingCopy("src/java/Foo.java", "package java;\npublic class Foo {\n	void foo(Bar bar) {\n		bar.bar();\n	}\n}\n");
+		ICompilationUnit bar = getWorkingCopy("src/java/Bar.java", "package java;\npublic class Bar {\n	void bar() {\n	}\n}\n");
+		CompilationUnit fooAST = JDTUtils.getAst(foo, monitor);
+
+		// only the body of a method changes
+		String contents = bar.getBuffer().getContents();
+		bar.getBuffer().replace(contents.indexOf("	}\n}"), 0, "		int i = 0;\n");
+		bar.reconcile(ICompilationUnit.NO_AST, false, null, monitor);
+		assertSame(fooAST, JDTUtils.getAst(foo, monitor));
+
+		// a method is added
+		contents = bar.getBuffer().getContents();
+		bar.getBuffer().replace(contents.lastIndexOf("}"), 0, "	void baz() {\n	}\n");
+		bar.reconcile(ICompilationUnit.NO_AST, false, null, monitor);
+		assertNotSame(fooAST, JDTUtils.getAst(foo, monitor));
+	}
+
+	@Test
+	public void testWorkingCopyOwners() throws Exception {
+		ICompilationUnit foo = getWorkingCopy("src/java/Foo.java", "package java;\npublic class Foo {\n}\n");
+		CompilationUnit fooAST = JDTUtils.getAst(foo, monitor);
+		assertEquals(1, fooAST.types().size());
+
+		// a working copy of another owner has the same handle identifier, but not the same contents
+		ICompilationUnit copy = foo.getPrimary().getWorkingCopy(new WorkingCopyOwner() {
+		}, monitor);
+		try {
+			copy.getBuffer().append("class Baz {}\n");
+			CompilationUnit copyAST = JDTUtils.getAst(copy, monitor);
+			assertNotSame(fooAST, copyAST);
+			assertEquals(2, copyAST.types().size());
+			assertSame(fooAST, JDTUtils.getAst(foo, monitor));
+		} finally {
+			copy.discardWorkingCopy();
+		}
+	}
+}
@@ -12,8 +12,21 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.jdt.ls.core.internal.ConnectionStreamFactory.NamedPipeInputStream;
+import org.eclipse.jdt.ls.core.internal.ConnectionStreamFactory.NamedPipeOutputStream;
 import org.eclipse.jdt.ls.core.internal.ConnectionStreamFactory.SocketStreamProvider;
 import org.eclipse.jdt.ls.core.internal.ConnectionStreamFactory.StdIOStreamProvider;
 import org.eclipse.jdt.ls.core.internal.ConnectionStreamFactory.StreamProvider;
@@ -49,6 +62,68 @@ public class ConnectionStreamFactoryTest {
 		Assert.assertTrue(tested.getInputStream().available() == 0);
 	}
 
+	@Test
+	public void testNamedPipeRoundTrip() throws Exception {
+		ConnectionStreamFactory factory = new ConnectionStreamFactory(null);
+		byte[] header = "Content-Length: 4194304\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+		byte[] content = new byte[4 * 1024 * 1024];
+		new Random(0).nextBytes(content);
+		Pipe pipe = Pipe.open();
+		try (InputStream in = factory.new NamedPipeInputStream(pipe.source(), 4096)) {
+			CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+				try (OutputStream out = factory.new NamedPipeOutputStream(pipe.sink(), 4096)) {
+					out.write(header);
+					out.write(content);
+					out.write('\n');
+					out.flush();
+					pipe.sink().close();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			});
+			byte[] received = in.readAllBytes();
+			writer.get(30, TimeUnit.SECONDS);
+			Assert.assertEquals(header.length + content.length + 1, received.length);
+			Assert.assertArrayEquals(header, Arrays.copyOfRange(received, 0, header.length));
+			Assert.assertArrayEquals(content, Arrays.copyOfRange(received, header.length, header.length + content.length));
+			Assert.assertEquals('\n', received[received.length - 1]);
+		}
+	}
+
+	@Test
+	public void testNamedPipeOutputBuffering() throws IOException {
+		ConnectionStreamFactory factory = new ConnectionStreamFactory(null);
+		ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		NamedPipeOutputStream out = factory.new NamedPipeOutputStream(Channels.newChannel(sink), 1024);
+		out.write('a');
+		out.write(new byte[] { 'b', 'c' });
+		Assert.assertEquals("small writes are buffered until flushed", 0, sink.size());
+		out.flush();
+		Assert.assertEquals("abc", sink.toString(StandardCharsets.US_ASCII));
+		byte[] large = new byte[5000];
+		Arrays.fill(large, (byte) 'x');
+		out.write('y');
+		out.write(large);
+		Assert.assertEquals("large writes go straight to the channel", 3 + 1 + large.length, sink.size());
+		Assert.assertEquals('y', sink.toByteArray()[3]);
+	}
+
+	@Test
+	public void testNamedPipeInputBulkRead() throws IOException {
+		ConnectionStreamFactory factory = new ConnectionStreamFactory(null);
+		byte[] data = new byte[10000];
+		new Random(1).nextBytes(data);
+		NamedPipeInputStream in = factory.new NamedPipeInputStream(Channels.newChannel(new ByteArrayInputStream(data)), 1024);
+		Assert.assertEquals(data[0] & 0xFF, in.read());
+		byte[] chunk = new byte[100];
+		Assert.assertEquals(100, in.read(chunk, 0, chunk.length));
+		Assert.assertArrayEquals(Arrays.copyOfRange(data, 1, 101), chunk);
+		Assert.assertEquals(1024 - 101, in.available());
+		byte[] rest = in.readAllBytes();
+		Assert.assertArrayEquals(Arrays.copyOfRange(data, 101, data.length), rest);
+		Assert.assertEquals(-1, in.read());
+	}
+
 	private void checkStreamProvider(Class<? extends StreamProvider> providerClass){
 		ConnectionStreamFactory tested = new ConnectionStreamFactory(null);
 		StreamProvider provider = tested.getSelectedStream();
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.JobHelpers.IJobMatcher;
+import org.junit.After;
+import org.junit.Test;
+
+public class JobTrackerTest {
+
+	private static final String FAMILY = "JobTrackerTest";
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final IJobMatcher matcher = job -> job.belongsTo(FAMILY);
+
+	@After
+	public void tearDown() throws Exception {
+		release.countDown();
+		Job.getJobManager().join(FAMILY, null);
+	}
+
+	@Test
+	public void testWaitForJobs() throws Exception {
+		Job job = createJob();
+		job.schedule(60000);
+		release.countDown();
+		long start = System.nanoTime();
+		assertNull(JobTracker.getInstance().waitForJobs(matcher, 30000, null));
+		assertEquals(Job.NONE, job.getState());
+		// the sleeping job is woken up instead of waiting for its delay
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 30000);
+	}
+
+	@Test
+	public void testNoJob() {
+		assertNull(JobTracker.getInstance().waitForJobs(matcher, 10000, null));
+	}
+
+	@Test
+	public void testTimeout() {
+		Job job = createJob();
+		job.schedule();
+		assertSame(job, JobTracker.getInstance().waitForJobs(matcher, 100, null));
+	}
+
+	@Test
+	public void testCancel() {
+		Job job = createJob();
+		job.schedule();
+		IProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		assertSame(job, JobTracker.getInstance().waitForJobs(matcher, 10000, monitor));
+	}
+
+	private Job createJob() {
+		return new Job(FAMILY) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return FAMILY.equals(family);
+			}
+		};
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyTrackerTest {
+
+	@Test
+	public void testUpdate() {
+		LatencyTracker tracker = new LatencyTracker(400);
+
+		// initialize to 400 at first
+		assertEquals(400, tracker.getAverage());
+		assertEquals(400, tracker.estimate());
+
+		tracker.update(200);
+		// the first duration takes over the initial value
+		assertEquals(200, tracker.getAverage());
+
+		tracker.update(100);
+		// 200 + 0.25 * (100 - 200)
+		assertEquals(175, tracker.getAverage());
+		assertEquals(100, tracker.getPercentile(50));
+		assertEquals(200, tracker.getPercentile(95));
+	}
+
+	@Test
+	public void testSlowFirstRun() {
+		LatencyTracker tracker = new LatencyTracker(400);
+		tracker.update(30_000);
+		for (int i = 0; i < 20; i++) {
+			tracker.update(50);
+		}
+		assertTrue(String.valueOf(tracker.getAverage()), tracker.getAverage() < 200);
+		for (int i = 0; i < LatencyTracker.WINDOW_SIZE; i++) {
+			tracker.update(50);
+		}
+		assertEquals(50, tracker.getPercentile(95));
+		assertEquals(50, tracker.estimate());
+	}
+
+	@Test
+	public void testOutlier() {
+		LatencyTracker tracker = new LatencyTracker(0);
+		for (int i = 0; i < 40; i++) {
+			tracker.update(100);
+		}
+		tracker.update(10_000);
+		// the average jumps, but the estimate is bounded by the 95th percentile
+		assertTrue(tracker.getAverage() > 2000);
+		assertEquals(100, tracker.estimate());
+	}
+
+	@Test
+	public void testStatistics() {
+		LatencyTracker.get("test.statistics", 10).update(20);
+		assertEquals(1, LatencyTracker.getStatistics().get("test.statistics").count());
+		assertEquals(20, LatencyTracker.getStatistics().get("test.statistics").p50());
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.ls.core.internal.handlers.AbstractCompilationUnitBasedTest;
+import org.junit.Test;
+
+public class LexicalTokensTest extends AbstractCompilationUnitBasedTest {
+
+	private static final String SOURCE = """
+			package java;
+			// #region
+			/**
+			 * Foo
+			 */
+			public class Foo {
+				/* block */
+				void foo() {
+					String s = "a\\nb";
+				}
+				// #endregion
+			}
+			""";
+
+	@Test
+	public void testTokens() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/java/Foo.java", SOURCE);
+		LexicalTokens tokens = LexicalTokens.get(unit);
+		assertEquals(SOURCE, tokens.getSource());
+
+		IScanner scanner = JDTUtils.createScanner(unit.getJavaProject(), true, false, true);
+		scanner.setSource(SOURCE.toCharArray());
+		int index = 0;
+		int token;
+		while ((token = scanner.getNextToken()) != ITerminalSymbols.TokenNameEOF) {
+			assertEquals(token, tokens.getToken(index));
+			assertEquals(scanner.getCurrentTokenStartPosition(), tokens.getStartPosition(index));
+			assertEquals(scanner.getCurrentTokenEndPosition(), tokens.getEndPosition(index));
+			assertEquals(String.valueOf(scanner.getCurrentTokenSource()), tokens.getTokenSource(index));
+			index++;
+		}
+		assertEquals(index, tokens.size());
+		for (int position = 0; position <= SOURCE.length(); position++) {
+			assertEquals(scanner.getLineNumber(position), tokens.getLineNumber(position));
+		}
+		int classIndex = tokens.indexOf(SOURCE.indexOf("class"));
+		assertEquals(ITerminalSymbols.TokenNameclass, tokens.getToken(classIndex));
+		assertEquals(classIndex, tokens.indexOf(SOURCE.indexOf("class") - 1));
+	}
+
+	@Test
+	public void testCachedTokens() throws Exception {
+		ICompilationUnit unit = getWorkingCopy("src/java/Foo.java", SOURCE);
+		LexicalTokens tokens = LexicalTokens.get(unit);
+		assertSame(tokens, LexicalTokens.get(unit));
+
+		unit.getBuffer().append("class Bar {}\n");
+		LexicalTokens changed = LexicalTokens.get(unit);
+		assertNotSame(tokens, changed);
+		assertEquals(tokens.size() + 4, changed.size());
+	}
+
+	@Test
+	public void testConcurrentScans() throws Exception {
+		List<ICompilationUnit> units = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			units.add(getWorkingCopy("src/java/Foo" + i + ".java", SOURCE.replace("Foo", "Foo" + i)));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<LexicalTokens>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				ICompilationUnit unit = units.get(i % units.size());
+				results.add(executor.submit(() -> LexicalTokens.get(unit)));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				LexicalTokens tokens = results.get(i).get();
+				assertEquals(units.get(i % units.size()).getSource(), tokens.getSource());
+				assertEquals(LexicalTokens.get(units.get(0)).size(), tokens.size());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
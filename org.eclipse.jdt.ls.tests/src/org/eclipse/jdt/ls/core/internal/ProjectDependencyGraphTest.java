@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+import org.junit.Test;
+
+public class ProjectDependencyGraphTest extends AbstractProjectsManagerBasedTest {
+
+	@Test
+	public void testDependentProjects() throws Exception {
+		IJavaProject core = createProject("core");
+		IJavaProject api = createProject("api", core);
+		createProject("app", api);
+		IJavaProject other = createProject("other");
+
+		assertEquals(Set.of("core", "api", "app"), ProjectDependencyGraph.getDependentProjects("core"));
+		assertEquals(Set.of("app"), ProjectDependencyGraph.getDependentProjects("app"));
+		assertEquals(Set.of("other"), ProjectDependencyGraph.getDependentProjects("other"));
+
+		// the graph follows the classpath changes
+		JavaProjectHelper.addToClasspath(other, JavaCore.newProjectEntry(api.getPath()));
+		assertEquals(Set.of("core", "api", "app", "other"), ProjectDependencyGraph.getDependentProjects("core"));
+	}
+
+	@Test
+	public void testReferencingProjects() throws Exception {
+		IJavaProject core = createProject("core");
+		IJavaProject api = createProject("api", core);
+		createProject("other");
+		IType type = api.findType("p.Api");
+
+		assertArrayEquals(new IJavaProject[] { api }, ProjectDependencyGraph.getReferencingProjects(type));
+		// the elements of the libraries may be referenced by any project
+		IType string = api.findType("java.lang.String");
+		assertEquals(ProjectUtils.getJavaProjects().length, ProjectDependencyGraph.getReferencingProjects(string).length);
+	}
+
+	/**
+	 * Searches the references of the types of a workspace where all the modules
+	 * depend on a shared module: the references of a type of a leaf module are
+	 * only searched in the modules depending on it, and all of them are found.
+	 */
+	@Test
+	public void testLeafModuleReferencesSearch() throws Exception {
+		IJavaProject shared = createProject("shared");
+		IJavaProject leaf = createProject("leaf", shared);
+		createProject("app", leaf);
+		for (int i = 0; i < 3; i++) {
+			createProject("module" + i, shared);
+		}
+		IJavaSearchScope workspaceScope = SearchEngine.createJavaSearchScope(ProjectUtils.getJavaProjects(), IJavaSearchScope.SOURCES);
+
+		IType leafType = leaf.findType("p.Leaf");
+		IJavaProject[] projects = ProjectDependencyGraph.getReferencingProjects(leafType);
+		assertEquals(Set.of("leaf", "app"), Stream.of(projects).map(IJavaProject::getElementName).collect(Collectors.toSet()));
+		IJavaSearchScope graphScope = SearchEngine.createJavaSearchScope(projects, IJavaSearchScope.SOURCES);
+		assertEquals(1, countReferences(leafType, graphScope));
+		assertEquals(countReferences(leafType, workspaceScope), countReferences(leafType, graphScope));
+
+		IType sharedType = shared.findType("p.Shared");
+		projects = ProjectDependencyGraph.getReferencingProjects(sharedType);
+		assertEquals(Set.of("shared", "leaf", "app", "module0", "module1", "module2"), Stream.of(projects).map(IJavaProject::getElementName).collect(Collectors.toSet()));
+		graphScope = SearchEngine.createJavaSearchScope(projects, IJavaSearchScope.SOURCES);
+		assertEquals(4, countReferences(sharedType, graphScope));
+		assertEquals(countReferences(sharedType, workspaceScope), countReferences(sharedType, graphScope));
+	}
+
+	private int countReferences(IJavaElement element, IJavaSearchScope scope) throws CoreException {
+		AtomicInteger count = new AtomicInteger();
+		SearchPattern pattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_ACCURATE) {
+					count.incrementAndGet();
+				}
+			}
+		}, new NullProgressMonitor());
+		return count.get();
+	}
+
+	/**
+	 * Creates a Java project declaring a <code>p.Name</code> type, which
+	 * references the types of the given dependencies.
+	 */
+	private IJavaProject createProject(String name, IJavaProject... dependencies) throws Exception {
+		IProject project = ProjectsManager.createJavaProject(ResourcesPlugin.getWorkspace().getRoot().getProject(name), new NullProgressMonitor());
+		IJavaProject javaProject = JavaCore.create(project);
+		String typeName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		StringBuilder source = new StringBuilder("package p;\n\npublic class ").append(typeName).append(" {\n");
+		for (IJavaProject dependency : dependencies) {
+			JavaProjectHelper.addToClasspath(javaProject, JavaCore.newProjectEntry(dependency.getPath()));
+			String dependencyName = dependency.getElementName();
+			source.append("\tp.").append(Character.toUpperCase(dependencyName.charAt(0))).append(dependencyName.substring(1)).append(" field;\n");
+		}
+		source.append("}\n");
+		IFolder folder = project.getFolder("src/p");
+		folder.create(true, true, null);
+		IFile file = folder.getFile(typeName + ".java");
+		file.create(new ByteArrayInputStream(source.toString().getBytes(StandardCharsets.UTF_8)), true, null);
+		return javaProject;
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.ls.core.internal.RequestScheduler.Lane;
+import org.eclipse.jdt.ls.core.internal.RequestScheduler.LaneStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestSchedulerTest {
+
+	private RequestScheduler scheduler;
+
+	@Before
+	public void setUp() {
+		scheduler = new RequestScheduler();
+	}
+
+	@After
+	public void tearDown() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testDefaultLane() {
+		assertSame(scheduler.getExecutor(Lane.INTERACTIVE), scheduler.getExecutor(null));
+		assertNotSame(scheduler.getExecutor(Lane.INTERACTIVE), scheduler.getExecutor(Lane.BULK));
+	}
+
+	@Test
+	public void testBulkRequestsDontBlockOtherLanes() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		int bulkConcurrency = Lane.BULK.getConcurrency();
+		// saturate the bulk lane and queue one more request behind it
+		for (int i = 0; i <= bulkConcurrency; i++) {
+			CompletableFuture.runAsync(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, scheduler.getExecutor(Lane.BULK));
+		}
+		try {
+			String result = CompletableFuture.supplyAsync(() -> "done", scheduler.getExecutor(Lane.INTERACTIVE)).get(5, TimeUnit.SECONDS);
+			assertEquals("done", result);
+			result = CompletableFuture.supplyAsync(() -> "done", scheduler.getExecutor(Lane.LATENCY_CRITICAL)).get(5, TimeUnit.SECONDS);
+			assertEquals("done", result);
+			assertTrue(waitFor(Lane.BULK, bulk -> bulk.active() == bulkConcurrency));
+			assertEquals(1, scheduler.getStatistics().get(Lane.BULK.getId()).queueDepth());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		CompletableFuture.runAsync(() -> {
+		}, scheduler.getExecutor(Lane.LATENCY_CRITICAL)).get(5, TimeUnit.SECONDS);
+		Map<String, LaneStatistics> statistics = scheduler.getStatistics();
+		assertEquals(Lane.values().length, statistics.size());
+		LaneStatistics latency = statistics.get(Lane.LATENCY_CRITICAL.getId());
+		assertEquals(Lane.LATENCY_CRITICAL.getConcurrency(), latency.concurrency());
+		assertFalse(latency.virtualThreads());
+		// the completion counter is updated after the future completes
+		assertTrue(waitFor(Lane.LATENCY_CRITICAL, stats -> stats.completed() == 1));
+		assertEquals(0, latency.queueDepth());
+	}
+
+	@Test
+	public void testVirtualThreads() throws Exception {
+		System.setProperty(RequestScheduler.VIRTUAL_THREADS_PROPERTY, "true");
+		RequestScheduler virtualScheduler = new RequestScheduler();
+		try {
+			boolean virtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), virtualScheduler.getExecutor(Lane.BULK)).get(5, TimeUnit.SECONDS);
+			assertTrue(virtual);
+			assertTrue(virtualScheduler.getStatistics().get(Lane.BULK.getId()).virtualThreads());
+		} finally {
+			System.clearProperty(RequestScheduler.VIRTUAL_THREADS_PROPERTY);
+			virtualScheduler.shutdown();
+		}
+	}
+
+	private boolean waitFor(Lane lane, Predicate<LaneStatistics> condition) throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			if (condition.test(scheduler.getStatistics().get(lane.getId()))) {
+				return true;
+			}
+			Thread.sleep(10);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+* Copyright (c) 2026 Red Hat Inc. and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License 2.0
+* which accompanies this distribution, and is available at
+* https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     Red Hat Inc. - initial API and implementation
+*******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal.decompiler;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.ls.core.internal.DecompilerResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DecompilerCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path cacheFolder;
+	private final AtomicInteger decompilations = new AtomicInteger();
+
+	@Before
+	public void setUp() throws Exception {
+		cacheFolder = folder.newFolder("decompiled").toPath();
+	}
+
+	@Test
+	public void testSingleFlight() throws Exception {
+		DecompilerCache cache = new DecompilerCache(100, Long.MAX_VALUE, null, "test");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<DecompilerResult> first = CompletableFuture.supplyAsync(() -> get(cache, "Foo", () -> {
+			started.countDown();
+			release.await();
+			return decompile("Foo");
+		}));
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		CompletableFuture<DecompilerResult> second = CompletableFuture.supplyAsync(() -> get(cache, "Foo", () -> decompile("Foo")));
+		// another class is not blocked by the running decompilation
+		assertEquals("class Bar {}", get(cache, "Bar", () -> decompile("Bar")).getContent());
+		release.countDown();
+		assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+		assertEquals(2, decompilations.get());
+	}
+
+	@Test
+	public void testCancelledDecompilation() throws Exception {
+		DecompilerCache cache = new DecompilerCache(100, Long.MAX_VALUE, null, "test");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IProgressMonitor monitor = new NullProgressMonitor();
+		CompletableFuture<DecompilerResult> first = CompletableFuture.supplyAsync(() -> get(cache, "Foo", () -> {
+			started.countDown();
+			release.await();
+			decompilations.incrementAndGet();
+			return null;
+		}, monitor));
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		CompletableFuture<DecompilerResult> second = CompletableFuture.supplyAsync(() -> get(cache, "Foo", () -> decompile("Foo")));
+		monitor.setCanceled(true);
+		release.countDown();
+		ExecutionException e = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+		assertTrue(e.getCause() instanceof OperationCanceledException);
+		// the waiting request decompiles the class again
+		assertEquals("class Foo {}", second.get(10, TimeUnit.SECONDS).getContent());
+		assertEquals(2, decompilations.get());
+	}
+
+	@Test
+	public void testMemoryLimits() throws Exception {
+		DecompilerCache cache = new DecompilerCache(2, Long.MAX_VALUE, null, "test");
+		get(cache, "Foo");
+		get(cache, "Bar");
+		get(cache, "Foo");
+		assertEquals(2, decompilations.get());
+		get(cache, "Baz");
+		get(cache, "Bar");
+		assertEquals(4, decompilations.get());
+
+		// a single entry fits in the estimated size
+		cache = new DecompilerCache(100, 100, null, "test");
+		get(cache, "Foo");
+		get(cache, "Bar");
+		get(cache, "Bar");
+		get(cache, "Foo");
+		assertEquals(7, decompilations.get());
+	}
+
+	@Test
+	public void testDiskCache() throws Exception {
+		DecompilerResult result = get(new DecompilerCache(100, Long.MAX_VALUE, cacheFolder, "test"), "Foo");
+		assertEquals(1, decompilations.get());
+
+		// restarted
+		DecompilerResult cached = get(new DecompilerCache(100, Long.MAX_VALUE, cacheFolder, "test"), "Foo");
+		assertEquals(1, decompilations.get());
+		assertEquals(result.getContent(), cached.getContent());
+		assertArrayEquals(result.getOriginalLineMappings(), cached.getOriginalLineMappings());
+		assertNull(cached.getDecompiledLineMappings());
+
+		// another version of the decompiler
+		get(new DecompilerCache(100, Long.MAX_VALUE, cacheFolder, "other"), "Foo");
+		assertEquals(2, decompilations.get());
+	}
+
+	@Test
+	public void testDiskCacheSize() throws Exception {
+		DecompilerCache cache = new DecompilerCache(100, Long.MAX_VALUE, cacheFolder, "test");
+		get(cache, "Foo");
+		get(cache, "Bar");
+		get(cache, "Baz");
+		List<Path> files = list();
+		assertEquals(3, files.size());
+		long fileSize = Files.size(files.get(0));
+		for (int i = 0; i < files.size(); i++) {
+			Files.setLastModifiedTime(files.get(i), FileTime.fromMillis(1000L * (i + 1)));
+		}
+
+		// the least recently used file is removed
+		cache = new DecompilerCache(100, Long.MAX_VALUE, cacheFolder, 2 * fileSize, "test");
+		cache.prune();
+		assertEquals(2, list().size());
+		assertFalse(Files.exists(files.get(0)));
+		assertTrue(Files.exists(files.get(2)));
+	}
+
+	@Test
+	public void testFailedDecompilation() throws Exception {
+		DecompilerCache cache = new DecompilerCache(100, Long.MAX_VALUE, cacheFolder, "test");
+		assertNull(get(cache, "Foo", () -> {
+			decompilations.incrementAndGet();
+			return null;
+		}));
+		get(cache, "Foo");
+		assertEquals(2, decompilations.get());
+	}
+
+	@FunctionalInterface
+	private interface Decompilation {
+		DecompilerResult decompile() throws Exception;
+	}
+
+	private DecompilerResult get(DecompilerCache cache, String name) {
+		return get(cache, name, () -> decompile(name));
+	}
+
+	private DecompilerResult get(DecompilerCache cache, String name, Decompilation decompilation) {
+		return get(cache, name, decompilation, new NullProgressMonitor());
+	}
+
+	private DecompilerResult get(DecompilerCache cache, String name, Decompilation decompilation, IProgressMonitor monitor) {
+		try {
+			return cache.get(name, name + ".class", () -> name.getBytes(StandardCharsets.UTF_8), () -> {
+				try {
+					return decompilation.decompile();
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}, monitor);
+		} catch (OperationCanceledException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private List<Path> list() throws Exception {
+		try (Stream<Path> files = Files.list(cacheFolder)) {
+			return files.toList();
+		}
+	}
+
+	private DecompilerResult decompile(String name) {
+		decompilations.incrementAndGet();
+		return new DecompilerResult("class " + name + " {}", new int[] { 1, 2 });
+	}
+}
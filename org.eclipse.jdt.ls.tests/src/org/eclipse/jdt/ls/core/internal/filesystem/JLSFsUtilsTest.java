@@ -45,6 +45,16 @@ public class JLSFsUtilsTest {
 		assertTrue(JLSFsUtils.isExcluded(path));
 	}
 
+	@Test
+	public void testExcludedSegmentsCached() {
+		// the decisions of the shared segments are reused
+		assertFalse(JLSFsUtils.isExcluded(new Path("/project/src/Foo.java")));
+		assertTrue(JLSFsUtils.isExcluded(new Path("/project/src/.git/config")));
+		assertFalse(JLSFsUtils.isExcluded(new Path("/project/src/Bar.java")));
+		assertTrue(JLSFsUtils.isExcluded(new Path("/project/node_modules/src/Foo.java")));
+		assertFalse(JLSFsUtils.isExcluded(new Path("/project/node_modules.txt")));
+	}
+
 	@After
 	public void cleanUp() throws Exception {
 		System.clearProperty(JLSFsUtils.GENERATES_METADATA_FILES_AT_PROJECT_ROOT);
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.ls.core.internal.filesystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.Test;
+
+public class ProjectLocationIndexTest extends AbstractProjectsManagerBasedTest {
+
+	private static final int PROJECT_COUNT = 100;
+
+	@Test
+	public void testProjectLocations() throws Exception {
+		List<IProject> projects = createProjects(PROJECT_COUNT);
+		for (IProject project : projects) {
+			assertEquals(project.getName(), JLSFsUtils.getProjectNameIfLocationIsProjectRoot(project.getLocation()));
+			assertNull(JLSFsUtils.getProjectNameIfLocationIsProjectRoot(project.getLocation().append("src")));
+		}
+
+		IProject deleted = projects.get(0);
+		IPath location = deleted.getLocation();
+		deleted.delete(false, true, monitor);
+		assertNull(JLSFsUtils.getProjectNameIfLocationIsProjectRoot(location));
+	}
+
+	@Test
+	public void testRefreshProjects() throws Exception {
+		List<IProject> projects = createProjects(PROJECT_COUNT);
+		long start = System.nanoTime();
+		ResourcesPlugin.getWorkspace().getRoot().refreshLocal(IResource.DEPTH_INFINITE, monitor);
+		JavaLanguageServerPlugin.logInfo("Refreshed " + projects.size() + " projects in " + (System.nanoTime() - start) / 1000000 + "ms");
+		for (IProject project : projects) {
+			assertEquals(project.getName(), JLSFsUtils.getProjectNameIfLocationIsProjectRoot(project.getLocation()));
+		}
+	}
+
+	private List<IProject> createProjects(int count) throws Exception {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		File root = new File(getWorkingProjectDirectory(), "locations");
+		List<IProject> projects = new ArrayList<>();
+		workspace.run(monitor -> {
+			for (int i = 0; i < count; i++) {
+				File folder = new File(new File(root, "project" + i), "src");
+				folder.mkdirs();
+				IProject project = workspace.getRoot().getProject("location" + i);
+				IProjectDescription description = workspace.newProjectDescription(project.getName());
+				description.setLocation(IPath.fromOSString(folder.getParent()));
+				project.create(description, monitor);
+				project.open(monitor);
+				// known while the creation is not notified yet
+				assertEquals(project.getName(), JLSFsUtils.getProjectNameIfLocationIsProjectRoot(project.getLocation()));
+				projects.add(project);
+			}
+		}, monitor);
+		return projects;
+	}
+}
@@ -24,9 +24,11 @@ import static org.junit.Assert.assertTrue;
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
+import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
@@ -102,6 +104,32 @@ public class CallHierarchyHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertItem(calls.get(2).getFrom(), "method_1()" + JavaElementLabelsCore.DECL_STRING + "void", Method, "org.sample.CallHierarchy$Base", false, 35);
 	}
 
+	@Test
+	public void incomingCalls_cached() throws Exception {
+		// Line 27 from `CallHierarchy`
+		//    public void <|>bar() {
+		String uri = getUriFromSrcProject("org.sample.CallHierarchy");
+		List<CallHierarchyItem> items = prepareCallHierarchy(uri, 26, 16);
+		assertNotNull(items);
+		assertEquals(3, getIncomingCalls(items.get(0)).size());
+
+		// a new tree reuses the calls found for the previous one
+		items = prepareCallHierarchy(uri, 26, 16);
+		long hits = CallHierarchyCache.getStatistics().hits();
+		assertEquals(3, getIncomingCalls(items.get(0)).size());
+		assertTrue(CallHierarchyCache.getStatistics().hits() > hits);
+
+		// a new call invalidates the cached calls
+		IFile file = WorkspaceHelper.getProject("hello").getFile("src/org/sample/CallHierarchy.java");
+		String source = ResourceUtils.getContent(file);
+		ResourceUtils.setContent(file, source.replace("public void foo() {\n\n", "public void foo() {\n      bar();\n"));
+		items = prepareCallHierarchy(uri, 26, 16);
+		List<CallHierarchyIncomingCall> calls = getIncomingCalls(items.get(0));
+		assertNotNull(calls);
+		assertEquals(4, calls.size());
+		assertTrue(calls.stream().anyMatch(call -> call.getFrom().getName().startsWith("foo()")));
+	}
+
 	@Test
 	public void testSelectionRange() throws Exception {
 		// Line  from `org.sample.Foo`
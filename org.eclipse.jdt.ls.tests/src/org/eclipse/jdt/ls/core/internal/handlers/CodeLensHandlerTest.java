@@ -25,7 +25,9 @@ import static org.mockito.Mockito.when;
 
 import java.net.URI;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
@@ -44,6 +46,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+
 /**
  * @author Fred Bricon
  *
@@ -440,6 +445,52 @@ public class CodeLensHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertRange(5, 25, 28, loc.getRange());
 	}
 
+	@Test
+	public void testResolveCodeLensesOfDocument() throws Exception {
+		Preferences implementationsCodeLenses = Preferences.createFrom(Collections.singletonMap(Preferences.IMPLEMENTATIONS_CODE_LENS_KEY, "all"));
+		Mockito.reset(preferenceManager);
+		when(preferenceManager.getPreferences()).thenReturn(implementationsCodeLenses);
+		handler = new CodeLensHandler(preferenceManager);
+
+		Map<String, String> titles = resolveCodeLenses("src/java/Foo.java");
+		assertEquals("1 reference", titles.get("references@5"));
+		assertEquals("0 references", titles.get("references@7"));
+		assertEquals("1 reference", titles.get("references@15"));
+		assertEquals("1 implementation", titles.get("implementations@5"));
+		assertEquals("1 implementation", titles.get("implementations@15"));
+
+		titles = resolveCodeLenses("src/java/Test.java");
+		assertEquals("1 implementation", titles.get("implementations@2"));
+		assertEquals("1 implementation", titles.get("implementations@5"));
+		assertEquals("1 implementation", titles.get("implementations@7"));
+		assertEquals("0 implementations", titles.get("implementations@9"));
+	}
+
+	@Test
+	public void testGetReferencedName() {
+		assertEquals("List", CodeLensBatch.getReferencedName("List"));
+		assertEquals("List", CodeLensBatch.getReferencedName("java.util.List<java.lang.String>"));
+		assertEquals("Inner", CodeLensBatch.getReferencedName("Outer . Inner[]"));
+		assertEquals("Override", CodeLensBatch.getReferencedName("@Override"));
+		assertEquals("foo", CodeLensBatch.getReferencedName("foo(bar.baz())"));
+	}
+
+	/**
+	 * Resolves all the lenses of a document, keyed by type and line.
+	 */
+	private Map<String, String> resolveCodeLenses(String file) {
+		String uri = ResourceUtils.fixURI(project.getFile(file).getRawLocationURI());
+		Map<String, String> titles = new HashMap<>();
+		for (CodeLens lens : handler.getCodeLensSymbols(uri, monitor)) {
+			// as sent by the client
+			lens.setData(new Gson().toJsonTree(lens.getData()));
+			CodeLens result = handler.resolve(lens, monitor);
+			String type = ((JsonArray) result.getData()).get(2).getAsString();
+			titles.put(type + "@" + result.getRange().getStart().getLine(), result.getCommand().getTitle());
+		}
+		return titles;
+	}
+
 	@Test
 	public void testResolveCodeLenseBoundaries() {
 		CodeLens result = handler.resolve(null, monitor);
@@ -57,6 +57,7 @@ import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.TextEditUtil;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionSession;
 import org.eclipse.jdt.ls.core.internal.contentassist.JavadocCompletionProposal;
 import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -2721,6 +2722,60 @@ public class CompletionHandlerTest extends AbstractCompilationUnitBasedTest {
 		}
 	}
 
+	@Test
+	public void testCompletion_refinedPrefix() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		StringB\n"+
+						"	}\n"+
+				"}\n");
+		CompletionList list = requestCompletions(unit, "StringB");
+		assertFalse(list.isIncomplete());
+		assertTrue(list.getItems().stream().anyMatch(item -> item.getLabel().startsWith("StringBuilder ")));
+		String requestId = ((Map<String, String>) list.getItems().get(0).getData()).get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID);
+
+		// type more characters of the same identifier, the items of the previous response are refiltered
+		int offset = unit.getSource().indexOf("StringB") + 7;
+		unit.getBuffer().replace(offset, 0, "uf");
+		CompletionList refined = requestCompletions(unit, "StringBuf");
+		assertFalse("No proposals were found", refined.getItems().isEmpty());
+		assertFalse(refined.getItems().stream().anyMatch(item -> item.getLabel().startsWith("StringBuilder ")));
+		assertTrue(refined.getItems().stream().allMatch(item -> requestId.equals(((Map<String, String>) item.getData()).get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID))));
+		// the proposals are resolved against the refined prefix
+		List<CompletionProposal> proposals = CompletionResponses.get(Long.parseLong(requestId)).getProposals();
+		assertTrue(proposals.stream().filter(proposal -> proposal.getReplaceStart() < offset).allMatch(proposal -> proposal.getReplaceEnd() >= offset + 2));
+
+		CompletionSession.invalidate();
+		CompletionList expected = requestCompletions(unit, "StringBuf");
+		assertEquals(expected.getItems().stream().map(CompletionItem::getLabel).toList(), refined.getItems().stream().map(CompletionItem::getLabel).toList());
+		assertEquals(expected.getItems().get(0).getTextEdit(), refined.getItems().get(0).getTextEdit());
+		assertEquals(expected.getItems().get(0).getSortText(), refined.getItems().get(0).getSortText());
+
+		// a non identifier change ends the session
+		unit.getBuffer().replace(offset + 2, 0, ".");
+		list = requestCompletions(unit, "StringBuf.");
+		assertFalse(list.getItems().stream().anyMatch(item -> item.getLabel().startsWith("StringBuffer ")));
+	}
+
+	@Test
+	public void testCompletion_refinedEmptyPrefix() throws Exception {
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"		\n"+
+						"	}\n"+
+				"}\n");
+		// the types are only searched once a prefix is typed, the proposals of an empty prefix are not reused
+		requestCompletions(unit, "void foo() {\n\t\t");
+		int offset = unit.getSource().indexOf("void foo() {\n\t\t") + "void foo() {\n\t\t".length();
+		unit.getBuffer().replace(offset, 0, "Str");
+		CompletionList list = requestCompletions(unit, "Str");
+		assertTrue(list.getItems().stream().anyMatch(item -> item.getLabel().startsWith("String ")));
+	}
+
 	private List<CompletionItem> noSnippets(List<CompletionItem> items) {
 		return items.stream().filter(i -> !CompletionItemKind.Snippet.equals(i.getKind())).collect(Collectors.toList());
 	}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class DiagnosticsPublisherTest {
+
+	private static final String URI = "file:///project/src/Foo.java";
+
+	private JavaLanguageClient client;
+	private DiagnosticsPublisher publisher;
+
+	@Before
+	public void setup() {
+		client = mock(JavaLanguageClient.class);
+		// published by flush() only
+		publisher = new DiagnosticsPublisher(new JavaClientConnection(client), 60_000L);
+	}
+
+	@After
+	public void tearDown() {
+		publisher.dispose();
+	}
+
+	@Test
+	public void testCoalesce() {
+		publisher.publish(URI, () -> List.of(createDiagnostic("Foo cannot be resolved")));
+		publisher.publish(URI, () -> List.of(createDiagnostic("Bar cannot be resolved")));
+		verify(client, never()).publishDiagnostics(any());
+		publisher.flush();
+		ArgumentCaptor<PublishDiagnosticsParams> captor = ArgumentCaptor.forClass(PublishDiagnosticsParams.class);
+		verify(client, times(1)).publishDiagnostics(captor.capture());
+		assertEquals(URI, captor.getValue().getUri());
+		assertEquals("Bar cannot be resolved", captor.getValue().getDiagnostics().get(0).getMessage());
+	}
+
+	@Test
+	public void testSkipUnchanged() {
+		publisher.publish(URI, () -> List.of(createDiagnostic("Foo cannot be resolved")));
+		publisher.flush();
+		publisher.publish(URI, () -> List.of(createDiagnostic("Foo cannot be resolved")));
+		publisher.flush();
+		verify(client, times(1)).publishDiagnostics(any());
+
+		publisher.publish(URI, List::of);
+		publisher.flush();
+		verify(client, times(2)).publishDiagnostics(any());
+		// nothing published for the document
+		publisher.publish(URI, List::of);
+		publisher.publish("file:///project/src/Bar.java", () -> null);
+		publisher.flush();
+		verify(client, times(2)).publishDiagnostics(any());
+	}
+
+	@Test
+	public void testClearUnknown() {
+		// the diagnostics of a document may have been published by a previous session
+		publisher.publish(URI, List::of);
+		publisher.flush();
+		publisher.publish(URI, List::of);
+		publisher.flush();
+		verify(client, times(2)).publishDiagnostics(any());
+	}
+
+	private static Diagnostic createDiagnostic(String message) {
+		return new Diagnostic(new Range(new Position(1, 0), new Position(1, 3)), message, DiagnosticSeverity.Error, "Java");
+	}
+}
@@ -342,6 +342,38 @@ public class DocumentLifeCycleHandlerTest extends AbstractProjectsManagerBasedTe
 		closeDocument(cu1);
 	}
 
+	@Test
+	public void testValidateAllOpenBuffers() throws Exception {
+		IJavaProject javaProject = newEmptyProject();
+		IPackageFragmentRoot sourceFolder = javaProject.getPackageFragmentRoot(javaProject.getProject().getFolder("src"));
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		List<ICompilationUnit> units = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			String source = "package test1;\npublic class E" + i + " {\n    int i = someInteger;\n}\n";
+			ICompilationUnit cu = pack1.createCompilationUnit("E" + i + ".java", source, false, null);
+			openDocument(cu, cu.getSource(), 1);
+			units.add(cu);
+		}
+		preferences.setValidateAllOpenBuffersOnChanges(true);
+		when(preferenceManager.getPreferences()).thenReturn(preferences);
+		ICompilationUnit cu0 = units.get(0);
+		changeDocumentFull(cu0, cu0.getSource().replace("someInteger", "someInteger1"), 2);
+		clientRequests.clear();
+		changeDocumentFull(cu0, cu0.getSource().replace("someInteger1", "someInteger2"), 3);
+
+		List<PublishDiagnosticsParams> diagnosticsParams = getClientRequests("publishDiagnostics");
+		assertEquals(JDTUtils.toURI(cu0), diagnosticsParams.get(0).getUri());
+		for (ICompilationUnit cu : units) {
+			String uri = JDTUtils.toURI(cu);
+			PublishDiagnosticsParams params = diagnosticsParams.stream().filter(p -> uri.equals(p.getUri())).findFirst().orElse(null);
+			assertNotNull("No diagnostics for " + uri, params);
+			assertEquals(1, params.getDiagnostics().size());
+		}
+		for (ICompilationUnit cu : units) {
+			closeDocument(cu);
+		}
+	}
+
 	@Test
 	public void testWorkingCopies() throws Exception {
 		importProjects("eclipse/hello");
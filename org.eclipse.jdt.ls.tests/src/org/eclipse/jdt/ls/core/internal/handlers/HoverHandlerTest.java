@@ -40,6 +40,7 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ls.core.internal.ClassFileUtil;
 import org.eclipse.jdt.ls.core.internal.DependencyUtil;
+import org.eclipse.jdt.ls.core.internal.HoverCache;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
@@ -270,6 +271,26 @@ public class HoverHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertEquals("void test1.E.foo2(String s, String s2)", getTitleHover(cu, 4, 24));
 	}
 
+	@Test
+	public void testHoverCache() throws Exception {
+		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf = new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("import java.util.Vector;\n");
+		buf.append("public class E {\n");
+		buf.append("   Vector<String> v;\n");
+		buf.append("}\n");
+		ICompilationUnit cu = pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+
+		Hover hover = getHover(cu, 3, 5);
+		String signature = hover.getContents().getLeft().get(0).getRight().getValue();
+		assertTrue("Unexpected hover " + signature, signature.startsWith("java.util.Vector"));
+		long hits = HoverCache.getStatistics().hits();
+		// the hover of the library type is cached
+		assertEquals(hover.getContents(), getHover(cu, 3, 5).getContents());
+		assertEquals(hits + 1, HoverCache.getStatistics().hits());
+	}
+
 	@Test
 	public void testHoverTypeParameters() throws Exception {
 		IPackageFragment pack1 = sourceFolder.createPackageFragment("test1", false, null);
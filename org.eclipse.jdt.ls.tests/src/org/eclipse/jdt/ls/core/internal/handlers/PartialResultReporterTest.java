@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.handlers.PartialResultReporter.PartialResultStatistics;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PartialResultReporterTest {
+
+	private final JavaClientConnection connection = mock(JavaClientConnection.class);
+
+	@After
+	public void tearDown() {
+		System.clearProperty(PartialResultReporter.LATENCY_BUDGET_PROPERTY);
+	}
+
+	@Test
+	public void testWithinBudget() {
+		System.setProperty(PartialResultReporter.LATENCY_BUDGET_PROPERTY, "60000");
+		PartialResultReporter<String> reporter = new PartialResultReporter<>("test/withinBudget", Either.forLeft("token"), connection, batch -> batch);
+		assertTrue(reporter.isEnabled());
+		reporter.addAll(List.of("a", "b"));
+		assertFalse(reporter.complete());
+		verify(connection, never()).notifyProgress(any());
+		PartialResultStatistics statistics = PartialResultReporter.getStatistics().get("test/withinBudget");
+		assertEquals(1, statistics.requests());
+		assertEquals(0, statistics.streamed());
+	}
+
+	@Test
+	public void testWithoutToken() {
+		System.setProperty(PartialResultReporter.LATENCY_BUDGET_PROPERTY, "0");
+		PartialResultReporter<String> reporter = PartialResultReporter.create("test/withoutToken", null);
+		assertFalse(reporter.isEnabled());
+		reporter.add("a");
+		assertFalse(reporter.complete());
+	}
+
+	@Test
+	public void testStreamed() {
+		System.setProperty(PartialResultReporter.LATENCY_BUDGET_PROPERTY, "0");
+		PartialResultReporter<String> reporter = new PartialResultReporter<>("test/streamed", Either.forLeft("token"), connection, batch -> "first:" + batch);
+		reporter.add("a");
+		reporter.add("b");
+		assertTrue(reporter.complete());
+		ArgumentCaptor<ProgressParams> captor = ArgumentCaptor.forClass(ProgressParams.class);
+		verify(connection, times(2)).notifyProgress(captor.capture());
+		List<ProgressParams> reports = captor.getAllValues();
+		assertEquals("token", reports.get(0).getToken().getLeft());
+		assertEquals("first:[a]", reports.get(0).getValue().getRight());
+		assertEquals(List.of("b"), reports.get(1).getValue().getRight());
+		assertEquals(1, PartialResultReporter.getStatistics().get("test/streamed").streamed());
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.DocumentDiagnosticParams;
+import org.eclipse.lsp4j.DocumentDiagnosticReport;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PreviousResultId;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.WorkspaceDiagnosticParams;
+import org.eclipse.lsp4j.WorkspaceDiagnosticReport;
+import org.eclipse.lsp4j.WorkspaceDocumentDiagnosticReport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PullDiagnosticsHandlerTest {
+
+	private static final String URI = "file:///project/src/Foo.java";
+
+	private JavaLanguageClient client;
+	private JavaClientConnection connection;
+	private PullDiagnosticsHandler handler;
+
+	@Before
+	public void setup() {
+		client = mock(JavaLanguageClient.class);
+		connection = new JavaClientConnection(client);
+		handler = new PullDiagnosticsHandler();
+		PullDiagnosticsHandler.setEnabled(true);
+	}
+
+	@After
+	public void tearDown() {
+		PullDiagnosticsHandler.setEnabled(false);
+	}
+
+	@Test
+	public void testDocumentDiagnostic() {
+		DocumentDiagnosticReport report = pull(null);
+		assertTrue(report.isRelatedFullDocumentDiagnosticReport());
+		assertEquals(0, report.getRelatedFullDocumentDiagnosticReport().getItems().size());
+		assertTrue(pull(PullDiagnosticsHandler.EMPTY_RESULT_ID).isRelatedUnchangedDocumentDiagnosticReport());
+
+		connection.publishDiagnostics(new PublishDiagnosticsParams(URI, List.of(createDiagnostic("Foo cannot be resolved"))));
+		// the diagnostics are pulled instead
+		verify(client, never()).publishDiagnostics(any());
+		report = pull(PullDiagnosticsHandler.EMPTY_RESULT_ID);
+		assertTrue(report.isRelatedFullDocumentDiagnosticReport());
+		assertEquals(1, report.getRelatedFullDocumentDiagnosticReport().getItems().size());
+		String resultId = report.getRelatedFullDocumentDiagnosticReport().getResultId();
+		assertNotEquals(PullDiagnosticsHandler.EMPTY_RESULT_ID, resultId);
+
+		// the same diagnostics keep their result id
+		connection.publishDiagnostics(new PublishDiagnosticsParams(URI, List.of(createDiagnostic("Foo cannot be resolved"))));
+		report = pull(resultId);
+		assertTrue(report.isRelatedUnchangedDocumentDiagnosticReport());
+		assertEquals(resultId, report.getRelatedUnchangedDocumentDiagnosticReport().getResultId());
+
+		connection.publishDiagnostics(new PublishDiagnosticsParams(URI, List.of()));
+		report = pull(resultId);
+		assertTrue(report.isRelatedFullDocumentDiagnosticReport());
+		assertEquals(0, report.getRelatedFullDocumentDiagnosticReport().getItems().size());
+	}
+
+	@Test
+	public void testWorkspaceDiagnostic() {
+		String other = "file:///project/src/Bar.java";
+		connection.publishDiagnostics(new PublishDiagnosticsParams(URI, List.of(createDiagnostic("Foo cannot be resolved"))));
+		connection.publishDiagnostics(new PublishDiagnosticsParams(other, List.of(createDiagnostic("Bar cannot be resolved"))));
+		// documents without diagnostics are not reported
+		connection.publishDiagnostics(new PublishDiagnosticsParams("file:///project/src/Baz.java", List.of()));
+
+		WorkspaceDiagnosticReport report = handler.workspaceDiagnostic(new WorkspaceDiagnosticParams(List.of()), new NullProgressMonitor());
+		assertEquals(2, report.getItems().size());
+		assertTrue(report.getItems().stream().allMatch(WorkspaceDocumentDiagnosticReport::isWorkspaceFullDocumentDiagnosticReport));
+		String resultId = report.getItems().stream().map(WorkspaceDocumentDiagnosticReport::getWorkspaceFullDocumentDiagnosticReport).filter(item -> URI.equals(item.getUri())).findFirst().get().getResultId();
+
+		report = handler.workspaceDiagnostic(new WorkspaceDiagnosticParams(List.of(new PreviousResultId(URI, resultId))), new NullProgressMonitor());
+		assertEquals(2, report.getItems().size());
+		WorkspaceDocumentDiagnosticReport unchanged = report.getItems().stream().filter(WorkspaceDocumentDiagnosticReport::isWorkspaceUnchangedDocumentDiagnosticReport).findFirst().get();
+		assertEquals(URI, unchanged.getWorkspaceUnchangedDocumentDiagnosticReport().getUri());
+		assertEquals(resultId, unchanged.getWorkspaceUnchangedDocumentDiagnosticReport().getResultId());
+	}
+
+	@Test
+	public void testPushMode() {
+		PullDiagnosticsHandler.setEnabled(false);
+		connection.publishDiagnostics(new PublishDiagnosticsParams(URI, List.of(createDiagnostic("Foo cannot be resolved"))));
+		verify(client, times(1)).publishDiagnostics(any());
+		assertEquals(0, pull(null).getRelatedFullDocumentDiagnosticReport().getItems().size());
+	}
+
+	private DocumentDiagnosticReport pull(String previousResultId) {
+		DocumentDiagnosticParams params = new DocumentDiagnosticParams(new TextDocumentIdentifier(URI));
+		params.setPreviousResultId(previousResultId);
+		return handler.diagnostic(params, new NullProgressMonitor());
+	}
+
+	private static Diagnostic createDiagnostic(String message) {
+		return new Diagnostic(new Range(new Position(1, 0), new Position(1, 3)), message, DiagnosticSeverity.Error, "Java");
+	}
+}
@@ -14,6 +14,7 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -35,10 +36,17 @@ import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.correction.TestOptions;
 import org.eclipse.jdt.ls.core.internal.handlers.BaseDocumentLifeCycleHandler.DocumentMonitor;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensEdit;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -481,6 +489,53 @@ public class SemanticTokensHandlerTest extends AbstractProjectsManagerBasedTest
 		.endAssertion();
 	}
 
+	@Test
+	public void testSemanticTokens_Range() throws JavaModelException {
+		String uri = getURI("Methods.java");
+		SemanticTokensRangeParams params = new SemanticTokensRangeParams(new TextDocumentIdentifier(uri), new Range(new Position(13, 0), new Position(15, 0)));
+		SemanticTokens semanticTokens = SemanticTokensHandler.range(new NullProgressMonitor(), params, mock(DocumentMonitor.class));
+		new TokenAssertionHelper(JDTUtils.resolveTypeRoot(uri).getBuffer(), semanticTokens.getData(), Arrays.asList("method", "class"))
+			.assertNextToken("String", "class", "public", "readonly", "typeArgument")
+			.assertNextToken("foo1", "method", "public", "generic")
+			.assertNextToken("foo2", "method", "private")
+		.endAssertion();
+	}
+
+	@Test
+	public void testSemanticTokens_Delta() throws JavaModelException {
+		TextDocumentIdentifier document = new TextDocumentIdentifier(getURI("Methods.java"));
+		SemanticTokens full = SemanticTokensHandler.full(new NullProgressMonitor(), new SemanticTokensParams(document), mock(DocumentMonitor.class));
+		assertNotNull(full.getResultId());
+
+		Either<SemanticTokens, SemanticTokensDelta> delta = SemanticTokensHandler.fullDelta(new NullProgressMonitor(), new SemanticTokensDeltaParams(document, full.getResultId()), mock(DocumentMonitor.class));
+		assertTrue("A delta should be returned for a known result id", delta.isRight());
+		assertTrue("Nothing changed", delta.getRight().getEdits().isEmpty());
+		assertNotEquals(full.getResultId(), delta.getRight().getResultId());
+
+		Either<SemanticTokens, SemanticTokensDelta> unknown = SemanticTokensHandler.fullDelta(new NullProgressMonitor(), new SemanticTokensDeltaParams(document, full.getResultId()), mock(DocumentMonitor.class));
+		assertTrue("Full tokens should be returned for an outdated result id", unknown.isLeft());
+		assertEquals(full.getData(), unknown.getLeft().getData());
+	}
+
+	@Test
+	public void testSemanticTokens_ComputeEdits() {
+		int[] previous = { 0, 1, 2, 3, 4, 1, 0, 3, 1, 0 };
+		int[] current = { 0, 1, 2, 3, 4, 2, 0, 3, 1, 0, 1, 0, 3, 1, 0 };
+		List<SemanticTokensEdit> edits = SemanticTokensHandler.computeEdits(previous, current);
+		assertEquals(1, edits.size());
+		assertEquals(5, edits.get(0).getStart());
+		assertEquals(0, edits.get(0).getDeleteCount());
+		assertEquals(List.of(2, 0, 3, 1, 0), edits.get(0).getData());
+
+		edits = SemanticTokensHandler.computeEdits(current, previous);
+		assertEquals(1, edits.size());
+		assertEquals(5, edits.get(0).getStart());
+		assertEquals(5, edits.get(0).getDeleteCount());
+		assertTrue(edits.get(0).getData().isEmpty());
+
+		assertTrue(SemanticTokensHandler.computeEdits(current, current).isEmpty());
+	}
+
 	private String getURI(String compilationUnitName) {
 		return JDTUtils.toURI(fooPackage.getCompilationUnit(compilationUnitName));
 	}
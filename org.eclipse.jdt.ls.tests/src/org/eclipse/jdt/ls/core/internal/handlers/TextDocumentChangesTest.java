@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.Test;
+
+public class TextDocumentChangesTest {
+
+	@Test
+	public void testIncrementalChanges() throws BadLocationException {
+		IDocument document = new Document("class A {\n}\n");
+		TextDocumentChanges.apply(document, List.of(
+				change(0, 9, 0, 9, "\n\tint a;"), // insert
+				change(1, 5, 1, 6, "b"), // replace
+				change(0, 6, 0, 8, "") // delete
+		));
+		assertEquals("class {\n\tint b;\n}\n", document.get());
+	}
+
+	@Test
+	public void testFullContentChange() throws BadLocationException {
+		IDocument document = new Document("class A {}");
+		TextDocumentChanges.apply(document, List.of(new TextDocumentContentChangeEvent("class B {}"), change(0, 6, 0, 7, "C")));
+		assertEquals("class C {}", document.get());
+	}
+
+	@Test
+	public void testUtf16Positions() throws BadLocationException {
+		// the emoji is a surrogate pair, i.e. 2 UTF-16 code units
+		IDocument document = new Document("String s = \"😀\";\nint i;");
+		TextDocumentChanges.apply(document, List.of(change(0, 14, 0, 15, "!")));
+		assertEquals("String s = \"😀!;\nint i;", document.get());
+		assertEquals(document.getLength() - 6, TextDocumentChanges.toOffset(document, new Position(1, 0)));
+	}
+
+	@Test(expected = BadLocationException.class)
+	public void testInvalidLine() throws BadLocationException {
+		IDocument document = new Document("class A {}");
+		TextDocumentChanges.apply(document, List.of(change(3, 0, 3, 0, "x")));
+	}
+
+	private static TextDocumentContentChangeEvent change(int startLine, int startChar, int endLine, int endChar, String text) {
+		return new TextDocumentContentChangeEvent(new Range(new Position(startLine, startChar), new Position(endLine, endChar)), text);
+	}
+}
@@ -14,9 +14,13 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -88,6 +92,63 @@ public class TypeHierarchyHandlerTest extends AbstractInvisibleProjectBasedTest
 		assertEquals(9, subtypesItems.size());
 	}
 
+	@Test
+	public void testSubTypeHierarchySession() throws Exception {
+		IProgressMonitor monitor = new NullProgressMonitor();
+		TypeHierarchyPrepareParams params = new TypeHierarchyPrepareParams();
+		String uriString = fJProject.getFile("src/main/java/org/sample/CallHierarchy.java").getLocationURI().toString();
+		params.setTextDocument(new TextDocumentIdentifier(uriString));
+		params.setPosition(new Position(2, 43));
+		List<TypeHierarchyItem> items = fHandler.prepareTypeHierarchy(params, monitor);
+		assertNotNull(items);
+		assertEquals(1, items.size());
+		TypeHierarchySubtypesParams subtypesParams = new TypeHierarchySubtypesParams();
+		subtypesParams.setItem(items.get(0));
+		List<TypeHierarchyItem> subtypesItems = fHandler.getSubtypeItems(subtypesParams, monitor);
+		assertEquals(9, subtypesItems.size());
+		assertTrue(TypeHierarchySessions.size() > 0);
+
+		// the subtypes are expanded from the hierarchy of the root type
+		TypeHierarchyItem fooBuilder = subtypesItems.stream().filter(item -> "CallHierarchy$FooBuilder".equals(item.getName())).findFirst().orElse(null);
+		assertNotNull(fooBuilder);
+		assertNotNull(((Map<?, ?>) fooBuilder.getData()).get("root"));
+		subtypesParams.setItem(fooBuilder);
+		assertEquals(0, fHandler.getSubtypeItems(subtypesParams, monitor).size());
+
+		// the hierarchy of the session is refreshed after a change
+		IFile file = fJProject.getFile("src/main/java/org/sample/NewBuilder.java");
+		file.create(new ByteArrayInputStream("package org.sample;\n\npublic class NewBuilder implements org.apache.commons.lang3.builder.Builder<Object> {\n\tpublic Object build() {\n\t\treturn null;\n\t}\n}\n".getBytes()), true, monitor);
+		waitForBackgroundJobs();
+		subtypesParams.setItem(items.get(0));
+		assertEquals(10, fHandler.getSubtypeItems(subtypesParams, monitor).size());
+
+		TypeHierarchySessions.evict(System.currentTimeMillis());
+		assertEquals(0, TypeHierarchySessions.size());
+	}
+
+	@Test
+	public void testSubTypeHierarchyOfSupertypeItem() throws Exception {
+		IProgressMonitor monitor = new NullProgressMonitor();
+		TypeHierarchyPrepareParams params = new TypeHierarchyPrepareParams();
+		String uriString = fJProject.getFile("src/main/java/org/sample/CallHierarchy.java").getLocationURI().toString();
+		params.setTextDocument(new TextDocumentIdentifier(uriString));
+		params.setPosition(new Position(7, 27));
+		List<TypeHierarchyItem> items = fHandler.prepareTypeHierarchy(params, monitor);
+		assertNotNull(items);
+		assertEquals(1, items.size());
+		assertEquals("CallHierarchy$FooBuilder", items.get(0).getName());
+		TypeHierarchySupertypesParams supertypesParams = new TypeHierarchySupertypesParams();
+		supertypesParams.setItem(items.get(0));
+		List<TypeHierarchyItem> supertypesItems = fHandler.getSupertypeItems(supertypesParams, monitor);
+		TypeHierarchyItem builder = supertypesItems.stream().filter(item -> "Builder".equals(item.getName())).findFirst().orElse(null);
+		assertNotNull(builder);
+
+		// the hierarchy of the subtype only holds the subtypes of its supertypes on the path to it
+		TypeHierarchySubtypesParams subtypesParams = new TypeHierarchySubtypesParams();
+		subtypesParams.setItem(builder);
+		assertEquals(9, fHandler.getSubtypeItems(subtypesParams, monitor).size());
+	}
+
 	// https://github.com/redhat-developer/vscode-java/issues/2871
 	@Test
 	public void testMultipleProjects() throws Exception {
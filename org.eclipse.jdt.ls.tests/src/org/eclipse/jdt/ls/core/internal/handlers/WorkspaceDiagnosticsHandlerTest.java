@@ -414,6 +414,7 @@ public class WorkspaceDiagnosticsHandlerTest extends AbstractProjectsManagerBase
 		ResourceUtils.setContent(pom, ResourceUtils.getContent(pom).replaceAll("1.8", "11"));
 
 		ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.FULL_BUILD, monitor);
+		waitForBackgroundJobs();
 		assertNoErrors(project);
 		List<IMarker> warnings = ResourceUtils.getWarningMarkers(project);
 
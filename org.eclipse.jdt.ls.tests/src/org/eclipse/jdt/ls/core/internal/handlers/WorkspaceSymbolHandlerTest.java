@@ -25,6 +25,9 @@ import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.lsp4j.Location;
@@ -32,6 +35,7 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.SymbolTag;
+import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -290,4 +294,60 @@ public class WorkspaceSymbolHandlerTest extends AbstractProjectsManagerBasedTest
 		assertNotNull("Location URI is null", results.get(0).getLocation().getUri());
 		assertTrue("Wrong location URI", results.get(0).getLocation().getUri().contains("rtstubs.jar/"));
 	}
+
+	@Test
+	public void testRankedSearch() {
+		List<SymbolInformation> results = WorkspaceSymbolHandler.search("Foo", "hello", true, monitor);
+		assertTrue(results.size() > 2);
+		// the exact matches first
+		assertEquals("Foo", results.get(0).getName());
+		assertEquals("Foo", results.get(1).getName());
+		assertTrue(results.stream().skip(2).allMatch(s -> !"Foo".equals(s.getName())));
+
+		results = WorkspaceSymbolHandler.search("Foo", 1, "hello", true, monitor);
+		assertEquals(1, results.size());
+		assertEquals("Foo", results.get(0).getName());
+	}
+
+	@Test
+	public void testFuzzySearch() {
+		List<SymbolInformation> results = WorkspaceSymbolHandler.search("hamap", monitor);
+		assertTrue(results.stream().anyMatch(s -> "HashMap".equals(s.getName()) && "java.util".equals(s.getContainerName())));
+
+		results = WorkspaceSymbolHandler.search("NPE", monitor);
+		assertEquals("NullPointerException", results.get(0).getName());
+	}
+
+	@Test
+	public void testSearchChangedTypes() throws Exception {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject("hello");
+		IPackageFragment pack = JavaCore.create(project).findType("org.sample.Foo").getPackageFragment();
+		assertEquals(0, WorkspaceSymbolHandler.search("SymbolIndexTest", monitor).size());
+
+		ICompilationUnit unit = pack.createCompilationUnit("SymbolIndexTest.java", "package org.sample;\npublic class SymbolIndexTest {\n\tclass Inner {}\n}\n", true, monitor);
+		List<SymbolInformation> results = WorkspaceSymbolHandler.search("SymbolIndexTest", monitor);
+		assertEquals(1, results.size());
+		assertEquals("org.sample", results.get(0).getContainerName());
+		results = WorkspaceSymbolHandler.search("Inner", "hello", true, monitor);
+		assertTrue(results.stream().anyMatch(s -> "org.sample.SymbolIndexTest".equals(s.getContainerName())));
+
+		unit.delete(true, monitor);
+		assertEquals(0, WorkspaceSymbolHandler.search("SymbolIndexTest", monitor).size());
+	}
+
+	@Test
+	public void testResolveWorkspaceSymbol() {
+		List<WorkspaceSymbol> results = WorkspaceSymbolHandler.searchWorkspaceSymbols("Baz", PartialResultReporter.create("workspace/symbol", null), monitor);
+		assertEquals("Unexpected results", 2, results.size());
+		for (WorkspaceSymbol symbol : results) {
+			// only the uri is known until resolved
+			assertTrue(symbol.getLocation().isRight());
+			String uri = symbol.getLocation().getRight().getUri();
+			assertTrue(uri.startsWith("file://"));
+			WorkspaceSymbol resolved = WorkspaceSymbolHandler.resolve(symbol);
+			assertTrue(resolved.getLocation().isLeft());
+			assertEquals(uri, resolved.getLocation().getLeft().getUri());
+			assertNotEquals("Range should not equal the default range", JDTUtils.newRange(), resolved.getLocation().getLeft().getRange());
+		}
+	}
 }
@@ -84,6 +84,7 @@ import org.eclipse.jdt.ls.core.internal.SimpleLogListener;
 import org.eclipse.jdt.ls.core.internal.TestVMType;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.handlers.BundleUtils;
+import org.eclipse.jdt.ls.core.internal.handlers.DiagnosticsPublisher;
 import org.eclipse.jdt.ls.core.internal.handlers.ProgressReporterManager;
 import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -127,13 +128,16 @@ public abstract class AbstractProjectsManagerBasedTest {
 		@Override
 		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 			if (args.length == 1) {
-				String name = method.getName();
-				List<Object> params = clientRequests.get(name);
-				if (params == null) {
-					params = new ArrayList<>();
-					clientRequests.put(name, params);
+				// diagnostics of several documents are published in parallel
+				synchronized (clientRequests) {
+					String name = method.getName();
+					List<Object> params = clientRequests.get(name);
+					if (params == null) {
+						params = new ArrayList<>();
+						clientRequests.put(name, params);
+					}
+					params.add(args[0]);
 				}
-				params.add(args[0]);
 			}
 			return null;
 		}
@@ -293,6 +297,7 @@ public abstract class AbstractProjectsManagerBasedTest {
 	protected void waitForBackgroundJobs() throws Exception {
 		JobHelpers.waitForJobsToComplete(monitor);
 		Job.getJobManager().join(CorePlugin.GRADLE_JOB_FAMILY, monitor);
+		Job.getJobManager().join(DiagnosticsPublisher.FAMILY, monitor);
 		JobHelpers.waitUntilIndexesReady();
 	}
 
@@ -21,9 +21,12 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
@@ -243,6 +246,46 @@ public class BasicFileDetectorTest {
 		assertEquals("Found " + dirs, 0, dirs.size()); // No uncaught exception occurs
 	}
 
+	@Test
+	public void testSharedDiscovery() throws Exception {
+		Path root = Files.createTempDirectory("shared_discovery");
+		try {
+			for (String file : list("pom.xml", "a/pom.xml", "a/b/pom.xml", "target/x/pom.xml", "g/build.gradle", "g/sub/settings.gradle.kts", "e/.project", "e/bin/y/.project", ".metadata/p/pom.xml", "d1/d2/d3/d4/pom.xml",
+					"d1/d2/d3/d4/d5/pom.xml")) {
+				Path path = root.resolve(file);
+				Files.createDirectories(path.getParent());
+				Files.createFile(path);
+			}
+			List<Supplier<BasicFileDetector>> detectors = list(
+					() -> new BasicFileDetector(root, "pom.xml").includeNested(false).addExclusions("**/target"),
+					() -> new BasicFileDetector(root, "pom.xml"),
+					() -> new BasicFileDetector(root, "build.gradle", "settings.gradle.kts").includeNested(false).addExclusions("**/build", "**/bin"),
+					() -> new BasicFileDetector(root, ".project").addExclusions("**/bin"),
+					() -> new BasicFileDetector(root, "pom.xml").maxDepth(2));
+			List<Set<Path>> expected = new ArrayList<>();
+			for (Supplier<BasicFileDetector> detector : detectors) {
+				expected.add(new HashSet<>(detector.get().scan(null)));
+			}
+			assertEquals(Set.of(root), expected.get(0));
+			assertEquals(Set.of(root, root.resolve("a"), root.resolve("a/b"), root.resolve("target/x"), root.resolve("d1/d2/d3/d4")), expected.get(1));
+			assertEquals(Set.of(root.resolve("g")), expected.get(2));
+			assertEquals(Set.of(root.resolve("e")), expected.get(3));
+			assertEquals(Set.of(root, root.resolve("a")), expected.get(4));
+
+			// the same directories are found from a single walk
+			BuildFileDiscovery.beginSession();
+			try {
+				for (int i = 0; i < detectors.size(); i++) {
+					assertEquals(expected.get(i), new HashSet<>(detectors.get(i).get().scan(null)));
+				}
+			} finally {
+				BuildFileDiscovery.endSession();
+			}
+		} finally {
+			FileUtils.deleteDirectory(root.toFile());
+		}
+	}
+
 	@SafeVarargs
 	private final <E> List<E> list(E... elements) {
 		return new ArrayList<>(Arrays.asList(elements));
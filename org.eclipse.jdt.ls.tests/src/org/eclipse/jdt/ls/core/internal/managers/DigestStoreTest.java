@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DigestStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File stateLocation;
+
+	@Before
+	public void setUp() throws Exception {
+		stateLocation = folder.newFolder("state");
+	}
+
+	@Test
+	public void testUpdateDigest() throws Exception {
+		Path pom = createFile("pom.xml", "<project/>");
+		DigestStore store = new DigestStore(stateLocation);
+		assertTrue(store.updateDigest(pom));
+		assertFalse(store.updateDigest(pom));
+		Files.writeString(pom, "<project></project>");
+		assertTrue(store.updateDigest(pom));
+		assertFalse(store.updateDigest(pom));
+		store.flush();
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		Path pom = createFile("pom.xml", "<project/>");
+		Path gradle = createFile("build.gradle", "plugins {}");
+		DigestStore store = new DigestStore(stateLocation);
+		assertTrue(store.updateDigest(pom));
+		assertTrue(store.updateDigest(gradle));
+		store.flush();
+		Files.writeString(gradle, "plugins { id 'java' }");
+		assertTrue(store.updateDigest(gradle));
+		store.flush();
+
+		store = new DigestStore(stateLocation);
+		assertFalse(store.updateDigest(pom));
+		assertFalse(store.updateDigest(gradle));
+	}
+
+	@Test
+	public void testLegacyFile() throws Exception {
+		Path pom = createFile("pom.xml", "<project/>");
+		Map<String, String> digests = new HashMap<>();
+		digests.put(pom.toString(), Arrays.toString(MessageDigest.getInstance("MD5").digest(Files.readAllBytes(pom))));
+		File legacyFile = new File(stateLocation, ".file-digests");
+		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(legacyFile))) {
+			out.writeObject(digests);
+		}
+		DigestStore store = new DigestStore(stateLocation);
+		assertFalse(legacyFile.exists());
+		assertFalse(store.updateDigest(pom));
+		assertFalse(new DigestStore(stateLocation).updateDigest(pom));
+	}
+
+	@Test
+	public void testTruncatedLog() throws Exception {
+		Path pom = createFile("pom.xml", "<project/>");
+		Path gradle = createFile("build.gradle", "plugins {}");
+		DigestStore store = new DigestStore(stateLocation);
+		assertTrue(store.updateDigest(pom));
+		assertTrue(store.updateDigest(gradle));
+		store.flush();
+		// the last record was only partially written
+		Path log = stateLocation.toPath().resolve(".file-digests.log");
+		byte[] content = Files.readAllBytes(log);
+		Files.write(log, Arrays.copyOf(content, content.length - 3));
+
+		store = new DigestStore(stateLocation);
+		assertFalse(store.updateDigest(pom));
+		Path settings = createFile("settings.gradle", "rootProject.name = 'test'");
+		assertTrue(store.updateDigest(settings));
+		store.flush();
+
+		// the records appended after loading the truncated log are read back
+		store = new DigestStore(stateLocation);
+		assertFalse(store.updateDigest(pom));
+		assertFalse(store.updateDigest(settings));
+		assertTrue(store.updateDigest(gradle));
+	}
+
+	/**
+	 * Loads a store tracking 10k build files, part of them having changed
+	 * several times, which requires compacting the log.
+	 */
+	@Test
+	public void testManyFiles() throws Exception {
+		List<Path> files = new ArrayList<>();
+		DigestStore store = new DigestStore(stateLocation);
+		for (int i = 0; i < 10000; i++) {
+			Path file = createFile("pom" + i + ".xml", "<project>" + i + "</project>");
+			files.add(file);
+			assertTrue(store.updateDigest(file));
+		}
+		store.flush();
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 1000; i++) {
+				Files.writeString(files.get(i), "<project>" + i + "-" + round + "</project>");
+				assertTrue(store.updateDigest(files.get(i)));
+			}
+			store.flush();
+		}
+
+		store = new DigestStore(stateLocation);
+		for (Path file : files) {
+			assertFalse(file.toString(), store.updateDigest(file));
+		}
+	}
+
+	private Path createFile(String name, String content) throws Exception {
+		Path file = folder.getRoot().toPath().resolve(name);
+		Files.writeString(file, content);
+		return file;
+	}
+}
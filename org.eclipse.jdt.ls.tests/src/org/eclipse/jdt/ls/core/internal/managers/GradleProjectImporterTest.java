@@ -28,6 +28,7 @@ import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,7 @@ import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -120,6 +122,40 @@ public class GradleProjectImporterTest extends AbstractGradleBasedTest{
 		assertFalse(ProjectUtils.isJavaProject(gradle3));
 	}
 
+	@Test
+	public void importNestedGradleProjectHoldingWorkspaceRule() throws Exception {
+		File root = copyFiles("gradle/nested", true);
+		waitForBackgroundJobs();
+		// the initialization job holds the workspace rule while the builds are synchronized
+		IWorkspaceRunnable runnable = m -> projectsManager.initializeProjects(Collections.singleton(IPath.fromOSString(root.getAbsolutePath())), m);
+		JavaCore.run(runnable, ResourcesPlugin.getWorkspace().getRoot(), monitor);
+		waitForBackgroundJobs();
+		for (String name : Arrays.asList("gradle1", "gradle2", "gradle3")) {
+			IProject project = WorkspaceHelper.getProject(name);
+			assertIsGradleProject(project);
+			IFile buildFile = project.getFile(GradleProjectImporter.BUILD_GRADLE_DESCRIPTOR);
+			assertFalse(JavaLanguageServerPlugin.getDigestStore().updateDigest(buildFile.getLocation().toPath()));
+		}
+	}
+
+	@Test
+	public void importNestedGradleProjectWithImportParallelism() throws Exception {
+		System.setProperty(GradleProjectImporter.IMPORT_PARALLELISM_PROPERTY, "3");
+		try {
+			List<IProject> projects = importProjects("gradle/nested");
+			assertEquals(3, projects.size()); // 3 gradle projects
+			for (String name : Arrays.asList("gradle1", "gradle2", "gradle3")) {
+				IProject project = WorkspaceHelper.getProject(name);
+				assertIsGradleProject(project);
+				IFile buildFile = project.getFile(GradleProjectImporter.BUILD_GRADLE_DESCRIPTOR);
+				// the digests are stored by the import pool
+				assertFalse(JavaLanguageServerPlugin.getDigestStore().updateDigest(buildFile.getLocation().toPath()));
+			}
+		} finally {
+			System.clearProperty(GradleProjectImporter.IMPORT_PARALLELISM_PROPERTY);
+		}
+	}
+
 	@Test
 	public void testDeleteInvalidProjects() throws Exception {
 		List<IProject> projects = importProjects(Arrays.asList("gradle/nested/gradle1", "gradle/nested/gradle2"));
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.Map;
 
 import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.CodeLensCapabilities;
@@ -24,6 +25,8 @@ import org.eclipse.lsp4j.CompletionCapabilities;
 import org.eclipse.lsp4j.CompletionItemCapabilities;
 import org.eclipse.lsp4j.CompletionItemResolveSupportCapabilities;
 import org.eclipse.lsp4j.CompletionItemTagSupportCapabilities;
+import org.eclipse.lsp4j.DiagnosticCapabilities;
+import org.eclipse.lsp4j.DiagnosticWorkspaceCapabilities;
 import org.eclipse.lsp4j.DocumentSymbolCapabilities;
 import org.eclipse.lsp4j.FormattingCapabilities;
 import org.eclipse.lsp4j.InlayHintCapabilities;
@@ -206,4 +209,15 @@ public class ClientPreferencesTest {
 		assertTrue(prefs.isSymbolTagSupported());
 	}
 
+	@Test
+	public void testIsPullDiagnosticsSupported() throws Exception {
+		prefs = new ClientPreferences(cap, Map.of("pullDiagnosticsSupport", "true"));
+		assertFalse(prefs.isPullDiagnosticsSupported());
+		when(text.getDiagnostic()).thenReturn(new DiagnosticCapabilities());
+		// the client is asked to pull the changed diagnostics again
+		assertFalse(prefs.isPullDiagnosticsSupported());
+		when(workspace.getDiagnostics()).thenReturn(new DiagnosticWorkspaceCapabilities(true));
+		assertTrue(prefs.isPullDiagnosticsSupported());
+	}
+
 }
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.semantictokens;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+public class IntArrayListTest {
+
+	@Test
+	public void testListView() {
+		IntArrayList list = new IntArrayList(new int[] { 3, 1, 4, 1, 5, 9 }, 4);
+		assertEquals(4, list.size());
+		assertEquals(List.of(3, 1, 4, 1), list);
+		assertArrayEquals(new int[] { 3, 1, 4, 1 }, list.toIntArray());
+		assertArrayEquals(new int[] { 2, 7 }, IntArrayList.toIntArray(List.of(2, 7)));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testUnmodifiable() {
+		new IntArrayList(new int[] { 1 }).add(2);
+	}
+
+	@Test
+	public void testSerialization() {
+		Gson gson = new MessageJsonHandler(Collections.emptyMap()).getGson();
+		SemanticTokens tokens = new SemanticTokens("1", new IntArrayList(new int[] { 0, 4, 3, 1, 0, 0 }, 5));
+		assertEquals("{\"resultId\":\"1\",\"data\":[0,4,3,1,0]}", gson.toJson(tokens));
+	}
+}